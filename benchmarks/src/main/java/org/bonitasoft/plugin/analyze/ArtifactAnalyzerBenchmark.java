@@ -0,0 +1,64 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.plugin.analyze.benchmark.AnalysisCorpus;
+import org.bonitasoft.plugin.analyze.cache.AnalysisCache;
+import org.bonitasoft.plugin.analyze.connector.ConnectorResolverImpl;
+import org.bonitasoft.plugin.analyze.handler.ArtifactAnalyzerHandler;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the whole analysis of the corpus, without analysis cache.
+ * <p>It belongs to the analyzer package, as the default analyzer is not part of the public API.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactAnalyzerBenchmark {
+
+    /** Number of threads of the analysis. */
+    @Param({ "1", "4" })
+    public int threads;
+
+    @Benchmark
+    public DependencyReport analyze(AnalysisCorpus corpus) {
+        var typeHierarchyIndex = new TypeHierarchyIndex();
+        var handlers = ArtifactAnalyzerHandler.create(new ConnectorResolverImpl(),
+                corpus.getLocalRepositoryManager(), null, List.of(), typeHierarchyIndex);
+        return new DefaultArtifactAnalyzer(handlers, typeHierarchyIndex,
+                new AnalysisOptions(threads, AnalysisCache.NONE, false)).analyze(corpus.getAllArtifacts());
+    }
+
+}
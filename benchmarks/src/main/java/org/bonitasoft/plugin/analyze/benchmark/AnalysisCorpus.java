@@ -0,0 +1,259 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Generated artifacts analyzed by the benchmarks.
+ * <p>The corpus is made of connector jars (definition, implementation and implementation class), page zips bundling
+ * many assets, and large third-party jars without any Bonita descriptor. It is generated once per trial in a temporary
+ * directory.</p>
+ */
+@State(Scope.Benchmark)
+public class AnalysisCorpus {
+
+    private static final String GROUP_ID = "org.bonitasoft.benchmark";
+    private static final String VERSION = "1.0.0";
+    private static final String ABSTRACT_CONNECTOR = "org/bonitasoft/engine/connector/AbstractConnector";
+
+    /** Number of connector jars. */
+    @Param("50")
+    public int connectorJars;
+
+    /** Number of page zips. */
+    @Param("20")
+    public int pageZips;
+
+    /** Number of assets bundled in each page zip. */
+    @Param("500")
+    public int pageAssets;
+
+    /** Number of large third-party jars. */
+    @Param("5")
+    public int largeJars;
+
+    /** Number of classes in each large third-party jar. */
+    @Param("5000")
+    public int largeJarClasses;
+
+    private Path directory;
+    private List<Artifact> connectorArtifacts;
+    private List<Artifact> pageArtifacts;
+    private List<Artifact> largeArtifacts;
+    private LocalRepositoryManager localRepositoryManager;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        directory = Files.createTempDirectory("bonita-analysis-corpus");
+        localRepositoryManager = new CorpusLocalRepositoryManager(directory);
+        // fixed seed, so that the corpus is the same for every trial
+        var random = new Random(42);
+        connectorArtifacts = new ArrayList<>();
+        for (int i = 0; i < connectorJars; i++) {
+            connectorArtifacts.add(generateConnectorJar("connector-" + i));
+        }
+        pageArtifacts = new ArrayList<>();
+        for (int i = 0; i < pageZips; i++) {
+            pageArtifacts.add(generatePageZip("page-" + i, random));
+        }
+        largeArtifacts = new ArrayList<>();
+        for (int i = 0; i < largeJars; i++) {
+            largeArtifacts.add(generateLargeJar("library-" + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the connector jars
+     */
+    public List<Artifact> getConnectorArtifacts() {
+        return connectorArtifacts;
+    }
+
+    /**
+     * @return the page zips
+     */
+    public List<Artifact> getPageArtifacts() {
+        return pageArtifacts;
+    }
+
+    /**
+     * @return the connector jars and the large third-party jars
+     */
+    public List<Artifact> getJarArtifacts() {
+        var artifacts = new ArrayList<>(connectorArtifacts);
+        artifacts.addAll(largeArtifacts);
+        return artifacts;
+    }
+
+    /**
+     * @return all the artifacts of the corpus, as the dependencies of a project
+     */
+    public List<Artifact> getAllArtifacts() {
+        var artifacts = getJarArtifacts();
+        artifacts.addAll(pageArtifacts);
+        return artifacts;
+    }
+
+    /**
+     * @return a local repository manager locating the corpus artifacts
+     */
+    public LocalRepositoryManager getLocalRepositoryManager() {
+        return localRepositoryManager;
+    }
+
+    private Artifact generateConnectorJar(String artifactId) throws IOException {
+        var artifact = createArtifact(artifactId, "jar");
+        var definitionId = artifactId + "-def";
+        var className = "org/bonitasoft/benchmark/" + artifactId.replace('-', '_') + "/Connector";
+        try (var zip = new ZipOutputStream(Files.newOutputStream(artifact.getFile().toPath()))) {
+            addEntry(zip, artifactId + ".def", String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<definition:ConnectorDefinition "
+                    + "xmlns:definition=\"http://www.bonitasoft.org/ns/connector/definition/6.1\">\n"
+                    + "  <id>%s</id>\n  <version>1.0.0</version>\n"
+                    + "  <input name=\"input\" type=\"java.lang.String\"/>\n"
+                    + "</definition:ConnectorDefinition>\n", definitionId).getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, artifactId + ".impl", String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<implementation:connectorImplementation "
+                    + "xmlns:implementation=\"http://www.bonitasoft.org/ns/connector/implementation/6.0\">\n"
+                    + "  <implementationId>%s-impl</implementationId>\n"
+                    + "  <implementationVersion>1.0.0</implementationVersion>\n"
+                    + "  <definitionId>%s</definitionId>\n  <definitionVersion>1.0.0</definitionVersion>\n"
+                    + "  <implementationClassname>%s</implementationClassname>\n"
+                    + "</implementation:connectorImplementation>\n", artifactId, definitionId,
+                    className.replace('/', '.')).getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, artifactId + ".properties", "connectorDefinitionLabel=Benchmark connector\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, className + ".class", classFile(className, ABSTRACT_CONNECTOR));
+        }
+        return artifact;
+    }
+
+    private Artifact generatePageZip(String artifactId, Random random) throws IOException {
+        var artifact = createArtifact(artifactId, "zip");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(artifact.getFile().toPath()))) {
+            for (int i = 0; i < pageAssets; i++) {
+                // assets are written first, as bundlers usually do, so that the descriptor is not the first entry
+                var asset = new byte[4096];
+                random.nextBytes(asset);
+                addEntry(zip, "resources/assets/asset-" + i + ".js", asset);
+            }
+            addEntry(zip, "resources/index.html", "<html></html>".getBytes(StandardCharsets.UTF_8));
+            addEntry(zip, "page.properties", String.format("name=custompage_%s\ndisplayName=%s\n"
+                    + "description=Benchmark page\ncontentType=page\n", artifactId.replace("-", ""), artifactId)
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        return artifact;
+    }
+
+    private Artifact generateLargeJar(String artifactId) throws IOException {
+        var artifact = createArtifact(artifactId, "jar");
+        try (var zip = new ZipOutputStream(Files.newOutputStream(artifact.getFile().toPath()))) {
+            for (int i = 0; i < largeJarClasses; i++) {
+                var className = "org/thirdparty/" + artifactId.replace('-', '_') + "/p" + (i % 50) + "/Class" + i;
+                addEntry(zip, className + ".class", classFile(className, "java/lang/Object"));
+            }
+        }
+        return artifact;
+    }
+
+    private Artifact createArtifact(String artifactId, String type) throws IOException {
+        var artifact = new DefaultArtifact(GROUP_ID, artifactId, VERSION, Artifact.SCOPE_RUNTIME, type, null,
+                new DefaultArtifactHandler(type));
+        var file = directory.resolve(CorpusLocalRepositoryManager.pathOf(GROUP_ID, artifactId, VERSION, type));
+        Files.createDirectories(file.getParent());
+        artifact.setFile(file.toFile());
+        return artifact;
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    /**
+     * Build a minimal class file, with only the header read by the hierarchy detection.
+     */
+    private static byte[] classFile(String className, String superClassName) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            // minor and major (java 17) versions
+            out.writeShort(0);
+            out.writeShort(61);
+            // constant pool: #1 utf8 name, #2 class #1, #3 utf8 super name, #4 class #3
+            out.writeShort(5);
+            out.writeByte(1);
+            out.writeUTF(className);
+            out.writeByte(7);
+            out.writeShort(1);
+            out.writeByte(1);
+            out.writeUTF(superClassName);
+            out.writeByte(7);
+            out.writeShort(3);
+            // public super, this class, super class
+            out.writeShort(0x0021);
+            out.writeShort(2);
+            out.writeShort(4);
+            // no interface, field, method nor attribute
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(0);
+        }
+        return bytes.toByteArray();
+    }
+
+}
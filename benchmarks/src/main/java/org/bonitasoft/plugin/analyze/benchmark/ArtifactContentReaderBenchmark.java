@@ -0,0 +1,74 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.bonitasoft.plugin.analyze.content.JarArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ZipArtifactContentReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the readers of archive artifacts.
+ * <p>A new reader is created on each invocation, as for each analysis, so that the indexes of the archives are built
+ * every time.</p>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArtifactContentReaderBenchmark {
+
+    @Benchmark
+    public long jarReaderFindConnectorDescriptors(AnalysisCorpus corpus) throws IOException {
+        var reader = new JarArtifactContentReader();
+        long descriptors = 0;
+        for (var artifact : corpus.getJarArtifacts()) {
+            descriptors += reader.readEntries(artifact, path -> path.toString().endsWith(".impl"),
+                    Collectors.counting());
+        }
+        return descriptors;
+    }
+
+    @Benchmark
+    public long zipReaderReadPageDescriptors(AnalysisCorpus corpus) throws IOException {
+        var reader = new ZipArtifactContentReader();
+        long size = 0;
+        for (var artifact : corpus.getPageArtifacts()) {
+            size += reader.readFirstEntry(artifact, Path.of("page.properties")::equals, entry -> {
+                try (var is = entry.supplier().get()) {
+                    return is.readAllBytes().length;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).orElse(0);
+        }
+        return size;
+    }
+
+}
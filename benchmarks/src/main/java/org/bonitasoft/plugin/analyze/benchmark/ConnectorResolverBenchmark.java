@@ -0,0 +1,58 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.bonitasoft.plugin.analyze.ConnectorResolver;
+import org.bonitasoft.plugin.analyze.connector.ConnectorResolverImpl;
+import org.bonitasoft.plugin.analyze.content.JarArtifactContentReader;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the lookup of the connector implementations, with the classification of their implementation class.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectorResolverBenchmark {
+
+    private final ConnectorResolver connectorResolver = new ConnectorResolverImpl();
+
+    @Benchmark
+    public int findAllImplementations(AnalysisCorpus corpus) throws IOException {
+        var reader = new JarArtifactContentReader(new TypeHierarchyIndex());
+        var issueCollector = Issue.collector();
+        int implementations = 0;
+        for (var artifact : corpus.getConnectorArtifacts()) {
+            implementations += connectorResolver.findAllImplementations(artifact, reader, issueCollector).size();
+        }
+        return implementations;
+    }
+
+}
@@ -0,0 +1,103 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.benchmark;
+
+import java.nio.file.Path;
+
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.metadata.Metadata;
+import org.eclipse.aether.repository.LocalArtifactRegistration;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.LocalArtifactResult;
+import org.eclipse.aether.repository.LocalMetadataRegistration;
+import org.eclipse.aether.repository.LocalMetadataRequest;
+import org.eclipse.aether.repository.LocalMetadataResult;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Locates the corpus artifacts with the maven repository layout.
+ * <p>The analysis only computes the local path of the artifacts, nothing is ever registered.</p>
+ */
+class CorpusLocalRepositoryManager implements LocalRepositoryManager {
+
+    private final LocalRepository repository;
+
+    CorpusLocalRepositoryManager(Path basedir) {
+        this.repository = new LocalRepository(basedir.toFile());
+    }
+
+    static String pathOf(String groupId, String artifactId, String version, String extension) {
+        return String.format("%s/%s/%s/%s-%s.%s", groupId.replace('.', '/'), artifactId, version, artifactId,
+                version, extension);
+    }
+
+    @Override
+    public LocalRepository getRepository() {
+        return repository;
+    }
+
+    @Override
+    public String getPathForLocalArtifact(Artifact artifact) {
+        return pathOf(artifact.getGroupId(), artifact.getArtifactId(), artifact.getBaseVersion(),
+                artifact.getExtension());
+    }
+
+    @Override
+    public String getPathForRemoteArtifact(Artifact artifact, RemoteRepository repository, String context) {
+        return getPathForLocalArtifact(artifact);
+    }
+
+    @Override
+    public String getPathForLocalMetadata(Metadata metadata) {
+        throw new UnsupportedOperationException("Metadata are not used by the analysis");
+    }
+
+    @Override
+    public String getPathForRemoteMetadata(Metadata metadata, RemoteRepository repository, String context) {
+        throw new UnsupportedOperationException("Metadata are not used by the analysis");
+    }
+
+    @Override
+    public LocalArtifactResult find(RepositorySystemSession session, LocalArtifactRequest request) {
+        var result = new LocalArtifactResult(request);
+        var file = repository.getBasedir().toPath().resolve(getPathForLocalArtifact(request.getArtifact())).toFile();
+        if (file.isFile()) {
+            result.setFile(file);
+            result.setAvailable(true);
+        }
+        return result;
+    }
+
+    @Override
+    public void add(RepositorySystemSession session, LocalArtifactRegistration request) {
+        throw new UnsupportedOperationException("The corpus is read-only");
+    }
+
+    @Override
+    public LocalMetadataResult find(RepositorySystemSession session, LocalMetadataRequest request) {
+        return new LocalMetadataResult(request);
+    }
+
+    @Override
+    public void add(RepositorySystemSession session, LocalMetadataRegistration request) {
+        throw new UnsupportedOperationException("The corpus is read-only");
+    }
+
+}
@@ -0,0 +1,95 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes hexadecimal digests of files and strings.
+ */
+public final class Digests {
+
+    public static final String SHA_256 = "SHA-256";
+    public static final String SHA_1 = "SHA-1";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Digests() {
+        // utility class
+    }
+
+    /**
+     * Compute the SHA-256 digest of a file content.
+     * 
+     * @param file the file to digest
+     * @return the lower case hexadecimal digest
+     * @throws IOException exception reading the file
+     */
+    public static String sha256(Path file) throws IOException {
+        return digest(file, SHA_256);
+    }
+
+    /**
+     * Compute the SHA-1 digest of a file content.
+     * 
+     * @param file the file to digest
+     * @return the lower case hexadecimal digest
+     * @throws IOException exception reading the file
+     */
+    public static String sha1(Path file) throws IOException {
+        return digest(file, SHA_1);
+    }
+
+    /**
+     * Compute the SHA-256 digest of a string, encoded in UTF-8.
+     * 
+     * @param value the string to digest
+     * @return the lower case hexadecimal digest
+     */
+    public static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest(SHA_256).digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String digest(Path file, String algorithm) throws IOException {
+        var digest = newDigest(algorithm);
+        var buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-1 and SHA-256 are required on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze;
+
+import org.bonitasoft.plugin.analyze.cache.AnalysisCache;
+
+/**
+ * The options of an artifacts analysis, as configured on the mojo.
+ * 
+ * @param threads the number of artifacts to analyze concurrently (1 for a sequential analysis)
+ * @param cache the cache of the artifacts analysis results ({@link AnalysisCache#NONE} to always analyze)
+ * @param collectMetrics whether to add the measures of each artifact analysis to the report
+ */
+public record AnalysisOptions(int threads, AnalysisCache cache, boolean collectMetrics) {
+
+    /** A sequential analysis, without cache nor metrics. */
+    public static final AnalysisOptions DEFAULT = new AnalysisOptions(1, AnalysisCache.NONE, false);
+
+    public AnalysisOptions {
+        threads = Math.max(1, threads);
+        if (cache == null) {
+            cache = AnalysisCache.NONE;
+        }
+    }
+
+}
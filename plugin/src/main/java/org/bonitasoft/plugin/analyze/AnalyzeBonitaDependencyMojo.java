@@ -17,22 +17,28 @@
 package org.bonitasoft.plugin.analyze;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 
 import javax.inject.Inject;
 
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.maven.RepositoryUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.lifecycle.internal.ProjectArtifactFactory;
 import org.apache.maven.plugin.AbstractMojo;
@@ -47,18 +53,31 @@ import org.apache.maven.project.artifact.InvalidDependencyVersionException;
 import org.apache.maven.shared.artifact.filter.collection.ArtifactFilterException;
 import org.apache.maven.shared.artifact.filter.collection.FilterArtifacts;
 import org.apache.maven.shared.artifact.filter.collection.ScopeFilter;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
-import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResult;
 import org.bonitasoft.plugin.MavenSessionExecutor;
 import org.bonitasoft.plugin.MavenSessionExecutor.BuildException;
+import org.bonitasoft.plugin.analyze.cache.AnalysisCache;
+import org.bonitasoft.plugin.analyze.cache.FileAnalysisCache;
+import org.bonitasoft.plugin.analyze.cache.ModuleAnalysisCache;
+import org.bonitasoft.plugin.analyze.cache.NegativeAnalysisCache;
 import org.bonitasoft.plugin.analyze.report.AnalysisResultReportException;
+import org.bonitasoft.plugin.analyze.report.DependencyReportHolder;
 import org.bonitasoft.plugin.analyze.report.DependencyReporter;
 import org.bonitasoft.plugin.analyze.report.JsonDependencyReporter;
 import org.bonitasoft.plugin.analyze.report.LogDependencyReporter;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
 import org.codehaus.plexus.util.StringUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.repository.LocalArtifactRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResolutionException;
+import org.eclipse.aether.resolution.ArtifactResult;
 
 /**
  * This mojo runs an analysis on the current project dependencies to detect
@@ -72,6 +91,10 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
 
     protected final ArtifactAnalyzerFactory artifactAnalyzerFactory;
 
+    protected final RepositorySystem repositorySystem;
+
+    protected final DependencyGraphBuilder dependencyGraphBuilder;
+
     @Parameter(defaultValue = "${session}", readonly = true, required = true)
     protected MavenSession session;
 
@@ -99,10 +122,50 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
     @Parameter(defaultValue = "true", property = "bonita.validateDependencies")
     protected boolean validateDeps;
 
+    /**
+     * Number of threads used to analyze the dependencies. Default is 1 (sequential analysis).
+     * The analysis report is the same whatever the number of threads.
+     */
+    @Parameter(defaultValue = "1", property = "bonita.analyze.threads")
+    protected int analysisThreads = 1;
+
+    /**
+     * Cache the analysis result of each dependency file, so that unchanged dependencies are not analyzed again.
+     * Dependencies without Bonita content are remembered by checksum, and skipped without being opened.
+     */
+    @Parameter(defaultValue = "true", property = "bonita.analyze.useCache")
+    protected boolean useAnalysisCache = true;
+
+    /**
+     * Directory of the analysis cache. It can be shared between builds, for instance between CI agents.
+     */
+    @Parameter(defaultValue = "${settings.localRepository}/.cache/bonita-project-maven-plugin/analysis",
+            property = "bonita.analyze.cacheDirectory")
+    protected File analysisCacheDirectory;
+
+    /**
+     * Reuse the analysis of the reactor modules which did not change since the previous build.
+     * The analysis of each module is stored in the module build directory.
+     */
+    @Parameter(defaultValue = "true", property = "bonita.analyze.incremental")
+    protected boolean incremental = true;
+
+    /**
+     * Record the time spent and the content read by each handler on each artifact. The measures are added to the
+     * dependency report and the slowest artifacts are logged.
+     */
+    @Parameter(defaultValue = "false", property = "bonita.analyze.metrics")
+    protected boolean metrics;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    protected String pluginVersion;
+
     private DependencyValidator dependencyValidator;
 
     private ProjectArtifactFactory artifactFactory;
 
+    private DependencyReportHolder reportHolder;
+
     /**
      * Scope threshold to include. An empty string indicates include all
      * dependencies. Default value is runtime.<br>
@@ -148,16 +211,30 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
     @Parameter(property = "excludeScope", defaultValue = "")
     protected String excludeScope;
 
+    /**
+     * Number of threads used to compile the extension modules which are not installed yet, as the maven -T option.
+     */
+    @Parameter(defaultValue = "1C", property = "bonita.analyze.compileThreads")
+    protected String compileThreads = "1C";
+
     private List<BuildException> compilationErrors = new ArrayList<>();
 
+    /** Extension modules to compile before the analysis, as they are not installed. */
+    private List<MavenProject> modulesToCompile = new ArrayList<>();
+
     @Inject
     public AnalyzeBonitaDependencyMojo(ArtifactResolver artifactResolver,
             ArtifactAnalyzerFactory artifactAnalyzerFactory,
-            DependencyValidator dependencyValidator, ProjectArtifactFactory artifactFactory) {
+            DependencyValidator dependencyValidator, ProjectArtifactFactory artifactFactory,
+            RepositorySystem repositorySystem, DependencyGraphBuilder dependencyGraphBuilder,
+            DependencyReportHolder reportHolder) {
         this.artifactResolver = artifactResolver;
         this.artifactAnalyzerFactory = artifactAnalyzerFactory;
+        this.repositorySystem = repositorySystem;
+        this.dependencyGraphBuilder = dependencyGraphBuilder;
         this.dependencyValidator = dependencyValidator;
         this.artifactFactory = artifactFactory;
+        this.reportHolder = reportHolder;
     }
 
     @Override
@@ -172,14 +249,17 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
             throw new MojoExecutionException(e);
         }
         var artifactAnalyzer = artifactAnalyzerFactory
-                .create(session.getRepositorySession().getLocalRepositoryManager(), reactorProjects);
+                .create(session.getRepositorySession().getLocalRepositoryManager(), reactorProjects,
+                        new AnalysisOptions(analysisThreads, getAnalysisCache(), metrics));
         DependencyReport dependencyReport = artifactAnalyzer.analyze(resolvedArtifacts);
         compilationErrors.forEach(error -> dependencyReport.addIssue(
                 Issue.create(Issue.Type.EXTENSION_COMPILATION_ERROR, error.getMessage(), Issue.Severity.ERROR,
                         ExceptionUtils.getStackTrace(error))));
 
         if (validateDeps) {
-            dependencyValidator.validate(project, buildingRequest).stream().forEach(dependencyReport::addIssue);
+            var dependencyGraph = collectDependencyGraph(buildingRequest);
+            dependencyValidator.validate(appModuleProject, dependencyGraph).stream()
+                    .forEach(dependencyReport::addIssue);
         }
 
         if (outputFile != null) {
@@ -187,6 +267,40 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
             outputFile = Paths.get(buildFolder).resolve(outputFile.getName()).toFile();
         }
         getReporters().forEach(reporter -> reporter.report(dependencyReport));
+        if (outputFile != null) {
+            reportHolder.put(outputFile, dependencyReport);
+        }
+    }
+
+    /**
+     * Collect the runtime dependency graph of the application module, once for all the validations.
+     * 
+     * @param buildingRequest the building request of the application module
+     * @return the root node of the dependency graph
+     * @throws MojoExecutionException when the graph can not be collected
+     */
+    DependencyNode collectDependencyGraph(ProjectBuildingRequest buildingRequest) throws MojoExecutionException {
+        try {
+            return dependencyGraphBuilder.buildDependencyGraph(buildingRequest,
+                    new ScopeArtifactFilter(Artifact.SCOPE_RUNTIME));
+        } catch (DependencyGraphBuilderException e) {
+            throw new MojoExecutionException("Failed to build dependency graph", e);
+        }
+    }
+
+    AnalysisCache getAnalysisCache() {
+        var analysisCache = AnalysisCache.NONE;
+        if (useAnalysisCache && analysisCacheDirectory != null) {
+            analysisCache = new NegativeAnalysisCache(analysisCacheDirectory.toPath(), pluginVersion,
+                    new FileAnalysisCache(analysisCacheDirectory.toPath(), pluginVersion));
+        }
+        if (incremental) {
+            var sessionProperties = new Properties();
+            sessionProperties.putAll(session.getSystemProperties());
+            sessionProperties.putAll(session.getUserProperties());
+            analysisCache = new ModuleAnalysisCache(pluginVersion, reactorProjects, sessionProperties, analysisCache);
+        }
+        return analysisCache;
     }
 
     MavenProject findAppModuleProject() throws MojoExecutionException {
@@ -218,12 +332,74 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
         var filter = new FilterArtifacts();
         filter.addFilter(new ScopeFilter(cleanToBeTokenizedString(this.includeScope),
                 cleanToBeTokenizedString(this.excludeScope)));
-        return filter.filter(artifacts).stream().map(artifact -> resolve(buildingRequest, artifact)).collect(toList());
+        Set<Artifact> filteredArtifacts = filter.filter(artifacts);
+        var resolvedArtifacts = resolveInBatch(filteredArtifacts);
+        // artifacts not resolved in batch are resolved one by one, which reports the failures
+        var artifactsToAnalyze = filteredArtifacts.stream()
+                .map(artifact -> resolvedArtifacts.containsKey(artifact) ? resolvedArtifacts.get(artifact)
+                        : resolve(buildingRequest, artifact))
+                .collect(toList());
+        compileExtensionModules();
+        return artifactsToAnalyze;
+    }
+
+    /**
+     * Resolve the artifacts in a single repository system request, so that missing artifacts are downloaded in
+     * parallel.
+     * <p>Reactor modules which are not installed in the local repository are taken from the reactor directly,
+     * without any remote lookup.</p>
+     * 
+     * @param artifacts the artifacts to resolve
+     * @return the resolved artifacts, failed resolutions are missing
+     */
+    Map<Artifact, Artifact> resolveInBatch(Collection<Artifact> artifacts) {
+        var repositorySession = session.getRepositorySession();
+        var repositories = RepositoryUtils.toRepos(remoteRepositories);
+        Map<Artifact, Artifact> resolvedArtifacts = new HashMap<>();
+        List<Artifact> requestedArtifacts = new ArrayList<>();
+        List<ArtifactRequest> requests = new ArrayList<>();
+        for (var artifact : artifacts) {
+            var moduleProject = findReactorProject(artifact);
+            if (moduleProject.isPresent() && !isInLocalRepository(artifact, repositories)) {
+                resolvedArtifacts.put(artifact, resolveReactorModule(artifact, moduleProject.get()));
+            } else {
+                requestedArtifacts.add(artifact);
+                requests.add(new ArtifactRequest(RepositoryUtils.toArtifact(artifact), repositories, null));
+            }
+        }
+        if (requests.isEmpty()) {
+            return resolvedArtifacts;
+        }
+        List<ArtifactResult> results;
+        try {
+            results = repositorySystem.resolveArtifacts(repositorySession, requests);
+        } catch (ArtifactResolutionException e) {
+            // keep the successful resolutions, the failed ones are resolved again one by one
+            results = e.getResults();
+        }
+        for (int i = 0; i < requestedArtifacts.size() && results != null && i < results.size(); i++) {
+            var result = results.get(i);
+            if (result != null && result.isResolved() && result.getArtifact().getFile() != null
+                    && result.getArtifact().getFile().exists()) {
+                var artifact = requestedArtifacts.get(i);
+                artifact.setFile(result.getArtifact().getFile());
+                artifact.setResolved(true);
+                resolvedArtifacts.put(artifact, artifact);
+            }
+        }
+        return resolvedArtifacts;
+    }
+
+    private boolean isInLocalRepository(Artifact artifact, List<RemoteRepository> repositories) {
+        var repositorySession = session.getRepositorySession();
+        var localResult = repositorySession.getLocalRepositoryManager().find(repositorySession,
+                new LocalArtifactRequest(RepositoryUtils.toArtifact(artifact), repositories, null));
+        return localResult.getFile() != null && localResult.getFile().isFile();
     }
 
     Artifact resolve(ProjectBuildingRequest buildingRequest, Artifact artifact) {
         try {
-            ArtifactResult result = artifactResolver.resolveArtifact(buildingRequest, artifact);
+            var result = artifactResolver.resolveArtifact(buildingRequest, artifact);
             final Artifact resolvedArtifact = result.getArtifact();
             File artifactFile = resolvedArtifact.getFile();
             if (artifactFile == null || !artifactFile.exists()) {
@@ -231,45 +407,98 @@ public class AnalyzeBonitaDependencyMojo extends AbstractMojo {
             }
             return resolvedArtifact;
         } catch (ArtifactResolverException are) {
-            var moduleProject = reactorProjects.stream()
-                    .filter(p -> matchesCoordinates(artifact, p))
-                    .findFirst()
+            var moduleProject = findReactorProject(artifact)
                     .orElseThrow(() -> new AnalysisResultReportException(
                             format("Failed to analyze artifact %s", artifact), are));
-            // Handle child modules specific case
-            // Artifact might not be installed in local repository yet
-            artifact.setFile(moduleProject.getBasedir());
-            compileExtensionModule(artifact);
-            return artifact;
+            return resolveReactorModule(artifact, moduleProject);
         } catch (Exception e) {
             throw new AnalysisResultReportException(format("Failed to analyze artifact %s", artifact), e);
         }
     }
 
-    private void compileExtensionModule(Artifact artifact) {
+    private Optional<MavenProject> findReactorProject(Artifact artifact) {
+        return reactorProjects.stream()
+                .filter(p -> matchesCoordinates(artifact, p))
+                .findFirst();
+    }
+
+    private Artifact resolveReactorModule(Artifact artifact, MavenProject moduleProject) {
+        // Handle child modules specific case
+        // Artifact might not be installed in local repository yet
+        artifact.setFile(moduleProject.getBasedir());
+        registerExtensionModule(artifact);
+        return artifact;
+    }
+
+    private void registerExtensionModule(Artifact artifact) {
         var artifactBaseDir = artifact.getFile();
         if (artifactBaseDir.isDirectory() && "jar".equals(Optional.ofNullable(artifact.getType()).orElse("jar"))) {
-            var mavenProject = reactorProjects.stream()
+            reactorProjects.stream()
                     .filter(p -> Objects.equals(artifactBaseDir, p.getBasedir()))
-                    .findFirst();
-            mavenProject.ifPresent(p -> {
-                try {
-                    MavenSessionExecutor.fromSession(session).execute(p.getModel().getPomFile(),
-                            project.getBasedir(),
-                            List.of("compiler:compile"),
-                            Map.of(), List.of(),
-                            () -> "Error while compiling extension module " + p.getArtifactId());
-                } catch (BuildException e) {
-                    // build failed, we do not want to fail the whole analysis, but only report the error
-                    compilationErrors.add(e);
-                }
-            });
+                    .findFirst()
+                    .filter(p -> !modulesToCompile.contains(p))
+                    .ifPresent(modulesToCompile::add);
+        }
+    }
+
+    /**
+     * Compile the registered extension modules, in a single maven build when there are several modules.
+     * <p>This build goes on after a module failure, so that the other modules are up to date. Every module is then
+     * compiled again on its own, so that errors are reported per module: the compiler does not clean the output of
+     * a failing module, so the output directories do not tell which modules failed.</p>
+     */
+    void compileExtensionModules() {
+        if (modulesToCompile.isEmpty()) {
+            return;
+        }
+        if (modulesToCompile.size() > 1) {
+            var projectList = modulesToCompile.stream()
+                    .map(p -> p.getGroupId() + ":" + p.getArtifactId())
+                    .collect(joining(","));
+            try {
+                sessionExecutor().execute(project.getFile(),
+                        project.getBasedir(),
+                        List.of("compiler:compile"),
+                        Map.of(), List.of("-pl", projectList, "-T", compileThreads, "--fail-at-end"), List.of(),
+                        () -> "Error while compiling extension modules " + projectList);
+                modulesToCompile.clear();
+                return;
+            } catch (BuildException e) {
+                getLog().debug("Compiling extension modules one by one to report errors per module", e);
+            }
+        }
+        modulesToCompile.forEach(this::compileExtensionModule);
+        modulesToCompile.clear();
+    }
+
+    private void compileExtensionModule(MavenProject moduleProject) {
+        try {
+            sessionExecutor().execute(moduleProject.getModel().getPomFile(),
+                    project.getBasedir(),
+                    List.of("compiler:compile"),
+                    Map.of(), List.of(),
+                    () -> "Error while compiling extension module " + moduleProject.getArtifactId());
+        } catch (BuildException e) {
+            // build failed, we do not want to fail the whole analysis, but only report the error
+            compilationErrors.add(e);
         }
     }
 
+    MavenSessionExecutor sessionExecutor() {
+        return MavenSessionExecutor.fromSession(session);
+    }
+
+    /**
+     * @return the errors of the extension modules compilation
+     */
+    List<BuildException> getCompilationErrors() {
+        return compilationErrors;
+    }
+
     private boolean matchesCoordinates(Artifact artifact, MavenProject p) {
         Artifact projectArtifact = p.getArtifact();
-        return Objects.equals(projectArtifact.getGroupId(), artifact.getGroupId())
+        return projectArtifact != null
+                && Objects.equals(projectArtifact.getGroupId(), artifact.getGroupId())
                 && Objects.equals(projectArtifact.getArtifactId(), artifact.getArtifactId())
                 && Objects.equals(projectArtifact.getBaseVersion(), artifact.getBaseVersion());
     }
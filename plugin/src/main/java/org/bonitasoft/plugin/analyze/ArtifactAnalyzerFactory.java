@@ -23,6 +23,15 @@ import org.eclipse.aether.repository.LocalRepositoryManager;
 
 public interface ArtifactAnalyzerFactory {
 
-    ArtifactAnalyzer create(LocalRepositoryManager localRepositoryManager, List<MavenProject> reactorProjects);
+    /**
+     * Create an analyzer for the given reactor.
+     * 
+     * @param localRepositoryManager the local repository manager
+     * @param reactorProjects the projects of the reactor, used to analyze extension modules
+     * @param options the analysis options
+     * @return the artifact analyzer
+     */
+    ArtifactAnalyzer create(LocalRepositoryManager localRepositoryManager, List<MavenProject> reactorProjects,
+            AnalysisOptions options);
 
 }
@@ -21,6 +21,7 @@ import java.util.List;
 
 import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
 import org.bonitasoft.plugin.analyze.report.model.Definition;
 import org.bonitasoft.plugin.analyze.report.model.Implementation;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
@@ -33,4 +34,26 @@ public interface ConnectorResolver {
     List<Implementation> findAllImplementations(Artifact artifact, ArtifactContentReader reader,
             Issue.Collector issueCollector) throws IOException;
 
+    /**
+     * Find the definitions among artifact entries which have already been read.
+     * 
+     * @param artifact the artifact the entries belong to
+     * @param entries the artifact entries, with their content loaded
+     * @param issueCollector collects the issues of the definitions
+     * @return the definitions
+     */
+    List<Definition> findAllDefinitions(Artifact artifact, List<Entry> entries, Issue.Collector issueCollector);
+
+    /**
+     * Find the implementations among artifact entries which have already been read.
+     * 
+     * @param artifact the artifact the entries belong to
+     * @param entries the artifact entries, with their content loaded
+     * @param reader the reader of the artifact, detecting the implementations hierarchy
+     * @param issueCollector collects the issues of the implementations
+     * @return the implementations
+     */
+    List<Implementation> findAllImplementations(Artifact artifact, List<Entry> entries, ArtifactContentReader reader,
+            Issue.Collector issueCollector);
+
 }
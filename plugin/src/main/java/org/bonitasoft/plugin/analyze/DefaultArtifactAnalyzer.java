@@ -17,42 +17,251 @@
 package org.bonitasoft.plugin.analyze;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.analyze.cache.CacheableAnalysis;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
 import org.bonitasoft.plugin.analyze.handler.ArtifactAnalyzerHandler;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
 import org.bonitasoft.plugin.analyze.report.AnalysisResultReportException;
+import org.bonitasoft.plugin.analyze.report.model.ArtifactMetrics;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.HandlerMetrics;
 
+/**
+ * Runs all the handlers on each artifact.
+ * <p>Each artifact is analyzed in its own partial report. Partial reports are merged in the input order, so the
+ * resulting report does not depend on the number of threads used for the analysis.</p>
+ * <p>Partial reports are looked up in the analysis cache first, handlers only run on the artifacts missing from
+ * the cache. Partial reports depending on other artifacts, such as an implementation whose super types are packaged
+ * in another dependency, are not cached.</p>
+ * <p>The handlers declaring entry interests do not read the artifact content by themselves: the entries interesting
+ * all the handlers sharing a content reader are read in a single traversal of the artifact, then dispatched to each
+ * interested handler.</p>
+ * <p>Handlers finally complete the merged report, for instance by matching definitions with the implementations
+ * of all the artifacts.</p>
+ * <p>When requested, the measures of each artifact analysis are added to the report. They are not cached with the
+ * partial reports.</p>
+ */
 class DefaultArtifactAnalyzer implements ArtifactAnalyzer {
 
     private final List<ArtifactAnalyzerHandler> handlers;
 
-    public DefaultArtifactAnalyzer(List<ArtifactAnalyzerHandler> handlers) {
+    private final TypeHierarchyIndex typeHierarchyIndex;
+
+    private final AnalysisOptions options;
+
+    /** The interests of all the handlers sharing each content reader. */
+    private final Map<ArtifactContentReader, List<EntryInterest>> interestsByReader = new IdentityHashMap<>();
+
+    /**
+     * @param handlers the handlers to run on each artifact
+     * @param typeHierarchyIndex the index of the analyzed artifacts types, shared with the handlers
+     * @param options the analysis options
+     */
+    public DefaultArtifactAnalyzer(List<ArtifactAnalyzerHandler> handlers, TypeHierarchyIndex typeHierarchyIndex,
+            AnalysisOptions options) {
         this.handlers = handlers;
+        this.typeHierarchyIndex = typeHierarchyIndex;
+        this.options = options;
+        for (var handler : handlers) {
+            if (!handler.getEntryInterests().isEmpty()) {
+                interestsByReader.computeIfAbsent(handler.getContentReader(), reader -> new ArrayList<>())
+                        .addAll(handler.getEntryInterests());
+            }
+        }
     }
 
     @Override
     public DependencyReport analyze(List<Artifact> artifacts) {
+        // super types of an implementation may be packaged in any other artifact of the analysis
+        typeHierarchyIndex.register(artifacts.stream().map(Artifact::getFile)
+                .filter(file -> file != null && file.isFile())
+                .toList());
+        var partialReports = options.threads() > 1 && artifacts.size() > 1 ? analyzeInParallel(artifacts)
+                : artifacts.stream().map(this::analyze).toList();
+        options.cache().flush();
         DependencyReport dependencyReport = new DependencyReport();
-        artifacts.forEach(artifact -> {
-            try {
-                analyze(artifact, dependencyReport, handlers);
-            } catch (IOException e) {
-                throw new AnalysisResultReportException("Failed to analyze artifacts: " + artifact.getId(), e);
-            }
-        });
+        partialReports.forEach(dependencyReport::merge);
+        handlers.forEach(handler -> handler.complete(dependencyReport));
         return dependencyReport;
     }
 
-    private DependencyReport analyze(Artifact artifact, DependencyReport result, List<ArtifactAnalyzerHandler> handlers)
-            throws IOException {
-        for (var handler : handlers) {
-            if (handler.appliesTo(artifact)) {
-                handler.analyze(artifact, result);
+    private List<DependencyReport> analyzeInParallel(List<Artifact> artifacts) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.threads(), artifacts.size()),
+                newThreadFactory());
+        try {
+            List<Future<DependencyReport>> futures = artifacts.stream()
+                    .map(artifact -> executor.submit(() -> analyze(artifact)))
+                    .toList();
+            List<DependencyReport> partialReports = new ArrayList<>(futures.size());
+            for (var future : futures) {
+                partialReports.add(waitFor(future));
+            }
+            return partialReports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static DependencyReport waitFor(Future<DependencyReport> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisResultReportException("Artifacts analysis has been interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AnalysisResultReportException("Failed to analyze artifacts", e.getCause());
+        }
+    }
+
+    private static ThreadFactory newThreadFactory() {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "bonita-analyze-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    DependencyReport analyze(Artifact artifact) {
+        if (options.collectMetrics()) {
+            return analyzeWithMetrics(artifact);
+        }
+        var cachedReport = options.cache().get(artifact);
+        if (cachedReport.isPresent()) {
+            return cachedReport.get();
+        }
+        return runHandlers(artifact, null);
+    }
+
+    private DependencyReport analyzeWithMetrics(Artifact artifact) {
+        var metrics = ArtifactMetrics.create(artifact.getId());
+        var start = System.nanoTime();
+        DependencyReport partialReport;
+        AnalysisMetrics.start();
+        try {
+            var cachedReport = options.cache().get(artifact);
+            metrics.setCached(cachedReport.isPresent());
+            partialReport = cachedReport.isPresent() ? cachedReport.get() : runHandlers(artifact, metrics);
+        } finally {
+            AnalysisMetrics.stop(metrics);
+        }
+        metrics.setTotalMicros(toMicros(System.nanoTime() - start));
+        // the measures are not part of the (cached) partial report
+        var measuredReport = new DependencyReport();
+        measuredReport.merge(partialReport);
+        measuredReport.addMetrics(metrics);
+        return measuredReport;
+    }
+
+    /**
+     * Run the handlers on an artifact missing from the cache.
+     * <p>The entries interesting the handlers are read at the first handler which needs them, so their traversal
+     * is measured with the appliesTo time of that handler.</p>
+     * <p>The partial report is not cached when it depends on other artifacts than the analyzed one. Artifacts
+     * without any entry interesting the handlers are cached as such.</p>
+     * 
+     * @param artifact the artifact to analyze
+     * @param metrics the artifact metrics to complete, null when metrics are not collected
+     * @return the partial report of the artifact
+     */
+    private DependencyReport runHandlers(Artifact artifact, ArtifactMetrics metrics) {
+        var partialReport = new DependencyReport();
+        var dispatcher = new EntryDispatcher(artifact);
+        boolean withoutContent = true;
+        boolean cacheable;
+        CacheableAnalysis.start();
+        try {
+            for (var handler : handlers) {
+                var appliesToStart = System.nanoTime();
+                Optional<List<Entry>> entries = Optional.empty();
+                boolean applied;
+                if (handler.getEntryInterests().isEmpty()) {
+                    applied = handler.appliesTo(artifact);
+                } else {
+                    entries = dispatcher.getEntries(handler);
+                    applied = entries.isPresent() && handler.appliesTo(artifact, entries.get());
+                }
+                withoutContent &= !applied && entries.map(List::isEmpty).orElse(true);
+                var analyzeStart = System.nanoTime();
+                if (applied && entries.isPresent()) {
+                    handler.analyze(artifact, entries.get(), partialReport);
+                } else if (applied) {
+                    handler.analyze(artifact, partialReport);
+                }
+                if (metrics != null) {
+                    metrics.addHandler(HandlerMetrics.create(handler.getName(), applied,
+                            toMicros(analyzeStart - appliesToStart), toMicros(System.nanoTime() - analyzeStart)));
+                }
             }
+        } catch (IOException e) {
+            throw new AnalysisResultReportException("Failed to analyze artifacts: " + artifact.getId(), e);
+        } finally {
+            cacheable = CacheableAnalysis.stop();
+        }
+        if (withoutContent) {
+            options.cache().putWithoutContent(artifact);
+        } else if (cacheable) {
+            options.cache().put(artifact, partialReport);
         }
-        return result;
+        return partialReport;
+    }
+
+    /**
+     * Reads the entries of an artifact interesting the handlers, in a single traversal per content reader.
+     */
+    private final class EntryDispatcher {
+
+        private final Artifact artifact;
+
+        private final Map<ArtifactContentReader, List<Entry>> entriesByReader = new IdentityHashMap<>();
+
+        EntryDispatcher(Artifact artifact) {
+            this.artifact = artifact;
+        }
+
+        /**
+         * Get the entries matching the interests of a handler.
+         * 
+         * @param handler the handler
+         * @return the matching entries, empty when the handler content reader does not apply to the artifact
+         * @throws IOException exception reading the artifact content
+         */
+        Optional<List<Entry>> getEntries(ArtifactAnalyzerHandler handler) throws IOException {
+            var reader = handler.getContentReader();
+            var entries = entriesByReader.get(reader);
+            if (entries == null) {
+                if (!reader.appliesTo(artifact)) {
+                    return Optional.empty();
+                }
+                entries = reader.readInterestingEntries(artifact, interestsByReader.get(reader));
+                entriesByReader.put(reader, entries);
+            }
+            var isInteresting = EntryInterest.anyOf(handler.getEntryInterests());
+            return Optional.of(entries.stream().filter(entry -> isInteresting.test(entry.path())).toList());
+        }
+    }
+
+    private static long toMicros(long nanos) {
+        return nanos / 1000;
     }
 
 }
@@ -23,8 +23,9 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.bonitasoft.plugin.analyze.handler.ArtifactAnalyzerHandler;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 
 @Named
@@ -32,19 +33,21 @@ import org.eclipse.aether.repository.LocalRepositoryManager;
 class DefaultArtifactAnalyzerFactory implements ArtifactAnalyzerFactory {
 
     private ConnectorResolver connectorResolver;
-    private MavenResourcesFiltering mavenResourcesFiltering;
+    private MavenFileFilter mavenFileFilter;
 
     @Inject
     public DefaultArtifactAnalyzerFactory(ConnectorResolver connectorResolver,
-            MavenResourcesFiltering mavenResourcesFiltering) {
+            MavenFileFilter mavenFileFilter) {
         this.connectorResolver = connectorResolver;
-        this.mavenResourcesFiltering = mavenResourcesFiltering;
+        this.mavenFileFilter = mavenFileFilter;
     }
 
     @Override
-    public ArtifactAnalyzer create(LocalRepositoryManager localRepositoryManager, List<MavenProject> reactorProjects) {
+    public ArtifactAnalyzer create(LocalRepositoryManager localRepositoryManager, List<MavenProject> reactorProjects,
+            AnalysisOptions options) {
+        var typeHierarchyIndex = new TypeHierarchyIndex();
         return new DefaultArtifactAnalyzer(ArtifactAnalyzerHandler.create(connectorResolver, localRepositoryManager,
-                mavenResourcesFiltering, reactorProjects));
+                mavenFileFilter, reactorProjects, typeHierarchyIndex), typeHierarchyIndex, options);
     }
 
 }
@@ -0,0 +1,139 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bonitasoft.plugin.analyze.report.model.Definition;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.DescriptorIdentifier;
+import org.bonitasoft.plugin.analyze.report.model.Implementation;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
+import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
+import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
+
+/**
+ * Matches connector and actor filter definitions with their implementations by (definitionId, definitionVersion).
+ * <p>A definition and its implementation may be shipped in different artifacts, so the definitions left unresolved by
+ * the analysis of their own artifact are kept by the matcher, then matched with the implementations of the whole
+ * report in a single pass. They are not part of the report, only their warning is.</p>
+ */
+public final class DefinitionMatcher {
+
+    /** The definitions without implementation in their own artifact, by the identity of their warning. */
+    private final Map<Issue, Definition> unresolvedDefinitions = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Get the key matching a definition with its implementations.
+     * 
+     * @param definition the definition
+     * @return the definition identifier
+     */
+    public static DescriptorIdentifier key(Definition definition) {
+        return new DescriptorIdentifier(definition.getDefinitionId(), definition.getDefinitionVersion());
+    }
+
+    /**
+     * Get the key matching an implementation with its definition.
+     * 
+     * @param implementation the implementation
+     * @return the identifier of the implemented definition
+     */
+    public static DescriptorIdentifier key(Implementation implementation) {
+        return new DescriptorIdentifier(implementation.getDefinitionId(), implementation.getDefinitionVersion());
+    }
+
+    /**
+     * Index the implemented definitions.
+     * 
+     * @param implementations the implementations to index
+     * @return the identifiers of the implemented definitions
+     */
+    public static Set<DescriptorIdentifier> index(List<? extends Implementation> implementations) {
+        Set<DescriptorIdentifier> keys = new HashSet<>(implementations.size() * 2);
+        implementations.forEach(implementation -> keys.add(key(implementation)));
+        return keys;
+    }
+
+    /**
+     * Get the message of the warning reported for a definition without any implementation.
+     * 
+     * @param definition the definition without implementation
+     * @return the warning message
+     */
+    public static String unknownDefinitionMessage(Definition definition) {
+        return String.format("%s declares a definition '%s (%s)' but no matching implementation has been found. "
+                + "This definition will be ignored.", definition.getJarEntry(), definition.getDefinitionId(),
+                definition.getDefinitionVersion());
+    }
+
+    /**
+     * Keep a definition without implementation in its own artifact, until the implementations of all the artifacts
+     * are known.
+     * 
+     * @param definition the definition without implementation
+     * @param artifactId the identifier of the artifact declaring the definition
+     * @return the warning to report for the definition, withdrawn when an implementation is found elsewhere
+     */
+    public Issue addUnresolvedDefinition(Definition definition, String artifactId) {
+        var warning = Issue.create(Type.UNKNOWN_DEFINITION_TYPE, unknownDefinitionMessage(definition),
+                Severity.WARNING, artifactId);
+        unresolvedDefinitions.put(warning, definition);
+        return warning;
+    }
+
+    /**
+     * Match the unresolved definitions with the implementations of all the artifacts of a complete report.
+     * <p>A matched definition is added to the connector or filter definitions and its warning is withdrawn. The
+     * definitions which are still unmatched keep their warning and are ignored. Definitions are matched in the order
+     * of their warnings, which is the artifacts order, so the report does not depend on the analysis order.</p>
+     * 
+     * @param report the report merged from all the analyzed artifacts
+     */
+    public void matchUnresolvedDefinitions(DependencyReport report) {
+        if (unresolvedDefinitions.isEmpty()) {
+            return;
+        }
+        var connectorKeys = index(report.getConnectorImplementations());
+        var filterKeys = index(report.getFilterImplementations());
+        for (var issues = report.getIssues().iterator(); issues.hasNext();) {
+            var definition = unresolvedDefinitions.get(issues.next());
+            if (definition == null) {
+                continue;
+            }
+            var key = key(definition);
+            var isConnector = connectorKeys.contains(key);
+            var isFilter = filterKeys.contains(key);
+            if (isConnector) {
+                report.addConnectorDefinition(definition);
+            }
+            if (isFilter) {
+                report.addFilterDefinition(definition);
+            }
+            if (isConnector || isFilter) {
+                issues.remove();
+            }
+        }
+        unresolvedDefinitions.clear();
+    }
+
+}
@@ -18,14 +18,19 @@ package org.bonitasoft.plugin.analyze;
 
 import java.util.List;
 
-import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
 
 public interface DependencyValidator {
 
-    List<Issue> validate(MavenProject project, ProjectBuildingRequest projectBuildingRequest)
-            throws MojoExecutionException;
+    /**
+     * Validate the dependency graph collected by the caller, so that it is collected only once.
+     * 
+     * @param project the project whose dependencies are validated
+     * @param dependencyGraph the runtime dependency graph of the project
+     * @return the issues found
+     */
+    List<Issue> validate(MavenProject project, DependencyNode dependencyGraph);
 
 }
@@ -22,17 +22,11 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.artifact.resolver.filter.ScopeArtifactFilter;
-import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.project.ProjectBuildingRequest;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.dependency.graph.traversal.CollectingDependencyNodeVisitor;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
@@ -44,30 +38,29 @@ public class IncompatibleDependencyValidator implements DependencyValidator {
     /**
      * List of dependencies already provided in Bonita runtime that should not be found in the runtime dependency tree.
      */
-    private static final Set<String> CONFLICTING_ARTIFACTS = Set.of(
-            "org.codehaus.groovy:groovy-all:jar",
-            "org.bonitasoft.engine:bonita-server:jar",
-            "com.bonitasoft.engine:bonita-server-sp:jar",
-            "org.bonitasoft.engine:bonita-client:jar",
-            "com.bonitasoft.engine:bonita-client-sp:jar",
-            "org.bonitasoft.engine:bonita-common:jar",
-            "com.bonitasoft.engine:bonita-common-sp:jar",
-            "org.bonitasoft.web:bonita-web-extensions:jar",
-            "com.bonitasoft.web:bonita-web-extensions-sp:jar");
+    private static final Set<ArtifactKey> CONFLICTING_ARTIFACTS = Set.of(
+            new ArtifactKey("org.codehaus.groovy", "groovy-all", "jar"),
+            new ArtifactKey("org.bonitasoft.engine", "bonita-server", "jar"),
+            new ArtifactKey("com.bonitasoft.engine", "bonita-server-sp", "jar"),
+            new ArtifactKey("org.bonitasoft.engine", "bonita-client", "jar"),
+            new ArtifactKey("com.bonitasoft.engine", "bonita-client-sp", "jar"),
+            new ArtifactKey("org.bonitasoft.engine", "bonita-common", "jar"),
+            new ArtifactKey("com.bonitasoft.engine", "bonita-common-sp", "jar"),
+            new ArtifactKey("org.bonitasoft.web", "bonita-web-extensions", "jar"),
+            new ArtifactKey("com.bonitasoft.web", "bonita-web-extensions-sp", "jar"));
 
-    private DependencyGraphBuilder dependencyGraphBuilder;
+    /**
+     * Identifies an artifact regardless of its version, as a hash key.
+     */
+    private static record ArtifactKey(String groupId, String artifactId, String type) {
 
-    @Inject
-    public IncompatibleDependencyValidator(DependencyGraphBuilder dependencyGraphBuilder) {
-        this.dependencyGraphBuilder = dependencyGraphBuilder;
+        static ArtifactKey of(Artifact artifact) {
+            return new ArtifactKey(artifact.getGroupId(), artifact.getArtifactId(), artifact.getType());
+        }
     }
 
     private static boolean isConflictingArtifact(Artifact artifact) {
-        return CONFLICTING_ARTIFACTS
-                .contains(String.format("%s:%s:%s",
-                        artifact.getGroupId(),
-                        artifact.getArtifactId(),
-                        artifact.getType()));
+        return CONFLICTING_ARTIFACTS.contains(ArtifactKey.of(artifact));
     }
 
     private String rootNodeId(DependencyNode node, String projectArtifactId) {
@@ -81,30 +74,23 @@ public class IncompatibleDependencyValidator implements DependencyValidator {
     }
 
     @Override
-    public List<Issue> validate(MavenProject project, ProjectBuildingRequest projectBuildingRequest)
-            throws MojoExecutionException {
-        try {
-            var dependencyGraph = dependencyGraphBuilder.buildDependencyGraph(projectBuildingRequest,
-                    new ScopeArtifactFilter(Artifact.SCOPE_RUNTIME));
+    public List<Issue> validate(MavenProject project, DependencyNode dependencyGraph) {
+        List<DependencyNode> conflictingNodes = new ArrayList<>();
+        dependencyGraph.accept(new CollectingDependencyNodeVisitor() {
 
-            List<DependencyNode> conflictingNodes = new ArrayList<>();
-            dependencyGraph.accept(new CollectingDependencyNodeVisitor() {
-
-                @Override
-                public boolean visit(DependencyNode node) {
-                    if (IncompatibleDependencyValidator.isConflictingArtifact(node.getArtifact())) {
-                        conflictingNodes.add(node);
-                    }
-                    return super.visit(node);
+            @Override
+            public boolean visit(DependencyNode node) {
+                if (IncompatibleDependencyValidator.isConflictingArtifact(node.getArtifact())) {
+                    conflictingNodes.add(node);
                 }
-            });
+                return super.visit(node);
+            }
+        });
 
-            return conflictingNodes.stream()
-                    .map(node -> createIssue(node, projectBuildingRequest.getProject().getArtifact().getId()))
-                    .collect(Collectors.toList());
-        } catch (DependencyGraphBuilderException e) {
-            throw new MojoExecutionException("Failed to build dependency graph", e);
-        }
+        var projectArtifactId = project.getArtifact().getId();
+        return conflictingNodes.stream()
+                .map(node -> createIssue(node, projectArtifactId))
+                .collect(Collectors.toList());
     }
 
     private Issue createIssue(DependencyNode node, String projectArtifactId) {
@@ -0,0 +1,81 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import java.util.Optional;
+
+import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+
+/**
+ * Stores the partial report of each analyzed artifact, so that an unchanged artifact is not analyzed again.
+ */
+public interface AnalysisCache {
+
+    /**
+     * A cache which never stores anything.
+     */
+    public static final AnalysisCache NONE = new AnalysisCache() {
+
+        @Override
+        public Optional<DependencyReport> get(Artifact artifact) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(Artifact artifact, DependencyReport partialReport) {
+            // nothing to store
+        }
+    };
+
+    /**
+     * Get the partial report of a previous analysis of this artifact.
+     * 
+     * @param artifact the artifact to analyze
+     * @return the cached partial report, empty when the artifact was not analyzed yet or has changed since
+     */
+    Optional<DependencyReport> get(Artifact artifact);
+
+    /**
+     * Store the partial report of an artifact analysis.
+     * <p>Failing to store the report must not fail the analysis.</p>
+     * 
+     * @param artifact the analyzed artifact
+     * @param partialReport the result of the artifact analysis
+     */
+    void put(Artifact artifact, DependencyReport partialReport);
+
+    /**
+     * Store the analysis of an artifact without any entry interesting the handlers, such as an ordinary library.
+     * <p>Failing to store the analysis must not fail the analysis. It is stored as an empty partial report by
+     * default.</p>
+     * 
+     * @param artifact the analyzed artifact
+     */
+    default void putWithoutContent(Artifact artifact) {
+        put(artifact, new DependencyReport());
+    }
+
+    /**
+     * Store the pending entries, once all the artifacts have been analyzed.
+     * <p>Failing to store the entries must not fail the analysis. Nothing is pending by default.</p>
+     */
+    default void flush() {
+        // nothing pending
+    }
+
+}
@@ -0,0 +1,64 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+/**
+ * Records whether the partial report of the artifact analyzed by the current thread only depends on the artifact
+ * content.
+ * <p>Partial reports are cached by artifact, so a report which also depends on other artifacts, for instance when a
+ * super type of an implementation is packaged in another dependency or is not found at all, must not be cached: the
+ * same artifact may be classified differently along other dependencies. An artifact is analyzed by a single thread,
+ * so the content readers signal such dependencies without knowing which artifact is analyzed. Nothing is recorded
+ * outside of {@link #start()} and {@link #stop()}.</p>
+ */
+public final class CacheableAnalysis {
+
+    private static final ThreadLocal<boolean[]> DEPENDS_ON_OTHER_ARTIFACTS = new ThreadLocal<>();
+
+    private CacheableAnalysis() {
+        // utility class
+    }
+
+    /**
+     * Start recording the dependencies of an artifact analyzed by the current thread.
+     */
+    public static void start() {
+        DEPENDS_ON_OTHER_ARTIFACTS.set(new boolean[1]);
+    }
+
+    /**
+     * Stop recording the dependencies of the current thread.
+     * 
+     * @return true when the partial report only depends on the analyzed artifact and can be cached
+     */
+    public static boolean stop() {
+        var dependsOnOtherArtifacts = DEPENDS_ON_OTHER_ARTIFACTS.get();
+        DEPENDS_ON_OTHER_ARTIFACTS.remove();
+        return dependsOnOtherArtifacts == null || !dependsOnOtherArtifacts[0];
+    }
+
+    /**
+     * Signal that the result of the current analysis depends on other artifacts than the analyzed one.
+     */
+    public static void dependsOnOtherArtifacts() {
+        var dependsOnOtherArtifacts = DEPENDS_ON_OTHER_ARTIFACTS.get();
+        if (dependsOnOtherArtifacts != null) {
+            dependsOnOtherArtifacts[0] = true;
+        }
+    }
+
+}
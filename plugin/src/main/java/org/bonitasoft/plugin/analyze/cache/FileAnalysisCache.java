@@ -0,0 +1,220 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.Digests;
+import org.bonitasoft.plugin.analyze.report.DependencyReporter;
+import org.bonitasoft.plugin.analyze.report.model.ApplicationDescriptor;
+import org.bonitasoft.plugin.analyze.report.model.CustomPage;
+import org.bonitasoft.plugin.analyze.report.model.Definition;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Implementation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Stores the partial reports as JSON files in a directory, which may be shared between builds and machines.
+ * <p>An entry is looked up by the artifact coordinates only, so that it is shared between local repositories, and is
+ * valid only when the artifact file has the same size and either the same modification time or the same SHA-256
+ * digest as when it was analyzed. The elements of a restored report are pointed at the analyzed artifact file, as
+ * the entry may have been stored from another local repository. Project folders (reactor modules) are never
+ * cached.</p>
+ */
+public class FileAnalysisCache implements AnalysisCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileAnalysisCache.class);
+
+    /** To increment whenever the entry format or the analysis result of a same artifact changes. */
+    static final int FORMAT_VERSION = 4;
+
+    private static final ObjectReader ENTRY_READER = DependencyReporter.OBJECT_MAPPER.readerFor(CacheEntry.class);
+    private static final ObjectWriter ENTRY_WRITER = DependencyReporter.OBJECT_MAPPER.writerFor(CacheEntry.class)
+            .without(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * The cached analysis of an artifact, with the artifact file fingerprint at analysis time.
+     */
+    static record CacheEntry(String key, long size, long lastModified, String sha256, DependencyReport report) {
+    }
+
+    private final Path directory;
+    private final String analyzerVersion;
+
+    /**
+     * @param directory the cache directory, created when storing the first entry
+     * @param analyzerVersion the version of the analyzer, entries stored by another version are ignored
+     */
+    public FileAnalysisCache(Path directory, String analyzerVersion) {
+        this.directory = directory;
+        this.analyzerVersion = analyzerVersion;
+    }
+
+    @Override
+    public Optional<DependencyReport> get(Artifact artifact) {
+        if (!isCacheable(artifact)) {
+            return Optional.empty();
+        }
+        var key = key(artifact);
+        var entryFile = entryFile(key);
+        if (!Files.isRegularFile(entryFile)) {
+            return Optional.empty();
+        }
+        try {
+            CacheEntry entry = ENTRY_READER.readValue(entryFile.toFile());
+            var file = artifact.getFile().toPath();
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!key.equals(entry.key()) || entry.size() != attributes.size() || entry.report() == null) {
+                return Optional.empty();
+            }
+            var lastModified = attributes.lastModifiedTime().toMillis();
+            if (entry.lastModified() == lastModified) {
+                return Optional.of(relocate(entry.report(), artifact));
+            }
+            // the file was touched (e.g. downloaded again or restored on another machine), compare its content
+            if (Digests.sha256(file).equals(entry.sha256())) {
+                write(entryFile, ENTRY_WRITER,
+                        new CacheEntry(key, entry.size(), lastModified, entry.sha256(), entry.report()));
+                return Optional.of(relocate(entry.report(), artifact));
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Ignoring unreadable analysis cache entry {}", entryFile, e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Artifact artifact, DependencyReport partialReport) {
+        if (!isCacheable(artifact)) {
+            return;
+        }
+        var key = key(artifact);
+        try {
+            var file = artifact.getFile().toPath();
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            write(entryFile(key), ENTRY_WRITER, new CacheEntry(key, attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), Digests.sha256(file), partialReport));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the analysis of {} in cache {}", artifact.getId(), directory, e);
+        }
+    }
+
+    /**
+     * Point the elements of a restored report at the analyzed artifact file, instead of the file analyzed when the
+     * entry was stored.
+     * 
+     * @param report the restored report
+     * @param artifact the analyzed artifact
+     * @return the relocated report
+     */
+    private static DependencyReport relocate(DependencyReport report, Artifact artifact) {
+        var file = artifact.getFile().getAbsolutePath();
+        Stream.of(report.getConnectorImplementations().stream().map(Implementation::getArtifact),
+                report.getFilterImplementations().stream().map(Implementation::getArtifact),
+                report.getConnectorDefinitions().stream().map(Definition::getArtifact),
+                report.getFilterDefinitions().stream().map(Definition::getArtifact),
+                report.getRestApiExtensions().stream().map(CustomPage::getArtifact),
+                report.getPages().stream().map(CustomPage::getArtifact),
+                report.getForms().stream().map(CustomPage::getArtifact),
+                report.getThemes().stream().map(CustomPage::getArtifact),
+                report.getApplicationDescriptors().stream().map(ApplicationDescriptor::getArtifact))
+                .flatMap(Function.identity())
+                .filter(Objects::nonNull)
+                .forEach(reportArtifact -> reportArtifact.setFile(file));
+        return report;
+    }
+
+    private static boolean isCacheable(Artifact artifact) {
+        return artifact.getFile() != null && artifact.getFile().isFile();
+    }
+
+    /**
+     * The key does not depend on the artifact file location, the stored fingerprint tells whether the entry matches
+     * the file content. The resolved version tells apart the snapshot builds resolved from a remote repository.
+     */
+    private String key(Artifact artifact) {
+        return String.join(":", String.valueOf(FORMAT_VERSION), analyzerVersion, artifact.getGroupId(),
+                artifact.getArtifactId(), artifact.getType(), String.valueOf(artifact.getClassifier()),
+                artifact.getVersion() == null ? artifact.getBaseVersion() : artifact.getVersion());
+    }
+
+    private Path entryFile(String key) {
+        var hash = Digests.sha256(key);
+        // spread the entries in sub-directories to keep directories small
+        return directory.resolve(hash.substring(0, 2)).resolve(hash + ".json");
+    }
+
+    /**
+     * Write an entry through a temporary file, so that concurrent builds never read a partially written entry.
+     * 
+     * @param entryFile the entry file to write
+     * @param writer the JSON writer of the entry
+     * @param entry the entry to write
+     * @throws IOException exception writing the entry
+     */
+    static void write(Path entryFile, ObjectWriter writer, Object entry) throws IOException {
+        write(entryFile, tempFile -> writer.writeValue(tempFile.toFile(), entry));
+    }
+
+    /**
+     * Write a binary entry through a temporary file, so that concurrent builds never read a partially written entry.
+     * 
+     * @param entryFile the entry file to write
+     * @param content the entry content
+     * @throws IOException exception writing the entry
+     */
+    static void write(Path entryFile, byte[] content) throws IOException {
+        write(entryFile, tempFile -> Files.write(tempFile, content));
+    }
+
+    private interface TempFileWriter {
+
+        void write(Path tempFile) throws IOException;
+    }
+
+    private static void write(Path entryFile, TempFileWriter tempFileWriter) throws IOException {
+        Files.createDirectories(entryFile.getParent());
+        var tempFile = Files.createTempFile(entryFile.getParent(), entryFile.getFileName().toString(), ".tmp");
+        try {
+            tempFileWriter.write(tempFile);
+            try {
+                Files.move(tempFile, entryFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, entryFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.project.MavenProject;
+import org.bonitasoft.plugin.Digests;
+import org.bonitasoft.plugin.analyze.content.ProjectArtifactContentReader;
+import org.bonitasoft.plugin.analyze.report.DependencyReporter;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Stores the partial report of each reactor module (project folder) in the module build directory, so that the next
+ * build only analyzes the modules which changed since.
+ * <p>An entry is valid only when the module fingerprint is unchanged. The fingerprint covers the path, size and
+ * modification time of the module files (build directory excluded, walked as deep as the analysis does), of its
+ * compiled classes and of its compile classpath, plus the project and session properties used to filter the
+ * descriptors. Other artifacts are delegated to another cache.</p>
+ */
+public class ModuleAnalysisCache implements AnalysisCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModuleAnalysisCache.class);
+
+    /** To increment whenever the entry format or the fingerprint computation changes. */
+    static final int FORMAT_VERSION = 2;
+
+    /** Name of the entry file, in the module build directory. */
+    static final String ENTRY_FILE_NAME = "bonita-analysis.json";
+
+    private static final ObjectReader ENTRY_READER = DependencyReporter.OBJECT_MAPPER.readerFor(ModuleEntry.class);
+    private static final ObjectWriter ENTRY_WRITER = DependencyReporter.OBJECT_MAPPER.writerFor(ModuleEntry.class)
+            .without(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * The cached analysis of a reactor module, with the module fingerprint at analysis time.
+     */
+    static record ModuleEntry(String key, String fingerprint, DependencyReport report) {
+    }
+
+    private final String analyzerVersion;
+    private final List<MavenProject> reactorProjects;
+    private final Properties sessionProperties;
+    private final AnalysisCache delegate;
+    /** Fingerprints computed on lookup, so that the stored entry matches the analyzed module state. */
+    private final Map<File, String> fingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * @param analyzerVersion the version of the analyzer, entries stored by another version are ignored
+     * @param reactorProjects the reactor projects, which may be analyzed as project folders
+     * @param sessionProperties the system and user properties of the build session
+     * @param delegate the cache for the other artifacts
+     */
+    public ModuleAnalysisCache(String analyzerVersion, List<MavenProject> reactorProjects,
+            Properties sessionProperties, AnalysisCache delegate) {
+        this.analyzerVersion = analyzerVersion;
+        this.reactorProjects = reactorProjects;
+        this.sessionProperties = sessionProperties;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<DependencyReport> get(Artifact artifact) {
+        var moduleProject = findModuleProject(artifact);
+        if (moduleProject.isEmpty()) {
+            return delegate.get(artifact);
+        }
+        var project = moduleProject.get();
+        var entryFile = entryFile(project);
+        try {
+            var fingerprint = fingerprint(project, sessionProperties);
+            fingerprints.put(project.getBasedir(), fingerprint);
+            if (!Files.isRegularFile(entryFile)) {
+                return Optional.empty();
+            }
+            ModuleEntry entry = ENTRY_READER.readValue(entryFile.toFile());
+            if (key(artifact).equals(entry.key()) && fingerprint.equals(entry.fingerprint())
+                    && entry.report() != null) {
+                return Optional.of(entry.report());
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Ignoring unreadable module analysis {}", entryFile, e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Artifact artifact, DependencyReport partialReport) {
+        var moduleProject = findModuleProject(artifact);
+        if (moduleProject.isEmpty()) {
+            delegate.put(artifact, partialReport);
+            return;
+        }
+        var project = moduleProject.get();
+        var entryFile = entryFile(project);
+        try {
+            var fingerprint = fingerprints.remove(project.getBasedir());
+            if (fingerprint == null) {
+                fingerprint = fingerprint(project, sessionProperties);
+            }
+            FileAnalysisCache.write(entryFile, ENTRY_WRITER, new ModuleEntry(key(artifact), fingerprint,
+                    partialReport));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the analysis of {} in {}", artifact.getId(), entryFile, e);
+        }
+    }
+
+    @Override
+    public void putWithoutContent(Artifact artifact) {
+        if (findModuleProject(artifact).isEmpty()) {
+            delegate.putWithoutContent(artifact);
+        } else {
+            put(artifact, new DependencyReport());
+        }
+    }
+
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    private Optional<MavenProject> findModuleProject(Artifact artifact) {
+        var file = artifact.getFile();
+        if (file == null || !file.isDirectory()) {
+            return Optional.empty();
+        }
+        return reactorProjects.stream()
+                .filter(p -> Objects.equals(file, p.getBasedir()))
+                .filter(p -> p.getBuild() != null && p.getBuild().getDirectory() != null)
+                .findFirst();
+    }
+
+    private String key(Artifact artifact) {
+        return String.join(":", String.valueOf(FORMAT_VERSION), analyzerVersion, artifact.getGroupId(),
+                artifact.getArtifactId(), artifact.getFile().getAbsolutePath());
+    }
+
+    private static Path entryFile(MavenProject project) {
+        return Path.of(project.getBuild().getDirectory()).resolve(ENTRY_FILE_NAME);
+    }
+
+    /**
+     * Compute the fingerprint of a reactor module, without reading the content of its files.
+     * 
+     * @param project the reactor module project
+     * @param sessionProperties the system and user properties of the build session
+     * @return the module fingerprint
+     * @throws IOException exception walking the module files, or when the module dependencies are not resolved
+     */
+    static String fingerprint(MavenProject project, Properties sessionProperties) throws IOException {
+        var fingerprint = new StringBuilder();
+        var buildDirectory = Path.of(project.getBuild().getDirectory());
+        appendFiles(fingerprint, "sources", project.getBasedir().toPath(), buildDirectory,
+                ProjectArtifactContentReader.MAX_WALK_DEPTH);
+        var outputDirectory = project.getBuild().getOutputDirectory();
+        if (outputDirectory != null && Files.isDirectory(Path.of(outputDirectory))) {
+            appendFiles(fingerprint, "classes", Path.of(outputDirectory), null, Integer.MAX_VALUE);
+        }
+        appendClasspath(fingerprint, project);
+        appendProperties(fingerprint, "property", project.getProperties());
+        appendProperties(fingerprint, "session", sessionProperties);
+        return Digests.sha256(fingerprint.toString());
+    }
+
+    /**
+     * Append the compile classpath, which provides the super types of the module classes.
+     */
+    private static void appendClasspath(StringBuilder fingerprint, MavenProject project) throws IOException {
+        List<String> classpathElements;
+        try {
+            classpathElements = project.getCompileClasspathElements();
+        } catch (DependencyResolutionRequiredException e) {
+            throw new IOException(e);
+        }
+        for (var element : classpathElements) {
+            if (element.equals(project.getBuild().getOutputDirectory())) {
+                continue;
+            }
+            var path = Path.of(element);
+            if (Files.isDirectory(path)) {
+                appendFiles(fingerprint, "classpath:" + element, path, null, Integer.MAX_VALUE);
+            } else if (Files.isRegularFile(path)) {
+                var attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                fingerprint.append("classpath:").append(element).append('|').append(attrs.size()).append('|')
+                        .append(attrs.lastModifiedTime().toMillis()).append('\n');
+            } else {
+                fingerprint.append("classpath:").append(element).append("|missing\n");
+            }
+        }
+    }
+
+    private static void appendProperties(StringBuilder fingerprint, String prefix, Properties properties) {
+        if (properties != null) {
+            new TreeMap<>(properties).forEach((name, value) -> fingerprint.append(prefix).append(':')
+                    .append(name).append('=').append(value).append('\n'));
+        }
+    }
+
+    private static void appendFiles(StringBuilder fingerprint, String prefix, Path root, Path excludedDirectory,
+            int maxDepth) throws IOException {
+        var files = new TreeMap<String, BasicFileAttributes>();
+        Files.walkFileTree(root, Set.of(), maxDepth, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.equals(excludedDirectory) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    files.put(root.relativize(file).toString().replace(File.separatorChar, '/'), attrs);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        // sorted, so that the fingerprint does not depend on the walk order
+        files.forEach((path, attrs) -> fingerprint.append(prefix).append(':').append(path).append('|')
+                .append(attrs.size()).append('|').append(attrs.lastModifiedTime().toMillis()).append('\n'));
+    }
+
+}
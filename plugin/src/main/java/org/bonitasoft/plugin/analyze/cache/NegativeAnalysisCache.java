@@ -0,0 +1,313 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.Digests;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers the artifacts without any Bonita content, so that ordinary libraries are skipped without being opened
+ * nor looked up in another cache. Only the artifacts without any entry interesting the handlers are remembered: an
+ * artifact whose descriptors were analyzed without result is delegated to another cache, as any other report.
+ * <p>Artifacts are identified by the SHA-1 digest of their content. The digests are stored sorted in a single binary
+ * file per analyzer version, which is loaded once and searched by dichotomy. Other artifacts are delegated to another
+ * cache.</p>
+ * <p>Hashing an artifact reads its whole content, while its analysis only reads its central directory, so the digest
+ * of an artifact is stored with a cheap fingerprint of its file: canonical path, size and last modification time. An
+ * artifact is hashed again only when its fingerprint changes.</p>
+ */
+public class NegativeAnalysisCache implements AnalysisCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NegativeAnalysisCache.class);
+
+    /** To increment whenever the file format or the identification of the artifacts changes. */
+    static final int FORMAT_VERSION = 3;
+
+    static final int DIGEST_LENGTH = 20;
+
+    private static final HexFormat HEX_FORMAT = HexFormat.of();
+
+    /**
+     * Identifies the content of an artifact file without reading it.
+     */
+    record Fingerprint(String path, long size, long lastModified) {
+
+        static Fingerprint of(Path file) throws IOException {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Fingerprint(file.toRealPath().toString(), attributes.size(),
+                    attributes.lastModifiedTime().toMillis());
+        }
+    }
+
+    private final Path file;
+    private final Path fingerprintsFile;
+    private final AnalysisCache delegate;
+    /** Digests stored by the previous builds, sorted, loaded on first lookup. */
+    private byte[] storedDigests;
+    /** Digests of the artifacts found without content during this build. */
+    private final Set<String> newDigests = ConcurrentHashMap.newKeySet();
+    /** Digests computed by the previous builds, by fingerprint, loaded on first lookup. */
+    private Map<Fingerprint, String> storedFingerprints;
+    /** Digests computed during this build, by fingerprint. */
+    private final Map<Fingerprint, String> newFingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory the cache directory, created when storing the first digests
+     * @param analyzerVersion the version of the analyzer, digests stored by another version are ignored
+     * @param delegate the cache for the artifacts with some Bonita content
+     */
+    public NegativeAnalysisCache(Path directory, String analyzerVersion, AnalysisCache delegate) {
+        this.file = directory.resolve("no-content-" + FORMAT_VERSION + "-" + analyzerVersion + ".bin");
+        // digests do not depend on the analyzer version
+        this.fingerprintsFile = directory.resolve("fingerprints-" + FORMAT_VERSION + ".txt");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Optional<DependencyReport> get(Artifact artifact) {
+        if (!isCacheable(artifact)) {
+            return delegate.get(artifact);
+        }
+        var digest = digest(artifact);
+        if (digest.isPresent() && (newDigests.contains(digest.get())
+                || contains(getStoredDigests(), HEX_FORMAT.parseHex(digest.get())))) {
+            return Optional.of(new DependencyReport());
+        }
+        return delegate.get(artifact);
+    }
+
+    @Override
+    public void put(Artifact artifact, DependencyReport partialReport) {
+        // handlers ran on the artifact content, finding nothing this time is not a lasting property of the artifact
+        delegate.put(artifact, partialReport);
+    }
+
+    @Override
+    public void putWithoutContent(Artifact artifact) {
+        if (!isCacheable(artifact)) {
+            delegate.putWithoutContent(artifact);
+            return;
+        }
+        var digest = digest(artifact);
+        if (digest.isPresent()) {
+            newDigests.add(digest.get());
+        } else {
+            delegate.putWithoutContent(artifact);
+        }
+    }
+
+    /**
+     * Merge the digests found during this build with the stored ones, including the digests stored by concurrent
+     * builds meanwhile.
+     */
+    @Override
+    public void flush() {
+        delegate.flush();
+        flushFingerprints();
+        if (newDigests.isEmpty()) {
+            return;
+        }
+        try {
+            var merged = new TreeSet<>(newDigests);
+            var stored = readDigests(file);
+            for (int offset = 0; offset < stored.length; offset += DIGEST_LENGTH) {
+                merged.add(HEX_FORMAT.formatHex(stored, offset, offset + DIGEST_LENGTH));
+            }
+            // lower case hexadecimal order is the unsigned byte order
+            var content = new byte[merged.size() * DIGEST_LENGTH];
+            int offset = 0;
+            for (var digest : merged) {
+                System.arraycopy(HEX_FORMAT.parseHex(digest), 0, content, offset, DIGEST_LENGTH);
+                offset += DIGEST_LENGTH;
+            }
+            FileAnalysisCache.write(file, content);
+            newDigests.clear();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the artifacts without Bonita content in cache {}", file, e);
+        }
+    }
+
+    /**
+     * Merge the digests computed during this build with the stored ones, keeping a single fingerprint per path.
+     */
+    private void flushFingerprints() {
+        if (newFingerprints.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, String> linesByPath = new TreeMap<>();
+            readFingerprints(fingerprintsFile).forEach((fingerprint, digest) -> linesByPath.put(fingerprint.path(),
+                    toLine(fingerprint, digest)));
+            newFingerprints.forEach((fingerprint, digest) -> linesByPath.put(fingerprint.path(),
+                    toLine(fingerprint, digest)));
+            FileAnalysisCache.write(fingerprintsFile,
+                    String.join("\n", linesByPath.values()).getBytes(StandardCharsets.UTF_8));
+            newFingerprints.clear();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to store the artifacts digests in cache {}", fingerprintsFile, e);
+        }
+    }
+
+    private static String toLine(Fingerprint fingerprint, String digest) {
+        return String.format("%s %s %s %s", digest, fingerprint.size(), fingerprint.lastModified(),
+                fingerprint.path());
+    }
+
+    private synchronized Map<Fingerprint, String> getStoredFingerprints() {
+        if (storedFingerprints == null) {
+            try {
+                storedFingerprints = readFingerprints(fingerprintsFile);
+            } catch (IOException e) {
+                LOGGER.debug("Ignoring unreadable analysis cache file {}", fingerprintsFile, e);
+                storedFingerprints = Map.of();
+            }
+        }
+        return storedFingerprints;
+    }
+
+    /**
+     * Read the stored digests, one per line, followed by the fingerprint of the file: size, last modification time
+     * and path. Malformed lines are ignored.
+     * 
+     * @param fingerprintsFile the file to read
+     * @return the digests by fingerprint
+     * @throws IOException exception reading the file
+     */
+    static Map<Fingerprint, String> readFingerprints(Path fingerprintsFile) throws IOException {
+        if (!Files.isRegularFile(fingerprintsFile)) {
+            return Map.of();
+        }
+        Map<Fingerprint, String> digestsByFingerprint = new HashMap<>();
+        for (var line : Files.readAllLines(fingerprintsFile, StandardCharsets.UTF_8)) {
+            var fields = line.split(" ", 4);
+            if (fields.length == 4 && isDigest(fields[0])) {
+                try {
+                    digestsByFingerprint.put(
+                            new Fingerprint(fields[3], Long.parseLong(fields[1]), Long.parseLong(fields[2])),
+                            fields[0]);
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Ignoring malformed line of analysis cache file {}: {}", fingerprintsFile, line);
+                }
+            }
+        }
+        return digestsByFingerprint;
+    }
+
+    private static boolean isDigest(String value) {
+        return value.length() == DIGEST_LENGTH * 2 && value.chars().allMatch(HexFormat::isHexDigit);
+    }
+
+    private static boolean isCacheable(Artifact artifact) {
+        return artifact.getFile() != null && artifact.getFile().isFile();
+    }
+
+    private synchronized byte[] getStoredDigests() {
+        if (storedDigests == null) {
+            try {
+                storedDigests = readDigests(file);
+            } catch (IOException e) {
+                LOGGER.debug("Ignoring unreadable analysis cache file {}", file, e);
+                storedDigests = new byte[0];
+            }
+        }
+        return storedDigests;
+    }
+
+    private static byte[] readDigests(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return new byte[0];
+        }
+        var content = Files.readAllBytes(file);
+        if (content.length % DIGEST_LENGTH != 0) {
+            throw new IOException("Truncated digests file " + file);
+        }
+        return content;
+    }
+
+    /**
+     * Search a digest in the sorted digests.
+     * 
+     * @param sortedDigests the concatenated digests, sorted in unsigned byte order
+     * @param digest the digest to search
+     * @return true when the digest is found
+     */
+    static boolean contains(byte[] sortedDigests, byte[] digest) {
+        int low = 0;
+        int high = sortedDigests.length / DIGEST_LENGTH - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int from = middle * DIGEST_LENGTH;
+            int comparison = Arrays.compareUnsigned(sortedDigests, from, from + DIGEST_LENGTH, digest, 0,
+                    DIGEST_LENGTH);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get the SHA-1 digest of the artifact content, computed only when the artifact file fingerprint is unknown.
+     * 
+     * @param artifact the artifact to identify
+     * @return the lower case hexadecimal digest, empty when the artifact cannot be read
+     */
+    private Optional<String> digest(Artifact artifact) {
+        var artifactFile = artifact.getFile().toPath();
+        try {
+            var fingerprint = Fingerprint.of(artifactFile);
+            var digest = newFingerprints.get(fingerprint);
+            if (digest == null) {
+                digest = getStoredFingerprints().get(fingerprint);
+            }
+            if (digest == null) {
+                digest = Digests.sha1(artifactFile);
+                // the file may have been replaced while it was hashed
+                if (fingerprint.equals(Fingerprint.of(artifactFile))) {
+                    newFingerprints.put(fingerprint, digest);
+                }
+            }
+            return Optional.of(digest);
+        } catch (IOException e) {
+            LOGGER.debug("Failed to identify {} for the analysis cache", artifact.getId(), e);
+            return Optional.empty();
+        }
+    }
+
+}
@@ -20,19 +20,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
 import javax.inject.Named;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.plugin.analyze.ConnectorResolver;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
 import org.bonitasoft.plugin.analyze.report.model.ActorFilterImplementation;
 import org.bonitasoft.plugin.analyze.report.model.ConnectorImplementation;
 import org.bonitasoft.plugin.analyze.report.model.Definition;
@@ -43,10 +48,6 @@ import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
 import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 
 @Named
 public class ConnectorResolverImpl implements ConnectorResolver {
@@ -58,6 +59,9 @@ public class ConnectorResolverImpl implements ConnectorResolver {
 
     private static final Set<String> FILTER_TYPES = Set.of(FILTER_TYPE, ABSTRACT_FILTER_TYPE);
     private static final Set<String> CONNECTOR_TYPES = Set.of(CONNECTOR_TYPE, ABSTRACT_CONNECTOR_TYPE);
+    /** The hierarchy above these types is not needed to classify an implementation. */
+    private static final Set<String> CLASSIFICATION_TYPES = Set.of(CONNECTOR_TYPE, ABSTRACT_CONNECTOR_TYPE,
+            FILTER_TYPE, ABSTRACT_FILTER_TYPE);
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ConnectorResolverImpl.class);
 
@@ -69,42 +73,77 @@ public class ConnectorResolverImpl implements ConnectorResolver {
 
     private static final String DEFINITION_NS = "http://www.bonitasoft.org/ns/connector/definition/6.1";
 
-    private static String readElement(Document document, String elementName) {
-        String textContent = document.getElementsByTagName(elementName).item(0).getTextContent();
-        if (textContent != null) {
-            textContent = textContent.trim();
+    /** The elements read from an implementation descriptor. */
+    private static final Set<String> IMPLEMENTATION_ELEMENTS = Set.of("implementationClassname", "implementationId",
+            "implementationVersion", "definitionId", "definitionVersion");
+
+    /** The elements read from a definition descriptor. */
+    private static final Set<String> DEFINITION_ELEMENTS = Set.of("id", "version");
+
+    /** Shared between all the analysis threads, as a configured factory is thread-safe. */
+    private static final XMLInputFactory XML_INPUT_FACTORY = newXMLInputFactory();
+
+    private static XMLInputFactory newXMLInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        return factory;
+    }
+
+    /**
+     * The elements read from a connector descriptor.
+     * 
+     * @param path the descriptor path in the artifact
+     * @param elements the trimmed text of the first element with each name
+     */
+    static record DescriptorResource(String path, Map<String, String> elements) {
+
+        String readElement(String elementName) {
+            return elements.get(elementName);
         }
-        return textContent;
     }
 
     @Override
     public List<Implementation> findAllImplementations(Artifact artifact, ArtifactContentReader reader,
             Issue.Collector issueCollector)
             throws IOException {
-        return findImplementationDescriptors(artifact, reader, issueCollector)
+        return toImplementations(artifact, reader, findImplementationDescriptors(artifact, reader, issueCollector),
+                issueCollector);
+    }
+
+    @Override
+    public List<Implementation> findAllImplementations(Artifact artifact, List<Entry> entries,
+            ArtifactContentReader reader, Issue.Collector issueCollector) {
+        return toImplementations(artifact, reader, getDescriptorResources(artifact, entries, IMPLEMENTATION_EXTENSION,
+                IMPLEMENTATION_NS, IMPLEMENTATION_ELEMENTS, issueCollector), issueCollector);
+    }
+
+    private List<Implementation> toImplementations(Artifact artifact, ArtifactContentReader reader,
+            List<DescriptorResource> descriptors, Issue.Collector issueCollector) {
+        return descriptors
                 .stream()
                 .map(resource -> {
-                    Document document = resource.getDocument();
-                    String className = readElement(document, "implementationClassname");
+                    String className = resource.readElement("implementationClassname");
 
-                    String implementationId = readElement(document, "implementationId");
-                    String implementationVersion = readElement(document, "implementationVersion");
-                    String definitionId = readElement(document, "definitionId");
-                    String definitionVersion = readElement(document, "definitionVersion");
+                    String implementationId = resource.readElement("implementationId");
+                    String implementationVersion = resource.readElement("implementationVersion");
+                    String definitionId = resource.readElement("definitionId");
+                    String definitionVersion = resource.readElement("definitionVersion");
                     Set<String> hierarchy = detectImplementationHierarchy(className, artifact, reader,
-                            resource.getPath(), issueCollector);
+                            resource.path(), issueCollector);
                     if (!Collections.disjoint(hierarchy, CONNECTOR_TYPES)) {
                         return ConnectorImplementation.create(className,
                                 new DescriptorIdentifier(definitionId, definitionVersion),
                                 new DescriptorIdentifier(implementationId, implementationVersion),
                                 create(artifact),
-                                resource.getPath());
+                                resource.path());
                     } else if (!Collections.disjoint(hierarchy, FILTER_TYPES)) {
                         return ActorFilterImplementation.create(className,
                                 new DescriptorIdentifier(definitionId, definitionVersion),
                                 new DescriptorIdentifier(implementationId, implementationVersion),
                                 create(artifact),
-                                resource.getPath());
+                                resource.path());
                     } else {
                         return null;
                     }
@@ -123,62 +162,87 @@ public class ConnectorResolverImpl implements ConnectorResolver {
     @Override
     public List<Definition> findAllDefinitions(Artifact artifact, ArtifactContentReader reader,
             Issue.Collector issueCollector) throws IOException {
-        return findDefinitionDescriptors(artifact, reader, issueCollector)
+        return toDefinitions(artifact, findDefinitionDescriptors(artifact, reader, issueCollector));
+    }
+
+    @Override
+    public List<Definition> findAllDefinitions(Artifact artifact, List<Entry> entries,
+            Issue.Collector issueCollector) {
+        return toDefinitions(artifact, getDescriptorResources(artifact, entries, DEFINITION_EXTENSION, DEFINITION_NS,
+                DEFINITION_ELEMENTS, issueCollector));
+    }
+
+    private static List<Definition> toDefinitions(Artifact artifact, List<DescriptorResource> descriptors) {
+        return descriptors
                 .stream()
                 .map(resource -> {
-                    Document document = resource.getDocument();
-                    String definitionId = readElement(document, "id");
-                    String definitionVersion = readElement(document, "version");
+                    String definitionId = resource.readElement("id");
+                    String definitionVersion = resource.readElement("version");
                     return Definition.create(new DescriptorIdentifier(definitionId, definitionVersion),
                             create(artifact),
-                            resource.getPath());
+                            resource.path());
                 }).toList();
     }
 
-    private List<DocumentResource> findImplementationDescriptors(Artifact artifact, ArtifactContentReader reader,
+    private List<DescriptorResource> findImplementationDescriptors(Artifact artifact, ArtifactContentReader reader,
             Issue.Collector issueCollector)
             throws IOException {
-        return getDocumentResources(artifact, reader, IMPLEMENTATION_EXTENSION, IMPLEMENTATION_NS, issueCollector);
+        return getDescriptorResources(artifact, reader, IMPLEMENTATION_EXTENSION, IMPLEMENTATION_NS,
+                IMPLEMENTATION_ELEMENTS, issueCollector);
     }
 
-    private List<DocumentResource> findDefinitionDescriptors(Artifact artifact, ArtifactContentReader reader,
+    private List<DescriptorResource> findDefinitionDescriptors(Artifact artifact, ArtifactContentReader reader,
             Issue.Collector issueCollector)
             throws IOException {
-        return getDocumentResources(artifact, reader, DEFINITION_EXTENSION, DEFINITION_NS, issueCollector);
-    }
-
-    private List<DocumentResource> getDocumentResources(Artifact artifact, ArtifactContentReader reader,
-            String extension,
-            String namespace, Issue.Collector issueCollector) throws IOException {
-        List<DocumentResource> result = new ArrayList<>();
-        reader.readEntries(artifact, path -> path.getFileName().toString().endsWith(extension), entry -> {
-            try (InputStream is = entry.supplier().get()) {
-                var document = asXMLDocument(is, namespace);
-                if (document != null) {
-                    result.add(new DocumentResource(entry.path().toString(), document));
-                } else {
-                    issueCollector.addIssue(Issue.create(Type.INVALID_DESCRIPTOR_FILE,
-                            String.format("%s is not compliant with '%s' XML schema definition", entry.path(),
-                                    namespace),
-                            Severity.ERROR,
-                            artifact.getId()));
-                }
-            } catch (ParserConfigurationException e) {
-                LOGGER.error("Failed to parser connector descriptor", e);
-            } catch (SAXException e) {
+        return getDescriptorResources(artifact, reader, DEFINITION_EXTENSION, DEFINITION_NS, DEFINITION_ELEMENTS,
+                issueCollector);
+    }
+
+    private List<DescriptorResource> getDescriptorResources(Artifact artifact, ArtifactContentReader reader,
+            String extension, String namespace, Set<String> elementNames, Issue.Collector issueCollector)
+            throws IOException {
+        List<DescriptorResource> result = new ArrayList<>();
+        reader.readEntries(artifact, EntryInterest.suffix(extension),
+                entry -> addDescriptorResource(artifact, entry, namespace, elementNames, issueCollector, result));
+        return result;
+    }
+
+    private List<DescriptorResource> getDescriptorResources(Artifact artifact, List<Entry> entries,
+            String extension, String namespace, Set<String> elementNames, Issue.Collector issueCollector) {
+        List<DescriptorResource> result = new ArrayList<>();
+        entries.stream()
+                .filter(entry -> entry.path().getFileName().toString().endsWith(extension))
+                .forEach(entry -> addDescriptorResource(artifact, entry, namespace, elementNames, issueCollector,
+                        result));
+        return result;
+    }
+
+    private void addDescriptorResource(Artifact artifact, Entry entry, String namespace, Set<String> elementNames,
+            Issue.Collector issueCollector, List<DescriptorResource> result) {
+        try (InputStream is = entry.supplier().get()) {
+            var elements = readDescriptor(is, namespace, elementNames);
+            AnalysisMetrics.descriptorParsed();
+            if (elements != null) {
+                result.add(new DescriptorResource(entry.path().toString(), elements));
+            } else {
                 issueCollector.addIssue(Issue.create(Type.INVALID_DESCRIPTOR_FILE,
-                        String.format("%s is not a valid XML file: %s", entry.path(), e.toString()), Severity.ERROR,
+                        String.format("%s is not compliant with '%s' XML schema definition", entry.path(),
+                                namespace),
+                        Severity.ERROR,
                         artifact.getId()));
-            } catch (IOException e) {
-                LOGGER.error("Failed to read {} in {}.", entry.path(), artifact.getFile(), e);
             }
-        });
-        return result;
+        } catch (XMLStreamException e) {
+            issueCollector.addIssue(Issue.create(Type.INVALID_DESCRIPTOR_FILE,
+                    String.format("%s is not a valid XML file: %s", entry.path(), e.toString()), Severity.ERROR,
+                    artifact.getId()));
+        } catch (IOException e) {
+            LOGGER.error("Failed to read {} in {}.", entry.path(), artifact.getFile(), e);
+        }
     }
 
     private Set<String> detectImplementationHierarchy(String className, Artifact artifact, ArtifactContentReader reader,
             String resourcePath, Issue.Collector issueCollector) {
-        return reader.detectImplementationHierarchy(className, artifact, e -> {
+        return reader.detectImplementationHierarchy(className, artifact, CLASSIFICATION_TYPES, e -> {
             LOGGER.error("Failed to load class {} from jar {}", className, artifact.getFile(), e);
             issueCollector.addIssue(Issue.create(Type.INVALID_DESCRIPTOR_FILE,
                     String.format("%s declares an unknown 'implementationClassname': %s", resourcePath, className),
@@ -186,43 +250,71 @@ public class ConnectorResolverImpl implements ConnectorResolver {
         });
     }
 
-    private Document asXMLDocument(InputStream source, String namespace)
-            throws ParserConfigurationException, SAXException, IOException {
-        if (source != null) {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-            factory.setAttribute(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new InputSource(source));
-            Node firstChild = document.getFirstChild();
-            String namespaceURI = firstChild.getNamespaceURI();
-            if (namespace.equals(namespaceURI)) {
-                return document;
+    /**
+     * Read the needed elements of a descriptor in a single streaming pass.
+     * <p>The document is read to its end, so that a malformed descriptor is still reported.</p>
+     * 
+     * @param source the descriptor content
+     * @param namespace the expected namespace of the root element
+     * @param elementNames the names of the elements to read
+     * @return the trimmed text of the first element with each name, null when the descriptor does not have the
+     *         expected namespace or misses an element
+     * @throws XMLStreamException when the descriptor is not a valid XML document
+     */
+    private static Map<String, String> readDescriptor(InputStream source, String namespace,
+            Set<String> elementNames) throws XMLStreamException {
+        if (source == null) {
+            return null;
+        }
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(source);
+        try {
+            Map<String, String> elements = new HashMap<>();
+            boolean rootElement = true;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (rootElement) {
+                    if (!namespace.equals(reader.getNamespaceURI())) {
+                        return null;
+                    }
+                    rootElement = false;
+                } else {
+                    var elementName = qualifiedName(reader);
+                    if (elementNames.contains(elementName) && !elements.containsKey(elementName)) {
+                        elements.put(elementName, readText(reader));
+                    }
+                }
             }
+            return elements.keySet().containsAll(elementNames) ? elements : null;
+        } finally {
+            reader.close();
         }
-        return null;
     }
 
-    public static class DocumentResource {
-
-        private final String path;
-
-        private final Document document;
-
-        public DocumentResource(String path, Document document) {
-            this.path = path;
-            this.document = document;
-        }
-
-        public String getPath() {
-            return path;
-        }
+    private static String qualifiedName(XMLStreamReader reader) {
+        var prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
 
-        public Document getDocument() {
-            return document;
+    /**
+     * Read the text content of the current element, including its descendants, like the DOM text content.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        var text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+            }
         }
-
+        return text.toString().trim();
     }
 
 }
@@ -0,0 +1,177 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
+
+import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.analyze.content.ArtifactIndex.IndexedEntry;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
+
+/**
+ * Reads the content of an archive file (JAR or ZIP) using an {@link ArtifactIndex}.
+ * <p>The index of an archive is shared by every call on the same reader instance, so that several handlers analyzing
+ * the same artifact list its entries only once. The archive itself is opened only when an entry must be read.</p>
+ */
+public abstract class ArchiveArtifactContentReader implements ArtifactContentReader {
+
+    /**
+     * Handlers analyze an artifact one after the other, so only the indexes of the artifacts being analyzed need to
+     * be kept. The bound keeps memory low on projects with many dependencies.
+     */
+    private static final int MAX_CACHED_INDEXES = 64;
+
+    private final Map<File, ArtifactIndex> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, ArtifactIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    /**
+     * Open the archive file to read the entries content.
+     * 
+     * @param file the archive file
+     * @return the opened archive
+     * @throws IOException exception opening the archive
+     */
+    protected abstract ZipFile openArchive(File file) throws IOException;
+
+    /**
+     * Reads the content of the entries of an opened archive.
+     */
+    protected interface ArchiveEntryReader extends Closeable {
+
+        /**
+         * Open the content of an indexed entry.
+         * 
+         * @param indexedEntry the entry to read
+         * @return the entry content
+         * @throws IOException exception reading the entry
+         */
+        InputStream getInputStream(IndexedEntry indexedEntry) throws IOException;
+    }
+
+    /**
+     * Open the archive file to read the entries content.
+     * <p>By default, the archive is opened with {@link #openArchive(File)}.</p>
+     * 
+     * @param file the archive file
+     * @param index the index of the archive
+     * @return the reader of the entries content
+     * @throws IOException exception opening the archive
+     */
+    protected ArchiveEntryReader openEntryReader(File file, ArtifactIndex index) throws IOException {
+        ZipFile archive = openArchive(file);
+        return new ArchiveEntryReader() {
+
+            @Override
+            public InputStream getInputStream(IndexedEntry indexedEntry) throws IOException {
+                var zipEntry = archive.getEntry(indexedEntry.name());
+                if (zipEntry == null) {
+                    throw new IOException("Entry " + indexedEntry.name() + " no longer exists");
+                }
+                return archive.getInputStream(zipEntry);
+            }
+
+            @Override
+            public void close() throws IOException {
+                archive.close();
+            }
+        };
+    }
+
+    /**
+     * Get the index of the artifact archive, building it on first access.
+     * 
+     * @param artifact the artifact to index (with adequate file type)
+     * @return the artifact index
+     * @throws IOException exception reading the archive
+     */
+    public ArtifactIndex getIndex(Artifact artifact) throws IOException {
+        var file = artifact.getFile().getAbsoluteFile();
+        ArtifactIndex index;
+        synchronized (indexes) {
+            index = indexes.get(file);
+        }
+        if (index == null || index.isStale()) {
+            // build outside of the lock, so that parallel analyses of different artifacts do not wait for each other
+            index = ArtifactIndex.of(file);
+            synchronized (indexes) {
+                indexes.put(file, index);
+            }
+        }
+        return index;
+    }
+
+    @Override
+    public <T> Optional<T> readFirstEntry(Artifact artifact, Predicate<Path> predicateOnPath, Function<Entry, T> reader)
+            throws IOException {
+        var index = getIndex(artifact);
+        var indexedEntry = index.findFirst(AnalysisMetrics.countScannedEntries(predicateOnPath));
+        if (indexedEntry.isEmpty()) {
+            return Optional.empty();
+        }
+        var file = artifact.getFile();
+        try (var archive = openEntryReader(file, index)) {
+            return indexedEntry.map(entry -> reader.apply(makeEntry(file, archive, entry)));
+        }
+    }
+
+    @Override
+    public <R, A> R readEntries(Artifact artifact, Predicate<Path> predicateOnPath, Collector<Entry, A, R> reader)
+            throws IOException {
+        var index = getIndex(artifact);
+        List<IndexedEntry> indexedEntries = index.filter(AnalysisMetrics.countScannedEntries(predicateOnPath))
+                .toList();
+        if (indexedEntries.isEmpty()) {
+            return Stream.<Entry> empty().collect(reader);
+        }
+        var file = artifact.getFile();
+        try (var archive = openEntryReader(file, index)) {
+            return indexedEntries.stream().map(entry -> makeEntry(file, archive, entry)).collect(reader);
+        }
+    }
+
+    private Entry makeEntry(File file, ArchiveEntryReader archive, IndexedEntry indexedEntry) {
+        return new Entry(indexedEntry.path(), () -> {
+            try {
+                return AnalysisMetrics.countInflatedBytes(archive.getInputStream(indexedEntry));
+            } catch (IOException e) {
+                logIOException(e, file, indexedEntry.path());
+                return null;
+            }
+        });
+    }
+
+}
@@ -16,10 +16,14 @@
  */
 package org.bonitasoft.plugin.analyze.content;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -27,6 +31,7 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 import org.apache.maven.artifact.Artifact;
 import org.slf4j.LoggerFactory;
@@ -212,6 +217,37 @@ public interface ArtifactContentReader {
         readEntries(artifact, predicateOnPath, collector);
     }
 
+    /**
+     * Read the (compiled) content of all the artifact entries matching some interests, in a single traversal of the
+     * artifact.
+     * <p>Entries content is loaded in memory, so unlike the other read methods, the returned entries can still be read
+     * (several times) once the artifact resource is closed. Entries which cannot be read are logged and skipped.</p>
+     * 
+     * @param artifact the artifact to read (with adequate file type)
+     * @param interests the interests in the artifact entries
+     * @return the matching entries, in the artifact order
+     * @throws IOException exception reading artifact content
+     */
+    default List<Entry> readInterestingEntries(Artifact artifact, Collection<EntryInterest> interests)
+            throws IOException {
+        if (interests.isEmpty()) {
+            return List.of();
+        }
+        return readEntries(artifact, EntryInterest.anyOf(interests), Collectors.mapping(entry -> {
+            try (var is = entry.supplier().get()) {
+                if (is == null) {
+                    // an error probably occurred and has been logged
+                    return null;
+                }
+                byte[] content = is.readAllBytes();
+                return new Entry(entry.path(), () -> new ByteArrayInputStream(content));
+            } catch (IOException e) {
+                logIOException(e, artifact.getFile(), entry.path());
+                return null;
+            }
+        }, Collectors.filtering(Objects::nonNull, Collectors.toList())));
+    }
+
     /**
      * Log an IOException when reading the artifact content.
      * 
@@ -242,4 +278,21 @@ public interface ArtifactContentReader {
     public Set<String> detectImplementationHierarchy(String className, Artifact artifact,
             Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException;
 
+    /**
+     * Detect the implementation hierarchy of a java class in the artifact, stopping at some known types.
+     * <p>Implementations may skip resolving the super types of a stop type, which is enough to classify an
+     * implementation. By default, the whole hierarchy is detected.</p>
+     * 
+     * @param className the name of the class to analyze
+     * @param artifact the artifact to read (with adequate file type)
+     * @param stopTypes the types whose own super types are not needed
+     * @param exceptionHandler handles any ClassNotFoundException while loading classes
+     * @return set of class names in the implementation's parent hierarchy
+     * @throws UnsupportedOperationException when the implementation does not support this method
+     */
+    default Set<String> detectImplementationHierarchy(String className, Artifact artifact, Set<String> stopTypes,
+            Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
+        return detectImplementationHierarchy(className, artifact, exceptionHandler);
+    }
+
 }
@@ -0,0 +1,170 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Lists the entries of an archive file (JAR or ZIP).
+ * <p>The central directory is read once when building the index, so that looking for entries does not require to
+ * open the archive again. The archive only needs to be opened to read the content of a matching entry.</p>
+ * <p>The central directory is read from a memory mapping of the archive, where entries are matched on their raw name
+ * by {@link EntryInterest}s: only the matching entries have their name decoded and their path built.
+ * {@link ZipFile} is only used for the archives which are not supported by {@link ZipCentralDirectory}.</p>
+ */
+public class ArtifactIndex {
+
+    /**
+     * An entry listed in the archive.
+     * <p>Path is relative to the archive root, name is the raw entry name in the archive.</p>
+     */
+    public static record IndexedEntry(Path path, String name) {
+    }
+
+    private final File file;
+    private final long length;
+    private final long lastModified;
+    private final ZipCentralDirectory centralDirectory;
+
+    /** All the entries, listed on first access when the archive has a central directory. */
+    private List<IndexedEntry> entries;
+    private Map<String, IndexedEntry> entriesByName;
+
+    private ArtifactIndex(File file, long length, long lastModified, ZipCentralDirectory centralDirectory,
+            List<IndexedEntry> entries) {
+        this.file = file;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.centralDirectory = centralDirectory;
+        this.entries = entries;
+        if (entries != null) {
+            this.entriesByName = new HashMap<>(entries.size() * 4 / 3 + 1);
+            // keep the first entry when an archive (wrongly) contains duplicated names, as ZipFile#getEntry does
+            entries.forEach(entry -> entriesByName.putIfAbsent(entry.name(), entry));
+        }
+    }
+
+    /**
+     * Build the index of an archive file, reading its central directory.
+     * 
+     * @param file the archive file
+     * @return the archive index
+     * @throws IOException exception reading the archive
+     */
+    public static ArtifactIndex of(File file) throws IOException {
+        var length = file.length();
+        var lastModified = file.lastModified();
+        try {
+            return new ArtifactIndex(file, length, lastModified, ZipCentralDirectory.read(file), null);
+        } catch (ZipException e) {
+            // e.g. a ZIP64 archive
+            List<IndexedEntry> entries = new ArrayList<>();
+            try (ZipFile zipFile = new ZipFile(file)) {
+                zipFile.stream().forEach(zipEntry -> entries.add(new IndexedEntry(Path.of(zipEntry.getName()),
+                        zipEntry.getName())));
+            }
+            return new ArtifactIndex(file, length, lastModified, null, Collections.unmodifiableList(entries));
+        }
+    }
+
+    /**
+     * Get the central directory of the archive, to read the entries content without opening a {@link ZipFile}.
+     * 
+     * @return the central directory, empty when the archive is not supported by {@link ZipCentralDirectory}
+     */
+    public Optional<ZipCentralDirectory> getCentralDirectory() {
+        return Optional.ofNullable(centralDirectory);
+    }
+
+    /**
+     * Test whether the archive file changed on disk since this index was built.
+     * 
+     * @return true when the index no longer reflects the archive content
+     */
+    public boolean isStale() {
+        return file.length() != length || file.lastModified() != lastModified;
+    }
+
+    /**
+     * Get all the entries of the archive.
+     * <p>The name of every entry is decoded, prefer {@link #filter(Predicate)} with an {@link EntryInterest}.</p>
+     * 
+     * @return all entries of the archive, in the central directory order
+     */
+    public synchronized List<IndexedEntry> getEntries() {
+        if (entries == null) {
+            entries = centralDirectory.getEntries().stream().map(ArtifactIndex::toIndexedEntry).toList();
+        }
+        return entries;
+    }
+
+    /**
+     * Get an entry by its raw name, without scanning all entries.
+     * 
+     * @param name the raw entry name in the archive (e.g. <code>org/acme/MyClass.class</code>)
+     * @return the entry, empty when there is no entry with this name
+     */
+    public Optional<IndexedEntry> getEntry(String name) {
+        if (centralDirectory != null) {
+            return centralDirectory.getEntry(name).map(ArtifactIndex::toIndexedEntry);
+        }
+        return Optional.ofNullable(entriesByName.get(name));
+    }
+
+    /**
+     * Find the first entry satisfying the predicate.
+     * 
+     * @param predicateOnPath the predicate testing on entry path
+     * @return the first valid entry, empty when no valid entry was found
+     */
+    public Optional<IndexedEntry> findFirst(Predicate<Path> predicateOnPath) {
+        return filter(predicateOnPath).findFirst();
+    }
+
+    /**
+     * Filter the entries satisfying the predicate.
+     * <p>An {@link EntryInterest} is tested on the raw entry names, so that only the matching entries have their
+     * path built.</p>
+     * 
+     * @param predicateOnPath the predicate testing on entry path
+     * @return the valid entries, in the central directory order
+     */
+    public Stream<IndexedEntry> filter(Predicate<Path> predicateOnPath) {
+        if (centralDirectory != null && predicateOnPath instanceof EntryInterest interest) {
+            return centralDirectory.filter(interest).map(ArtifactIndex::toIndexedEntry)
+                    .filter(entry -> interest.testMatchingName(entry.path()));
+        }
+        return getEntries().stream().filter(entry -> predicateOnPath.test(entry.path()));
+    }
+
+    private static IndexedEntry toIndexedEntry(ZipCentralDirectory.CentralEntry centralEntry) {
+        return new IndexedEntry(Path.of(centralEntry.name()), centralEntry.name());
+    }
+
+}
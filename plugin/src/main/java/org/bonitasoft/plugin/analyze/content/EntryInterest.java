@@ -0,0 +1,211 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Describes the artifact content entries a handler is interested in.
+ * <p>Interests are declared up front, so that the entries interesting any handler are read in a single traversal
+ * of the artifact content.</p>
+ * <p>An interest can also be tested on the raw (UTF-8) name of an archive entry, so that archive entries are matched
+ * without decoding their name. The raw name test accepts at least all the entries whose path matches, the path of the
+ * accepted entries is tested afterwards.</p>
+ */
+public final class EntryInterest implements Predicate<Path> {
+
+    /**
+     * Tests the raw name of an archive entry.
+     */
+    @FunctionalInterface
+    interface NameMatcher {
+
+        /**
+         * @param buffer the buffer holding the entry name
+         * @param offset the position of the name in the buffer
+         * @param length the name length, in bytes
+         * @return false when the entry does not match for sure
+         */
+        boolean matches(ByteBuffer buffer, int offset, int length);
+    }
+
+    private static final NameMatcher ANY_NAME = (buffer, offset, length) -> true;
+
+    private static final Runnable NOTHING = () -> {
+    };
+
+    private final String description;
+    private final Predicate<Path> predicateOnPath;
+    private final NameMatcher nameMatcher;
+    private final Runnable onEachTest;
+
+    private EntryInterest(String description, Predicate<Path> predicateOnPath, NameMatcher nameMatcher,
+            Runnable onEachTest) {
+        this.description = description;
+        this.predicateOnPath = predicateOnPath;
+        this.nameMatcher = nameMatcher;
+        this.onEachTest = onEachTest;
+    }
+
+    private EntryInterest(String description, Predicate<Path> predicateOnPath, NameMatcher nameMatcher) {
+        this(description, predicateOnPath, nameMatcher, NOTHING);
+    }
+
+    /**
+     * Interest in the entries whose file name ends with a suffix.
+     * 
+     * @param suffix the file name suffix, such as an extension with its leading dot
+     * @return the entry interest
+     */
+    public static EntryInterest suffix(String suffix) {
+        var suffixBytes = suffix.getBytes(StandardCharsets.UTF_8);
+        return new EntryInterest("suffix " + suffix, path -> path.getFileName().toString().endsWith(suffix),
+                (buffer, offset, length) -> {
+                    var end = trimTrailingSeparators(buffer, offset, length);
+                    return end >= suffixBytes.length
+                            && regionMatches(buffer, offset + end - suffixBytes.length, suffixBytes);
+                });
+    }
+
+    /**
+     * Interest in the entries with a file name, in any folder.
+     * 
+     * @param fileName the entry file name
+     * @return the entry interest
+     */
+    public static EntryInterest fileName(String fileName) {
+        var fileNameBytes = fileName.getBytes(StandardCharsets.UTF_8);
+        return new EntryInterest("file name " + fileName, path -> path.getFileName().toString().equals(fileName),
+                (buffer, offset, length) -> {
+                    var start = trimTrailingSeparators(buffer, offset, length) - fileNameBytes.length;
+                    return start >= 0 && (start == 0 || isSeparator(buffer.get(offset + start - 1)))
+                            && regionMatches(buffer, offset + start, fileNameBytes);
+                });
+    }
+
+    /**
+     * Interest in the entries whose relative path matches a glob pattern, such as <code>applications/*.xml</code>.
+     * <p>Raw names are matched on the literal prefix of the pattern, such as <code>applications/</code>.</p>
+     * 
+     * @param glob the glob pattern, as supported by {@link java.nio.file.FileSystem#getPathMatcher(String)}
+     * @return the entry interest
+     */
+    public static EntryInterest glob(String glob) {
+        var matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        var prefixBytes = literalPrefix(glob).getBytes(StandardCharsets.UTF_8);
+        return new EntryInterest("glob " + glob, matcher::matches,
+                (buffer, offset, length) -> length >= prefixBytes.length
+                        && regionMatches(buffer, offset, prefixBytes));
+    }
+
+    /**
+     * Combine several interests.
+     * 
+     * @param interests the interests to combine
+     * @return the interest in the entries matching any of the interests
+     */
+    public static EntryInterest anyOf(Collection<EntryInterest> interests) {
+        var copy = List.copyOf(interests);
+        return new EntryInterest(copy.toString(), path -> copy.stream().anyMatch(interest -> interest.test(path)),
+                (buffer, offset, length) -> copy.stream()
+                        .anyMatch(interest -> interest.nameMatcher.matches(buffer, offset, length)));
+    }
+
+    /**
+     * Get this interest notifying each entry it tests, for instance to count the scanned entries.
+     * <p>An entry tested on its raw name is notified once, its path being only tested when the raw name matches.</p>
+     * 
+     * @param onEachTest the action run on each tested entry
+     * @return the notifying interest
+     */
+    public EntryInterest peek(Runnable onEachTest) {
+        return new EntryInterest(description, predicateOnPath, nameMatcher, onEachTest);
+    }
+
+    @Override
+    public boolean test(Path path) {
+        onEachTest.run();
+        return predicateOnPath.test(path);
+    }
+
+    /**
+     * Test an archive entry on its raw name.
+     * 
+     * @param buffer the buffer holding the entry name
+     * @param offset the position of the name in the buffer
+     * @param length the name length, in bytes
+     * @return false when the entry does not match for sure, its path must be tested with
+     *         {@link #testMatchingName(Path)} otherwise
+     */
+    boolean matchesName(ByteBuffer buffer, int offset, int length) {
+        onEachTest.run();
+        return nameMatcher.matches(buffer, offset, length);
+    }
+
+    /**
+     * Test the path of an archive entry whose raw name matches.
+     * 
+     * @param path the entry path
+     * @return true when the entry matches
+     */
+    boolean testMatchingName(Path path) {
+        return predicateOnPath.test(path);
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == '/' || b == '\\';
+    }
+
+    /** Paths are normalized without their trailing separators. */
+    private static int trimTrailingSeparators(ByteBuffer buffer, int offset, int length) {
+        var end = length;
+        while (end > 0 && isSeparator(buffer.get(offset + end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean regionMatches(ByteBuffer buffer, int offset, byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String literalPrefix(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            if ("*?[{\\".indexOf(glob.charAt(i)) >= 0) {
+                return glob.substring(0, i);
+            }
+        }
+        return glob;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+
+}
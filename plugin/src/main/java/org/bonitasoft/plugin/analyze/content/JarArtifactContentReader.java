@@ -16,22 +16,21 @@
  */
 package org.bonitasoft.plugin.analyze.content;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.nio.file.Path;
+import java.io.InputStream;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import java.util.stream.Collector;
+import java.util.zip.ZipFile;
 
 import org.apache.maven.artifact.Artifact;
 import org.benf.cfr.reader.bytecode.analysis.types.JavaRefTypeInstance;
@@ -43,76 +42,103 @@ import org.benf.cfr.reader.util.AnalysisType;
 import org.benf.cfr.reader.util.getopt.GetOptSinkFactory;
 import org.benf.cfr.reader.util.getopt.Options;
 import org.benf.cfr.reader.util.getopt.OptionsImpl;
+import org.bonitasoft.plugin.analyze.cache.CacheableAnalysis;
+import org.bonitasoft.plugin.analyze.hierarchy.ClassHeader;
+import org.bonitasoft.plugin.analyze.hierarchy.ClassHeaderParser;
+import org.bonitasoft.plugin.analyze.hierarchy.ClassHeaderSource;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Reads the content of a JAR file.
- * <p>Java classes are loaded using the CFR library.</p>
+ * <p>Java class hierarchies are detected by reading the class files headers. The CFR library is used as a fallback
+ * when a class file can not be parsed.</p>
  */
-public class JarArtifactContentReader implements ArtifactContentReader {
+public class JarArtifactContentReader extends ArchiveArtifactContentReader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JarArtifactContentReader.class);
+
+    /**
+     * Class headers memoized per jar. Entries are released with the index of the jar.
+     */
+    private final Map<ArtifactIndex, TypeHierarchyResolver> resolvers = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Classes of the other jars of the analysis, to resolve super types packaged in another dependency.
+     */
+    private final TypeHierarchyIndex typeHierarchyIndex;
+
+    public JarArtifactContentReader() {
+        this(new TypeHierarchyIndex());
+    }
+
+    public JarArtifactContentReader(TypeHierarchyIndex typeHierarchyIndex) {
+        this.typeHierarchyIndex = typeHierarchyIndex;
+    }
 
     @Override
     public ArtifactFileType getArtifactFileType() {
         return ArtifactFileType.JAR;
     }
 
-    private Path toPath(JarEntry jarEntry) {
-        return Path.of(URI.create(jarEntry.getName()).toString());
-    }
-
     @Override
-    public <T> Optional<T> readFirstEntry(Artifact artifact, Predicate<Path> predicateOnPath, Function<Entry, T> reader)
-            throws IOException {
-        var file = artifact.getFile();
-        try (JarFile jarFile = new JarFile(file)) {
-            var jarEntriesStream = jarFile.stream()
-                    .filter(jarEntry -> predicateOnPath.test(toPath(jarEntry)));
-            return jarEntriesStream.findFirst().map(jarEntry -> {
-                Entry entry = makeEntry(file, jarFile, jarEntry);
-                return reader.apply(entry);
-            });
-        }
+    protected ZipFile openArchive(File file) throws IOException {
+        return new JarFile(file);
     }
 
     @Override
-    public <R, A> R readEntries(Artifact artifact, Predicate<Path> predicateOnPath, Collector<Entry, A, R> reader)
-            throws IOException {
-        var file = artifact.getFile();
-        try (JarFile jarFile = new JarFile(file)) {
-            var jarEntriesStream = jarFile.stream()
-                    .filter(jarEntry -> predicateOnPath.test(toPath(jarEntry)));
-            var entriesStream = jarEntriesStream.map(jarEntry -> makeEntry(file, jarFile, jarEntry));
-            return entriesStream.collect(reader);
-        }
+    public Set<String> detectImplementationHierarchy(String className, Artifact artifact,
+            Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
+        return detectImplementationHierarchy(className, artifact, Set.of(), exceptionHandler);
     }
 
     @Override
-    public void readEntries(Artifact artifact, Predicate<Path> predicateOnPath, Consumer<Entry> reader)
-            throws IOException {
-        var file = artifact.getFile();
-        try (JarFile jarFile = new JarFile(file)) {
-            var entriesStream = jarFile.stream()
-                    .filter(jarEntry -> predicateOnPath.test(toPath(jarEntry)));
-            entriesStream.forEach(jarEntry -> {
-                Entry entry = makeEntry(file, jarFile, jarEntry);
-                reader.accept(entry);
-            });
+    public Set<String> detectImplementationHierarchy(String className, Artifact artifact, Set<String> stopTypes,
+            Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
+        try {
+            var index = getIndex(artifact);
+            if (index.getEntry(ClassHeaderSource.toClassFilePath(className)).isEmpty()) {
+                // the implementation itself must be packaged in the jar
+                throw new ClassNotFoundException(className);
+            }
+            var resolver = resolvers.computeIfAbsent(index, i -> new TypeHierarchyResolver());
+            try (var source = new JarClassHeaderSource(artifact.getFile(), index)) {
+                var hierarchy = resolver.resolveHierarchy(className, source, stopTypes);
+                if (hierarchy.stream().anyMatch(type -> isLookedUpOutside(type, index, stopTypes))) {
+                    CacheableAnalysis.dependsOnOtherArtifacts();
+                }
+                return new HashSet<>(hierarchy);
+            }
+        } catch (ClassNotFoundException e) {
+            exceptionHandler.accept(e);
+            return new HashSet<>();
+        } catch (IOException e) {
+            LOGGER.debug("Failed to read class headers of {}, loading the jar with CFR instead", artifact.getFile(),
+                    e);
+            return detectImplementationHierarchyWithCfr(className, artifact, exceptionHandler);
         }
     }
 
-    private Entry makeEntry(File file, JarFile jarFile, JarEntry jarEntry) {
-        return new Entry(toPath(jarEntry), () -> {
-            try {
-                return jarFile.getInputStream(jarEntry);
-            } catch (IOException e) {
-                logIOException(e, file, toPath(jarEntry));
-                return null;
-            }
-        });
+    /**
+     * Tell whether the header of a super type was looked up outside of the jar: the hierarchy then depends on the
+     * other artifacts of the analysis, whether the super type was found in one of them or not. Stop types and
+     * platform types are not looked up.
+     */
+    private static boolean isLookedUpOutside(String type, ArtifactIndex index, Set<String> stopTypes) {
+        return !stopTypes.contains(type) && !TypeHierarchyIndex.isPlatformType(type)
+                && index.getEntry(ClassHeaderSource.toClassFilePath(type)).isEmpty();
     }
 
-    @Override
-    public Set<String> detectImplementationHierarchy(String className, Artifact artifact,
-            Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
+    /**
+     * Detect the implementation hierarchy by loading the whole jar with CFR.
+     * <p>This is much more expensive than reading the class headers, so it is only used when they can not be
+     * parsed.</p>
+     */
+    Set<String> detectImplementationHierarchyWithCfr(String className, Artifact artifact,
+            Consumer<ClassNotFoundException> exceptionHandler) {
         Set<String> hierarchy = new HashSet<>();
         var file = artifact.getFile();
         GetOptSinkFactory<Options> factory = OptionsImpl.getFactory();
@@ -146,4 +172,45 @@ public class JarArtifactContentReader implements ArtifactContentReader {
                 .orElseThrow(() -> new ClassNotFoundException(className));
     }
 
+    /**
+     * Reads the class headers from the jar, opening it only on the first class to read.
+     * <p>Classes which are not in the jar are looked up in the other jars of the analysis.</p>
+     */
+    private class JarClassHeaderSource implements ClassHeaderSource, Closeable {
+
+        private final File file;
+        private final ArtifactIndex index;
+        private ZipFile archive;
+
+        JarClassHeaderSource(File file, ArtifactIndex index) {
+            this.file = file;
+            this.index = index;
+        }
+
+        @Override
+        public Optional<ClassHeader> find(String className) throws IOException {
+            var indexedEntry = index.getEntry(ClassHeaderSource.toClassFilePath(className));
+            if (indexedEntry.isEmpty()) {
+                return typeHierarchyIndex.find(className);
+            }
+            if (archive == null) {
+                archive = openArchive(file);
+            }
+            var zipEntry = archive.getEntry(indexedEntry.get().name());
+            if (zipEntry == null) {
+                return Optional.empty();
+            }
+            try (InputStream is = archive.getInputStream(zipEntry)) {
+                return Optional.of(ClassHeaderParser.parse(is));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (archive != null) {
+                archive.close();
+            }
+        }
+    }
+
 }
@@ -16,59 +16,80 @@
  */
 package org.bonitasoft.plugin.analyze.content;
 
-import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.BiPredicate;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.function.UnaryOperator;
 import java.util.stream.Collector;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.io.input.ReaderInputStream;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
-import org.apache.maven.model.Resource;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.filtering.FilterWrapper;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.apache.maven.shared.filtering.MavenFilteringException;
 import org.apache.maven.shared.filtering.MavenResourcesExecution;
-import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyResolver;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
 import org.slf4j.LoggerFactory;
 
 /**
  * Reads the content of a maven project folder.
- * <p>Java classes are loaded from build directory.</p>
+ * <p>Java class hierarchies are read from the class files of the build directory and of the compile classpath.</p>
  */
 public class ProjectArtifactContentReader implements ArtifactContentReader {
 
     /**
-     * Contains the entry and cleans the filtered descriptor.
+     * The classes available to a reactor module, with the class headers already read.
      */
-    static record EntryAndCleaner(Entry entry, Closeable cleaner) {
+    static record ModuleClasses(TypeHierarchyIndex classes, TypeHierarchyResolver resolver) {
     }
 
-    private MavenResourcesFiltering mavenResourcesFiltering;
+    /**
+     * Binary files are never filtered, as with maven-filtering default non filtered file extensions.
+     */
+    private static final Set<String> NON_FILTERED_FILE_EXTENSIONS = Set.of("jpg", "jpeg", "gif", "bmp", "png",
+            "ico", "svgz", "zip", "jar", "war", "ear", "gz", "tgz", "bz2", "7z", "rar", "pdf", "ttf", "otf", "woff",
+            "woff2", "eot", "class", "swf");
+
+    /** Max depth of the module files walk, which is arbitrary. */
+    public static final int MAX_WALK_DEPTH = 10;
+
+    private MavenFileFilter mavenFileFilter;
     private List<MavenProject> reactorProjects;
+    private final Map<File, ModuleClasses> modulesClasses = new ConcurrentHashMap<>();
+    /** The files of each reactor module, by base directory. */
+    private final Map<File, List<Path>> modulesFiles = new ConcurrentHashMap<>();
+    /** Guarded by this, built on first access. */
+    private Map<File, MavenProject> projectsByBasedir;
+    /** The filter wrapper chain of each reactor module, by base directory. */
+    private final Map<File, List<FilterWrapper>> modulesFilterWrappers = new ConcurrentHashMap<>();
 
-    public ProjectArtifactContentReader(MavenResourcesFiltering mavenResourcesFiltering,
-            List<MavenProject> reactorProjects) {
-        this.mavenResourcesFiltering = mavenResourcesFiltering;
+    public ProjectArtifactContentReader(MavenFileFilter mavenFileFilter, List<MavenProject> reactorProjects) {
+        this.mavenFileFilter = mavenFileFilter;
         this.reactorProjects = reactorProjects;
     }
 
@@ -82,7 +103,7 @@ public class ProjectArtifactContentReader implements ArtifactContentReader {
         // direct search is much quicker than default implementation exploring the file tree
         var baseDir = artifact.getFile();
         var targetPath = baseDir.toPath().resolve(entryPath);
-        return Files.exists(targetPath) && notInTargetDirectory(artifact).test(targetPath);
+        return Files.exists(targetPath) && !isInBuildDirectory(baseDir, entryPath);
     }
 
     @Override
@@ -94,16 +115,12 @@ public class ProjectArtifactContentReader implements ArtifactContentReader {
         if (!Files.exists(sourcePath)) {
             throw new IllegalArgumentException("File " + sourcePath + " does not exist");
         }
-        if (!notInTargetDirectory(artifact).test(sourcePath)) {
+        if (isInBuildDirectory(baseDir, entryPath)) {
             throw new IllegalArgumentException("File " + sourcePath + " is in target build directory");
         }
 
-        var filteredDescriptor = filterDescriptor(baseDir, sourcePath);
-        try (var is = Files.newInputStream(filteredDescriptor)) {
+        try (var is = filterDescriptor(baseDir, sourcePath)) {
             reader.accept(is);
-        } finally {
-            // delete the filtered descriptor
-            Files.deleteIfExists(filteredDescriptor);
         }
     }
 
@@ -111,139 +128,147 @@ public class ProjectArtifactContentReader implements ArtifactContentReader {
     public <T> Optional<T> readFirstEntry(Artifact artifact, Predicate<Path> predicateOnPath, Function<Entry, T> reader)
             throws IOException {
         var baseDir = artifact.getFile();
-        UnaryOperator<Path> toRelative = baseDir.toPath()::relativize;
-        var notInTarget = notInTargetDirectory(artifact);
-        // max depth 10 is arbitrary
-        BiPredicate<Path, BasicFileAttributes> matcher = (path, attr) -> {
-            if (attr.isRegularFile()) {
-                return predicateOnPath.and(notInTarget).test(toRelative.apply(path));
-            }
-            // we should not need directories
-            return false;
-        };
-        try (var pathsStream = Files.find(baseDir.toPath(), 10, matcher)) {
-            var entriesStream = pathsStream.map(sourcePath -> makeEntry(baseDir, sourcePath));
-            Optional<EntryAndCleaner> firstEntry = entriesStream.findFirst();
-            if (firstEntry.isEmpty()) {
-                return Optional.empty();
-            } else {
-                var entry = firstEntry.get();
-                try {
-                    return Optional.of(reader.apply(entry.entry));
-                } finally {
-                    entry.cleaner.close();
-                }
-            }
-        }
+        return getModuleFiles(baseDir).stream()
+                .filter(AnalysisMetrics.countScannedEntries(predicateOnPath))
+                .findFirst()
+                .map(path -> reader.apply(makeEntry(baseDir, baseDir.toPath().resolve(path))));
     }
 
     @Override
     public <R, A> R readEntries(Artifact artifact, Predicate<Path> predicateOnPath, Collector<Entry, A, R> reader)
             throws IOException {
         var baseDir = artifact.getFile();
-        UnaryOperator<Path> toRelative = baseDir.toPath()::relativize;
-        var notInTarget = notInTargetDirectory(artifact);
-        // max depth 10 is arbitrary
-        BiPredicate<Path, BasicFileAttributes> matcher = (path, attr) -> {
-            if (attr.isRegularFile()) {
-                return predicateOnPath.and(notInTarget).test(toRelative.apply(path));
+        return getModuleFiles(baseDir).stream()
+                .filter(AnalysisMetrics.countScannedEntries(predicateOnPath))
+                .map(path -> makeEntry(baseDir, baseDir.toPath().resolve(path)))
+                .collect(reader);
+    }
+
+    /**
+     * Get the files of a reactor module, walked once for the whole analysis.
+     * <p>The build directory is not walked.</p>
+     * 
+     * @param baseDir the base directory of the reactor module
+     * @return the paths of the module files, relative to the base directory, in walk order
+     * @throws IOException exception walking the module directory
+     */
+    List<Path> getModuleFiles(File baseDir) throws IOException {
+        var moduleFiles = modulesFiles.get(baseDir);
+        if (moduleFiles == null) {
+            moduleFiles = walkModuleFiles(baseDir);
+            var previous = modulesFiles.putIfAbsent(baseDir, moduleFiles);
+            if (previous != null) {
+                moduleFiles = previous;
             }
-            // we should not need directories
-            return false;
-        };
-        try (var pathsStream = Files.find(baseDir.toPath(), 10, matcher)) {
-            var entriesStream = pathsStream.map(sourcePath -> makeEntry(baseDir, sourcePath));
-            List<Closeable> closables = new ArrayList<>();
-            try {
-                return entriesStream.map(entryWithCleaner -> {
-                    closables.add(entryWithCleaner.cleaner);
-                    return entryWithCleaner.entry;
-                }).collect(reader);
-            } finally {
-                for (var closable : closables) {
-                    closable.close();
+        }
+        return moduleFiles;
+    }
+
+    private List<Path> walkModuleFiles(File baseDir) throws IOException {
+        var root = baseDir.toPath();
+        var buildDirectory = relativeBuildDirectory(baseDir);
+        List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, Set.of(), MAX_WALK_DEPTH, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                var relativeDir = root.relativize(dir);
+                if (!relativeDir.toString().isEmpty() && relativeDir.startsWith(buildDirectory)) {
+                    return FileVisitResult.SKIP_SUBTREE;
                 }
+                return FileVisitResult.CONTINUE;
             }
-        }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                // we should not need directories
+                if (attrs.isRegularFile()) {
+                    files.add(root.relativize(file));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return Collections.unmodifiableList(files);
     }
 
-    EntryAndCleaner makeEntry(File baseDir, Path sourcePath) {
+    Entry makeEntry(File baseDir, Path sourcePath) {
         // we need the compiled target path for the entry
         Path resolvedPathInTarget = sourcePath.getFileName();
-
-        AtomicReference<Path> filteredDescriptorRef = new AtomicReference<>();
-        Entry entry = new Entry(resolvedPathInTarget, () -> {
+        return new Entry(resolvedPathInTarget, () -> {
             try {
-                var filteredDescriptor = filterDescriptor(baseDir, sourcePath);
-                filteredDescriptorRef.set(filteredDescriptor);
-                return Files.newInputStream(filteredDescriptor);
+                return filterDescriptor(baseDir, sourcePath);
             } catch (IOException e) {
                 logIOException(e, baseDir, baseDir.toPath().relativize(sourcePath));
                 return null;
             }
         });
-        return new EntryAndCleaner(entry, () -> {
-            // delete the filtered descriptor
-            var path = filteredDescriptorRef.get();
-            if (path != null) {
-                Files.deleteIfExists(path);
-            }
-        });
     }
 
-    Path filterDescriptor(File basedir, Path descriptor) throws IOException {
-        var mavenResource = newFilteredResource(descriptor);
-        var mavenResourcesExecution = newMavenResourcesExecution(mavenResource, basedir);
-        try {
-            mavenResourcesFiltering.filterResources(mavenResourcesExecution);
-        } catch (MavenFilteringException e) {
-            throw new IOException(e);
+    /**
+     * Filter a descriptor in memory, as the resources plugin would when copying it to the build directory.
+     * 
+     * @param basedir the base directory of the reactor module
+     * @param descriptor the descriptor source file
+     * @return the filtered descriptor content, encoded in UTF-8
+     * @throws IOException exception reading the descriptor or preparing the filters
+     */
+    InputStream filterDescriptor(File basedir, Path descriptor) throws IOException {
+        var extension = FilenameUtils.getExtension(descriptor.getFileName().toString()).toLowerCase(Locale.ROOT);
+        if (NON_FILTERED_FILE_EXTENSIONS.contains(extension)) {
+            return Files.newInputStream(descriptor);
+        }
+        var filterWrappers = getFilterWrappers(basedir);
+        Reader reader = Files.newBufferedReader(descriptor, StandardCharsets.UTF_8);
+        for (var filterWrapper : filterWrappers) {
+            reader = filterWrapper.getReader(reader);
         }
-        return mavenResourcesExecution.getOutputDirectory().toPath().resolve(descriptor.getFileName());
+        return ReaderInputStream.builder().setReader(reader).setCharset(StandardCharsets.UTF_8).get();
     }
 
-    private MavenResourcesExecution newMavenResourcesExecution(Resource resource, File basedir) {
+    /**
+     * Get the default filter wrappers of a reactor module, prepared once for the whole analysis.
+     * 
+     * @param basedir the base directory of the reactor module
+     * @return the filter wrappers to chain
+     * @throws IOException exception preparing the filters (e.g. unreadable filter files)
+     */
+    private List<FilterWrapper> getFilterWrappers(File basedir) throws IOException {
+        var filterWrappers = modulesFilterWrappers.get(basedir);
+        if (filterWrappers == null) {
+            try {
+                filterWrappers = List.copyOf(mavenFileFilter.getDefaultFilterWrappers(newFilteringRequest(basedir)));
+            } catch (MavenFilteringException e) {
+                throw new IOException(e);
+            }
+            modulesFilterWrappers.putIfAbsent(basedir, filterWrappers);
+        }
+        return filterWrappers;
+    }
+
+    private MavenResourcesExecution newFilteringRequest(File basedir) {
         var mavenResourcesExecution = new MavenResourcesExecution();
-        mavenResourcesExecution.setResources(List.of(resource));
-        var mavenProject = findMavenProject(basedir);
-        mavenResourcesExecution.setMavenProject(mavenProject);
-        var outputFolder = new File(mavenProject.getBuild().getDirectory());
-        mavenResourcesExecution.setOutputDirectory(outputFolder);
+        mavenResourcesExecution.setMavenProject(findMavenProject(basedir));
         mavenResourcesExecution.setUseDefaultFilterWrappers(true);
-        mavenResourcesExecution.setFilterWrappers(List.of());
         mavenResourcesExecution.setEncoding("UTF-8");
         mavenResourcesExecution.setPropertiesEncoding("UTF-8");
         return mavenResourcesExecution;
     }
 
-    private Resource newFilteredResource(Path descriptor) {
-        var mavenResource = new Resource();
-        mavenResource.setDirectory(descriptor.getParent() != null ? descriptor.getParent().toString() : ".");
-        mavenResource.setIncludes(List.of(descriptor.getFileName().toString()));
-        mavenResource.setFiltering(true);
-        return mavenResource;
+    @Override
+    public Set<String> detectImplementationHierarchy(String className, Artifact artifact,
+            Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
+        return detectImplementationHierarchy(className, artifact, Set.of(), exceptionHandler);
     }
 
     @Override
-    public Set<String> detectImplementationHierarchy(String className, Artifact artifact,
+    public Set<String> detectImplementationHierarchy(String className, Artifact artifact, Set<String> stopTypes,
             Consumer<ClassNotFoundException> exceptionHandler) throws UnsupportedOperationException {
         var baseDir = artifact.getFile();
-        var mavenProject = findMavenProject(baseDir);
-
         try {
-            List<String> classpathElements = mavenProject.getCompileClasspathElements();
-            classpathElements.add(mavenProject.getBuild().getOutputDirectory());
-            URL[] urls = classpathElements.stream().map(elt -> {
-                try {
-                    return new File(elt).toURI().toURL();
-                } catch (MalformedURLException e) {
-                    LoggerFactory.getLogger(ArtifactContentReader.class).error(
-                            "An error occured while loading implementation class {} from Maven project {}", className,
-                            baseDir, e);
-                    return null;
-                }
-            }).filter(Objects::nonNull).toArray(URL[]::new);
-            return detectImplementationHierarchyFromClasspath(className, exceptionHandler, urls);
+            var moduleClasses = getModuleClasses(findMavenProject(baseDir));
+            return moduleClasses.resolver().resolveHierarchy(className, moduleClasses.classes(), stopTypes);
+        } catch (ClassNotFoundException e) {
+            exceptionHandler.accept(e);
         } catch (DependencyResolutionRequiredException | IOException e) {
             LoggerFactory.getLogger(ArtifactContentReader.class).error(
                     "An error occured while loading implementation class {} from Maven project {}", className, baseDir,
@@ -252,6 +277,31 @@ public class ProjectArtifactContentReader implements ArtifactContentReader {
         return Set.of();
     }
 
+    /**
+     * Get the classes of a module: its build output directory and its compile classpath.
+     * <p>Class headers are read from the class files, so classes are neither loaded nor initialized.</p>
+     * 
+     * @param mavenProject the reactor module
+     * @return the module classes, cached for the whole analysis
+     * @throws DependencyResolutionRequiredException when the module dependencies are not resolved
+     */
+    ModuleClasses getModuleClasses(MavenProject mavenProject) throws DependencyResolutionRequiredException {
+        var moduleClasses = modulesClasses.get(mavenProject.getBasedir());
+        if (moduleClasses == null) {
+            Set<File> classpath = new LinkedHashSet<>();
+            classpath.add(new File(mavenProject.getBuild().getOutputDirectory()));
+            mavenProject.getCompileClasspathElements().stream().map(File::new).forEach(classpath::add);
+            var classes = new TypeHierarchyIndex();
+            classes.register(classpath);
+            moduleClasses = new ModuleClasses(classes, new TypeHierarchyResolver());
+            var previous = modulesClasses.putIfAbsent(mavenProject.getBasedir(), moduleClasses);
+            if (previous != null) {
+                moduleClasses = previous;
+            }
+        }
+        return moduleClasses;
+    }
+
     /**
      * Find the Maven project in the reactor projects list.
      * 
@@ -259,37 +309,35 @@ public class ProjectArtifactContentReader implements ArtifactContentReader {
      * @return the Maven project
      */
     MavenProject findMavenProject(File baseDir) {
-        return reactorProjects.stream()
-                .filter(p -> Objects.equals(baseDir, p.getBasedir()))
-                .findFirst().orElseThrow();
+        var mavenProject = getProjectsByBasedir().get(baseDir);
+        if (mavenProject == null) {
+            throw new NoSuchElementException("No reactor project found in " + baseDir);
+        }
+        return mavenProject;
+    }
+
+    private synchronized Map<File, MavenProject> getProjectsByBasedir() {
+        if (projectsByBasedir == null) {
+            projectsByBasedir = new HashMap<>();
+            reactorProjects.forEach(project -> projectsByBasedir.putIfAbsent(project.getBasedir(), project));
+        }
+        return projectsByBasedir;
     }
 
     /**
-     * Predicate to filter out the entries in the target directory.
+     * Test whether an entry is in the build (target) directory of the module.
      * 
-     * @param artifact the artifact the maven artifact
-     * @return the predicate to exclude target directory
+     * @param baseDir the base directory of the module
+     * @param entryPath the entry path, relative to the base directory
+     * @return true when the entry is in the build directory
      */
-    private Predicate<Path> notInTargetDirectory(Artifact artifact) {
-        File baseDir = artifact.getFile();
-        var mavenProject = findMavenProject(baseDir);
-        var targetDir = baseDir.toPath().relativize(Path.of(mavenProject.getBuild().getDirectory()));
-        return path -> !path.startsWith(targetDir);
+    private boolean isInBuildDirectory(File baseDir, Path entryPath) {
+        return entryPath.normalize().startsWith(relativeBuildDirectory(baseDir));
     }
 
-    private Set<String> detectImplementationHierarchyFromClasspath(String className,
-            Consumer<ClassNotFoundException> exceptionHandler, URL[] classpathUrls) throws IOException {
-        try (var classLoader = new URLClassLoader(classpathUrls, this.getClass().getClassLoader())) {
-            var clazz = classLoader.loadClass(className);
-            var superClasses = ClassUtils.getAllSuperclasses(clazz);
-            var interfaces = ClassUtils.getAllInterfaces(clazz);
-            return Stream.concat(superClasses.stream(), interfaces.stream())
-                    .map(Class::getName)
-                    .collect(Collectors.toSet());
-        } catch (ClassNotFoundException e) {
-            exceptionHandler.accept(e);
-        }
-        return Set.of();
+    private Path relativeBuildDirectory(File baseDir) {
+        var mavenProject = findMavenProject(baseDir);
+        return baseDir.toPath().relativize(Path.of(mavenProject.getBuild().getDirectory()));
     }
 
 }
@@ -18,69 +18,53 @@ package org.bonitasoft.plugin.analyze.content;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.URI;
-import java.nio.file.Path;
-import java.util.Optional;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Set;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.Predicate;
-import java.util.stream.Collector;
-import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.analyze.content.ArtifactIndex.IndexedEntry;
 
 /**
  * Reads the content of a ZIP file.
  * <p>Java classes can not be loaded.</p>
+ * <p>Entries are read from a memory mapping of the archive, so that only the matching entries of large archives
+ * (e.g. pages bundling many assets) are read and inflated.</p>
  */
-public class ZipArtifactContentReader implements ArtifactContentReader {
+public class ZipArtifactContentReader extends ArchiveArtifactContentReader {
 
     @Override
     public ArtifactFileType getArtifactFileType() {
         return ArtifactFileType.ZIP;
     }
 
-    private Path toPath(ZipEntry zipEntry) {
-        return Path.of(URI.create(zipEntry.getName()).toString());
-    }
-
     @Override
-    public <T> Optional<T> readFirstEntry(Artifact artifact, Predicate<Path> predicateOnPath, Function<Entry, T> reader)
-            throws IOException {
-        var file = artifact.getFile();
-        try (ZipFile zipFile = new ZipFile(file)) {
-            var zipEntriesStream = zipFile.stream()
-                    .filter(zipEntry -> predicateOnPath.test(toPath(zipEntry)));
-            return zipEntriesStream.findFirst().map(zipEntry -> {
-                Entry entry = makeEntry(file, zipFile, zipEntry);
-                return reader.apply(entry);
-            });
-        }
+    protected ZipFile openArchive(File file) throws IOException {
+        return new ZipFile(file);
     }
 
     @Override
-    public <R, A> R readEntries(Artifact artifact, Predicate<Path> predicateOnPath, Collector<Entry, A, R> reader)
-            throws IOException {
-        var file = artifact.getFile();
-        try (ZipFile zipFile = new ZipFile(file)) {
-            var zipEntriesStream = zipFile.stream()
-                    .filter(zipEntry -> predicateOnPath.test(toPath(zipEntry)));
-            var entriesStream = zipEntriesStream.map(zipEntry -> makeEntry(file, zipFile, zipEntry));
-            return entriesStream.collect(reader);
+    protected ArchiveEntryReader openEntryReader(File file, ArtifactIndex index) throws IOException {
+        var centralDirectory = index.getCentralDirectory();
+        if (centralDirectory.isEmpty()) {
+            return super.openEntryReader(file, index);
         }
-    }
+        var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        return new ArchiveEntryReader() {
+
+            @Override
+            public InputStream getInputStream(IndexedEntry indexedEntry) throws IOException {
+                return centralDirectory.get().getInputStream(channel, indexedEntry.name());
+            }
 
-    private Entry makeEntry(File file, ZipFile zipFile, ZipEntry zipEntry) {
-        return new Entry(toPath(zipEntry), () -> {
-            try {
-                return zipFile.getInputStream(zipEntry);
-            } catch (IOException e) {
-                logIOException(e, file, toPath(zipEntry));
-                return null;
+            @Override
+            public void close() throws IOException {
+                channel.close();
             }
-        });
+        };
     }
 
     @Override
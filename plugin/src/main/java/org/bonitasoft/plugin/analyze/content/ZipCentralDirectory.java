@@ -0,0 +1,394 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads the central directory of a ZIP archive from a memory mapping of the file.
+ * <p>Only the end of central directory and central directory records are mapped to list the entries, and the content
+ * of an entry is read (and inflated) only when requested, without building any <code>ZipEntry</code>. Entries are
+ * matched on their raw name in the mapping, so only the requested entries have their name decoded.</p>
+ * <p>ZIP64 and encrypted archives are not supported: a {@link ZipException} is thrown, so that callers can fall back to
+ * {@link java.util.zip.ZipFile}.</p>
+ */
+public final class ZipCentralDirectory {
+
+    private static final int END_SIGNATURE = 0x06054b50;
+    private static final int END_HEADER_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+    private static final int CENTRAL_SIGNATURE = 0x02014b50;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int LOCAL_SIGNATURE = 0x04034b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ENCRYPTED_FLAG = 0x1;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    /**
+     * Entries smaller than this size are read on the heap, mapping them would cost more than copying them.
+     */
+    private static final int MAPPING_THRESHOLD = 64 * 1024;
+
+    /**
+     * An entry of the central directory.
+     * <p>Name is the raw entry name in the archive, sizes and offset are read from the central directory.</p>
+     */
+    public static record CentralEntry(String name, int method, long compressedSize, long size,
+            long localHeaderOffset) {
+    }
+
+    private final ByteBuffer directory;
+
+    /** The position of each entry header in the central directory, in the central directory order. */
+    private final int[] headers;
+
+    /** The hash table of the entries by raw name, holding their index + 1, built on the first lookup. */
+    private int[] entriesByName;
+
+    private ZipCentralDirectory(ByteBuffer directory, int[] headers) {
+        this.directory = directory;
+        this.headers = headers;
+    }
+
+    /**
+     * Read the central directory of an archive file.
+     * <p>Entry names are kept as raw bytes in the mapping, and decoded only for the requested entries.</p>
+     * 
+     * @param file the archive file
+     * @return the central directory
+     * @throws ZipException when the archive is not a ZIP file, or uses unsupported ZIP features
+     * @throws IOException exception reading the archive
+     */
+    public static ZipCentralDirectory read(File file) throws IOException {
+        try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            var fileSize = channel.size();
+            var tailSize = (int) Math.min(fileSize, END_HEADER_SIZE + MAX_COMMENT_SIZE);
+            var tail = channel.map(MapMode.READ_ONLY, fileSize - tailSize, tailSize).order(ByteOrder.LITTLE_ENDIAN);
+            var endPosition = findEndHeader(tail);
+            var entryCount = Short.toUnsignedInt(tail.getShort(endPosition + 10));
+            var directorySize = Integer.toUnsignedLong(tail.getInt(endPosition + 12));
+            var directoryOffset = Integer.toUnsignedLong(tail.getInt(endPosition + 16));
+            if (entryCount == 0xFFFF || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+                throw new ZipException("ZIP64 archives are not supported");
+            }
+            if (directoryOffset + directorySize > fileSize - tailSize + endPosition) {
+                throw new ZipException("Invalid central directory offset");
+            }
+            // the mapping remains valid once the channel is closed
+            var directory = channel.map(MapMode.READ_ONLY, directoryOffset, directorySize)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            return new ZipCentralDirectory(directory, readHeaders(directory, entryCount));
+        }
+    }
+
+    private static int findEndHeader(ByteBuffer tail) throws ZipException {
+        for (int position = tail.limit() - END_HEADER_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_SIGNATURE
+                    && position + END_HEADER_SIZE + Short.toUnsignedInt(tail.getShort(position + 20)) == tail.limit()) {
+                return position;
+            }
+        }
+        throw new ZipException("End of central directory not found");
+    }
+
+    private static int[] readHeaders(ByteBuffer directory, int entryCount) throws ZipException {
+        var headers = new int[entryCount];
+        int position = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (position + CENTRAL_HEADER_SIZE > directory.limit() || directory.getInt(position) != CENTRAL_SIGNATURE) {
+                throw new ZipException("Invalid central directory header");
+            }
+            var flags = Short.toUnsignedInt(directory.getShort(position + 8));
+            var compressedSize = Integer.toUnsignedLong(directory.getInt(position + 20));
+            var size = Integer.toUnsignedLong(directory.getInt(position + 24));
+            var nameLength = Short.toUnsignedInt(directory.getShort(position + 28));
+            var extraLength = Short.toUnsignedInt(directory.getShort(position + 30));
+            var commentLength = Short.toUnsignedInt(directory.getShort(position + 32));
+            var localHeaderOffset = Integer.toUnsignedLong(directory.getInt(position + 42));
+            if (compressedSize == ZIP64_MAGIC || size == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                throw new ZipException("ZIP64 archives are not supported");
+            }
+            if ((flags & ENCRYPTED_FLAG) != 0) {
+                throw new ZipException("Encrypted archives are not supported");
+            }
+            if (position + CENTRAL_HEADER_SIZE + nameLength > directory.limit()) {
+                throw new ZipException("Invalid central directory header");
+            }
+            headers[i] = position;
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return headers;
+    }
+
+    private int nameOffset(int index) {
+        return headers[index] + CENTRAL_HEADER_SIZE;
+    }
+
+    private int nameLength(int index) {
+        return Short.toUnsignedInt(directory.getShort(headers[index] + 28));
+    }
+
+    private CentralEntry entryAt(int index) {
+        var position = headers[index];
+        var name = new byte[nameLength(index)];
+        directory.get(nameOffset(index), name);
+        // names are decoded as UTF-8, like ZipFile does by default
+        return new CentralEntry(new String(name, StandardCharsets.UTF_8),
+                Short.toUnsignedInt(directory.getShort(position + 10)),
+                Integer.toUnsignedLong(directory.getInt(position + 20)),
+                Integer.toUnsignedLong(directory.getInt(position + 24)),
+                Integer.toUnsignedLong(directory.getInt(position + 42)));
+    }
+
+    /**
+     * @return all entries of the archive, in the central directory order
+     */
+    public List<CentralEntry> getEntries() {
+        return IntStream.range(0, headers.length).mapToObj(this::entryAt).toList();
+    }
+
+    /**
+     * Filter the entries matching an interest on their raw name, without decoding the names of the other entries.
+     * <p>The raw name test may accept entries which are rejected by the interest on their path, so the caller has to
+     * test the path of the returned entries.</p>
+     * 
+     * @param interest the interest in the entries
+     * @return the entries whose raw name matches the interest, in the central directory order
+     */
+    public Stream<CentralEntry> filter(EntryInterest interest) {
+        return IntStream.range(0, headers.length)
+                .filter(index -> interest.matchesName(directory, nameOffset(index), nameLength(index)))
+                .mapToObj(this::entryAt);
+    }
+
+    /**
+     * Get an entry by its raw name.
+     * 
+     * @param name the raw entry name in the archive
+     * @return the entry, empty when there is no entry with this name
+     */
+    public Optional<CentralEntry> getEntry(String name) {
+        var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        var table = entriesByName();
+        var mask = table.length - 1;
+        for (int slot = hash(ByteBuffer.wrap(nameBytes), 0, nameBytes.length) & mask; table[slot] != 0;
+                slot = (slot + 1) & mask) {
+            var index = table[slot] - 1;
+            if (hasName(index, nameBytes)) {
+                return Optional.of(entryAt(index));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private synchronized int[] entriesByName() {
+        if (entriesByName == null) {
+            var table = new int[Integer.highestOneBit(Math.max(headers.length, 1) * 2) * 2];
+            var mask = table.length - 1;
+            // entries are added in order, so that the first entry is found when an archive (wrongly) contains
+            // duplicated names, as ZipFile#getEntry does
+            for (int index = 0; index < headers.length; index++) {
+                var slot = hash(directory, nameOffset(index), nameLength(index)) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = index + 1;
+            }
+            entriesByName = table;
+        }
+        return entriesByName;
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + buffer.get(offset + i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private boolean hasName(int index, byte[] nameBytes) {
+        if (nameLength(index) != nameBytes.length) {
+            return false;
+        }
+        var offset = nameOffset(index);
+        for (int i = 0; i < nameBytes.length; i++) {
+            if (directory.get(offset + i) != nameBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Open the content of an entry.
+     * <p>The returned stream does not depend on the channel, which can be closed before the stream.</p>
+     * 
+     * @param channel a channel opened on the archive file
+     * @param name the raw entry name in the archive
+     * @return the (inflated) entry content
+     * @throws IOException exception reading the archive, or when the entry does not exist
+     */
+    public InputStream getInputStream(FileChannel channel, String name) throws IOException {
+        var entry = getEntry(name).orElseThrow(() -> new IOException("Entry " + name + " no longer exists"));
+        var localHeader = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(channel, localHeader, entry.localHeaderOffset());
+        if (localHeader.getInt(0) != LOCAL_SIGNATURE) {
+            throw new ZipException("Invalid local header of entry " + name);
+        }
+        var dataOffset = entry.localHeaderOffset() + LOCAL_HEADER_SIZE
+                + Short.toUnsignedInt(localHeader.getShort(26)) + Short.toUnsignedInt(localHeader.getShort(28));
+        ByteBuffer data;
+        if (entry.compressedSize() < MAPPING_THRESHOLD) {
+            data = ByteBuffer.allocate((int) entry.compressedSize());
+            readFully(channel, data, dataOffset);
+            data.flip();
+        } else {
+            data = channel.map(MapMode.READ_ONLY, dataOffset, entry.compressedSize());
+        }
+        if (entry.method() == STORED) {
+            return new ByteBufferInputStream(data);
+        }
+        if (entry.method() == DEFLATED) {
+            return new InflatingInputStream(data);
+        }
+        throw new ZipException(String.format("Unsupported compression method %s of entry %s", entry.method(), name));
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new ZipException("Unexpected end of archive");
+            }
+        }
+    }
+
+    /**
+     * Reads a stored entry content.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? Byte.toUnsignedInt(buffer.get()) : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            var count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Inflates a deflated entry content, giving the whole compressed data to the inflater at once.
+     */
+    private static class InflatingInputStream extends InputStream {
+
+        private final Inflater inflater = new Inflater(true);
+        private boolean dummyByteSent;
+        private boolean closed;
+
+        InflatingInputStream(ByteBuffer data) {
+            inflater.setInput(data);
+        }
+
+        @Override
+        public int read() throws IOException {
+            var b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : Byte.toUnsignedInt(b[0]);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            try {
+                while (true) {
+                    if (inflater.finished()) {
+                        return -1;
+                    }
+                    var count = inflater.inflate(b, off, len);
+                    if (count > 0) {
+                        return count;
+                    }
+                    if (inflater.needsDictionary()) {
+                        throw new ZipException("Invalid deflated data");
+                    }
+                    if (inflater.needsInput()) {
+                        if (dummyByteSent) {
+                            throw new ZipException("Unexpected end of deflated data");
+                        }
+                        // zlib may need an extra byte to complete a 'nowrap' stream, as done by ZipFile
+                        inflater.setInput(new byte[1]);
+                        dummyByteSent = true;
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException(e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                inflater.end();
+            }
+        }
+    }
+
+}
@@ -16,13 +16,6 @@
  */
 package org.bonitasoft.plugin.analyze.handler;
 
-import java.io.File;
-import java.io.IOException;
-import java.util.Optional;
-import java.util.function.Predicate;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
-
 import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
 import org.eclipse.aether.artifact.DefaultArtifact;
@@ -39,6 +32,11 @@ public abstract class AbstractArtifactAnalyzerHandler implements ArtifactAnalyze
         this.contentReader = contentReader;
     }
 
+    @Override
+    public String getName() {
+        return getClass().getSimpleName() + "(" + contentReader.getArtifactFileType() + ")";
+    }
+
     @Override
     public boolean appliesTo(Artifact artifact) {
         // by default, rely on the artifact type, sub-implementations can specify extra criteria
@@ -64,14 +62,8 @@ public abstract class AbstractArtifactAnalyzerHandler implements ArtifactAnalyze
         return localRepositoryPath.resolve(artifactPath).toAbsolutePath().toString();
     }
 
-    protected ArtifactContentReader getContentReader() {
+    @Override
+    public ArtifactContentReader getContentReader() {
         return contentReader;
     }
-
-    protected Optional<ZipEntry> findZipEntry(File file, Predicate<ZipEntry> entryPredicate)
-            throws IOException {
-        try (ZipFile zipFile = new ZipFile(file)) {
-            return zipFile.stream().map(ZipEntry.class::cast).filter(entryPredicate).findFirst();
-        }
-    }
 }
@@ -19,10 +19,9 @@ package org.bonitasoft.plugin.analyze.handler;
 import static java.lang.String.format;
 
 import java.io.IOException;
-import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Predicate;
 
 import javax.xml.bind.JAXBException;
 
@@ -30,6 +29,9 @@ import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.engine.business.application.exporter.ApplicationNodeContainerConverter;
 import org.bonitasoft.engine.business.application.xml.ApplicationNode;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
 import org.bonitasoft.plugin.analyze.report.model.ApplicationDescriptor;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.eclipse.aether.repository.LocalRepositoryManager;
@@ -41,9 +43,7 @@ class ApplicationDescriptorAnalyzer extends AbstractArtifactAnalyzerHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ApplicationDescriptorAnalyzer.class);
     private static final String APPLICATION_CLASSIFIER = "application";
-    private static final Predicate<Path> IS_APPLICATION_XML = path -> path.getParent() != null
-            && path.getParent().toString().equals("applications")
-            && path.getFileName().toString().matches(".*\\.xml");
+    private static final EntryInterest IS_APPLICATION_XML = EntryInterest.glob("applications/*.xml");
 
     private ApplicationNodeContainerConverter converter = new ApplicationNodeContainerConverter();
 
@@ -58,16 +58,39 @@ class ApplicationDescriptorAnalyzer extends AbstractArtifactAnalyzerHandler {
                 && hasApplicationDescriptor(artifact);
     }
 
+    @Override
+    public List<EntryInterest> getEntryInterests() {
+        return List.of(IS_APPLICATION_XML);
+    }
+
+    @Override
+    public boolean appliesTo(Artifact artifact, List<Entry> entries) {
+        return Objects.equals(artifact.getClassifier(), APPLICATION_CLASSIFIER) && !entries.isEmpty();
+    }
+
     @Override
     public DependencyReport analyze(Artifact artifact, DependencyReport report) throws IOException {
-        var descriptor = readApplicationDescriptor(artifact);
+        addApplicationDescriptor(artifact, readApplicationDescriptor(artifact), report);
+        return report;
+    }
+
+    @Override
+    public DependencyReport analyze(Artifact artifact, List<Entry> entries, DependencyReport report) {
+        var descriptor = entries.stream().findFirst().map(entry -> parseApplicationDescriptor(artifact, entry))
+                .orElseThrow(() -> new IllegalArgumentException(
+                        format("No application descriptor found in %s", artifact.getFile())));
+        addApplicationDescriptor(artifact, descriptor, report);
+        return report;
+    }
+
+    private void addApplicationDescriptor(Artifact artifact, Optional<ApplicationNode> descriptor,
+            DependencyReport report) {
         descriptor.ifPresent(app -> report.addApplicationDescriptor(ApplicationDescriptor.create(app.getDisplayName(),
                 app.getVersion(),
                 app.getDescription(),
                 app.getProfile(),
                 app.getToken(),
                 create(artifact))));
-        return report;
     }
 
     /**
@@ -79,19 +102,22 @@ class ApplicationDescriptorAnalyzer extends AbstractArtifactAnalyzerHandler {
      */
     Optional<ApplicationNode> readApplicationDescriptor(Artifact artifact) throws IOException {
         Optional<Optional<ApplicationNode>> appDesc = getContentReader().readFirstEntry(artifact,
-                IS_APPLICATION_XML, entry -> {
-                    try (var is = entry.supplier().get()) {
-                        var container = converter.unmarshallFromXML(is.readAllBytes());
-                        return container.getApplications().stream().findFirst();
-                    } catch (IOException | JAXBException | SAXException e) {
-                        LOGGER.warn("Failed to parse {} for application descriptor", artifact, e);
-                        return Optional.empty();
-                    }
-                });
+                IS_APPLICATION_XML, entry -> parseApplicationDescriptor(artifact, entry));
         return appDesc.orElseThrow(() -> new IllegalArgumentException(
                 format("No application descriptor found in %s", artifact.getFile())));
     }
 
+    private Optional<ApplicationNode> parseApplicationDescriptor(Artifact artifact, Entry entry) {
+        try (var is = entry.supplier().get()) {
+            var container = converter.unmarshallFromXML(is.readAllBytes());
+            AnalysisMetrics.descriptorParsed();
+            return container.getApplications().stream().findFirst();
+        } catch (IOException | JAXBException | SAXException e) {
+            LOGGER.warn("Failed to parse {} for application descriptor", artifact, e);
+            return Optional.empty();
+        }
+    }
+
     boolean hasApplicationDescriptor(Artifact artifact) {
         return getContentReader().hasEntryWithPath(artifact, IS_APPLICATION_XML);
     }
@@ -21,31 +21,103 @@ import java.util.List;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.filtering.MavenResourcesFiltering;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.bonitasoft.plugin.analyze.ConnectorResolver;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
 import org.bonitasoft.plugin.analyze.content.JarArtifactContentReader;
 import org.bonitasoft.plugin.analyze.content.ProjectArtifactContentReader;
 import org.bonitasoft.plugin.analyze.content.ZipArtifactContentReader;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 
 public interface ArtifactAnalyzerHandler {
 
+    /**
+     * Get the name of the handler, as reported in the analysis metrics.
+     * 
+     * @return the handler name
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
     boolean appliesTo(Artifact artifact);
 
     DependencyReport analyze(Artifact artifact, DependencyReport report) throws IOException;
 
+    /**
+     * Get the reader of the artifact content.
+     * 
+     * @return the content reader
+     */
+    ArtifactContentReader getContentReader();
+
+    /**
+     * Get the artifact content entries the handler analyzes.
+     * <p>The analyzer reads the entries interesting all the handlers sharing a content reader in a single traversal
+     * of the artifact, then dispatches them with {@link #appliesTo(Artifact, List)} and
+     * {@link #analyze(Artifact, List, DependencyReport)}. A handler without interest reads the artifact content by
+     * itself, with {@link #appliesTo(Artifact)} and {@link #analyze(Artifact, DependencyReport)}.</p>
+     * 
+     * @return the entry interests, empty by default
+     */
+    default List<EntryInterest> getEntryInterests() {
+        return List.of();
+    }
+
+    /**
+     * Test whether the handler applies to an artifact, from the entries matching its interests.
+     * <p>The content reader already applies to the artifact.</p>
+     * 
+     * @param artifact the artifact to test
+     * @param entries the artifact entries matching the handler interests, with their content loaded
+     * @return true when the handler must analyze the artifact
+     */
+    default boolean appliesTo(Artifact artifact, List<Entry> entries) {
+        return appliesTo(artifact);
+    }
+
+    /**
+     * Analyze an artifact from the entries matching the handler interests.
+     * 
+     * @param artifact the artifact to analyze
+     * @param entries the artifact entries matching the handler interests, with their content loaded
+     * @param report the report to complete
+     * @return the completed report
+     * @throws IOException exception reading the artifact content
+     */
+    default DependencyReport analyze(Artifact artifact, List<Entry> entries, DependencyReport report)
+            throws IOException {
+        return analyze(artifact, report);
+    }
+
+    /**
+     * Complete the report merged from all the analyzed artifacts, once each artifact has been analyzed.
+     * <p>Nothing to complete by default.</p>
+     * 
+     * @param report the report of all the analyzed artifacts
+     */
+    default void complete(DependencyReport report) {
+        // nothing to complete
+    }
+
     public static List<ArtifactAnalyzerHandler> create(ConnectorResolver connectorResolver,
             LocalRepositoryManager localRepositoryManager,
-            MavenResourcesFiltering mavenResourcesFiltering,
-            List<MavenProject> reactorProjects) {
-        return List.of(new ConnectorAnalyzer(localRepositoryManager, connectorResolver, new JarArtifactContentReader()),
-                new ConnectorAnalyzer(localRepositoryManager, connectorResolver,
-                        new ProjectArtifactContentReader(mavenResourcesFiltering, reactorProjects)),
-                new CustomPageAnalyzer(localRepositoryManager, new ZipArtifactContentReader()),
-                new CustomPageAnalyzer(localRepositoryManager,
-                        new ProjectArtifactContentReader(mavenResourcesFiltering, reactorProjects)),
-                new ApplicationDescriptorAnalyzer(localRepositoryManager, new ZipArtifactContentReader()));
+            MavenFileFilter mavenFileFilter,
+            List<MavenProject> reactorProjects,
+            TypeHierarchyIndex typeHierarchyIndex) {
+        // readers are shared by the handlers, so that an artifact content is indexed only once per analysis
+        var jarReader = new JarArtifactContentReader(typeHierarchyIndex);
+        var zipReader = new ZipArtifactContentReader();
+        var projectReader = new ProjectArtifactContentReader(mavenFileFilter, reactorProjects);
+        return List.of(new ConnectorAnalyzer(localRepositoryManager, connectorResolver, jarReader),
+                new ConnectorAnalyzer(localRepositoryManager, connectorResolver, projectReader),
+                new CustomPageAnalyzer(localRepositoryManager, zipReader),
+                new CustomPageAnalyzer(localRepositoryManager, projectReader),
+                new ApplicationDescriptorAnalyzer(localRepositoryManager, zipReader));
     }
 
 }
@@ -19,23 +19,23 @@ package org.bonitasoft.plugin.analyze.handler;
 import static java.util.stream.Collectors.toList;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.function.Predicate;
 
 import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.plugin.analyze.ConnectorResolver;
+import org.bonitasoft.plugin.analyze.DefinitionMatcher;
+import org.bonitasoft.plugin.analyze.cache.CacheableAnalysis;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
 import org.bonitasoft.plugin.analyze.report.model.ActorFilterImplementation;
 import org.bonitasoft.plugin.analyze.report.model.ConnectorImplementation;
 import org.bonitasoft.plugin.analyze.report.model.Definition;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.bonitasoft.plugin.analyze.report.model.Implementation;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
-import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
-import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
 import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,8 +44,18 @@ class ConnectorAnalyzer extends AbstractArtifactAnalyzerHandler {
 
     protected static final String CONNECTOR_DESCRIPTOR_EXTENSION = "impl";
 
+    protected static final String DEFINITION_DESCRIPTOR_EXTENSION = "def";
+
+    /** A definition may be shipped without its implementation, which is then matched in another artifact. */
+    private static final List<EntryInterest> ENTRY_INTERESTS = List.of(
+            EntryInterest.suffix("." + CONNECTOR_DESCRIPTOR_EXTENSION),
+            EntryInterest.suffix("." + DEFINITION_DESCRIPTOR_EXTENSION));
+
+    private static final Predicate<Path> DESCRIPTOR = EntryInterest.anyOf(ENTRY_INTERESTS);
+
     protected static final Logger LOGGER = LoggerFactory.getLogger(ConnectorAnalyzer.class);
     private ConnectorResolver connectorResolver;
+    private final DefinitionMatcher definitionMatcher = new DefinitionMatcher();
 
     ConnectorAnalyzer(LocalRepositoryManager localRepositoryManager, ConnectorResolver connectorResolver,
             ArtifactContentReader contentReader) {
@@ -58,6 +68,16 @@ class ConnectorAnalyzer extends AbstractArtifactAnalyzerHandler {
         return super.appliesTo(artifact) && hasConnectorDescriptor(artifact);
     }
 
+    @Override
+    public List<EntryInterest> getEntryInterests() {
+        return ENTRY_INTERESTS;
+    }
+
+    @Override
+    public boolean appliesTo(Artifact artifact, List<Entry> entries) {
+        return entries.stream().map(Entry::path).anyMatch(DESCRIPTOR);
+    }
+
     @Override
     public DependencyReport analyze(Artifact artifact, DependencyReport report) throws IOException {
         var issueCollector = Issue.collector();
@@ -65,41 +85,56 @@ class ConnectorAnalyzer extends AbstractArtifactAnalyzerHandler {
                 issueCollector);
         List<Definition> allDefinitions = connectorResolver.findAllDefinitions(artifact, getContentReader(),
                 issueCollector);
+        return analyze(artifact, allImplementations, allDefinitions, issueCollector, report);
+    }
+
+    @Override
+    public DependencyReport analyze(Artifact artifact, List<Entry> entries, DependencyReport report) {
+        var issueCollector = Issue.collector();
+        List<Implementation> allImplementations = connectorResolver.findAllImplementations(artifact, entries,
+                getContentReader(), issueCollector);
+        List<Definition> allDefinitions = connectorResolver.findAllDefinitions(artifact, entries, issueCollector);
+        return analyze(artifact, allImplementations, allDefinitions, issueCollector, report);
+    }
+
+    private DependencyReport analyze(Artifact artifact, List<Implementation> allImplementations,
+            List<Definition> allDefinitions, Issue.Collector issueCollector, DependencyReport report) {
         List<ConnectorImplementation> connectorImplementations = allImplementations.stream()
                 .filter(ConnectorImplementation.class::isInstance).map(ConnectorImplementation.class::cast)
                 .collect(toList());
         List<ActorFilterImplementation> filterImplementations = allImplementations.stream()
                 .filter(ActorFilterImplementation.class::isInstance).map(ActorFilterImplementation.class::cast)
                 .collect(toList());
-        allDefinitions.stream().filter(def -> hasMatchingImplementation(def, connectorImplementations))
-                .forEach(report::addConnectorDefinition);
-        allDefinitions.stream().filter(def -> hasMatchingImplementation(def, filterImplementations))
-                .forEach(report::addFilterDefinition);
-        allDefinitions.stream()
-                .filter(def -> !hasMatchingImplementation(def,
-                        Stream.of(connectorImplementations, filterImplementations).flatMap(Collection::stream)
-                                .collect(Collectors.toList())))
-                .map(def -> Issue.create(Type.UNKNOWN_DEFINITION_TYPE, String.format(
-                        "%s declares a definition '%s (%s)' but no matching implementation has been found. This definition will be ignored.",
-                        def.getJarEntry(), def.getDefinitionId(), def.getDefinitionVersion()), Severity.WARNING,
-                        artifact.getId()))
-                .forEach(report::addIssue);
+        var connectorKeys = DefinitionMatcher.index(connectorImplementations);
+        var filterKeys = DefinitionMatcher.index(filterImplementations);
+        for (var definition : allDefinitions) {
+            var key = DefinitionMatcher.key(definition);
+            var isConnector = connectorKeys.contains(key);
+            var isFilter = filterKeys.contains(key);
+            if (isConnector) {
+                report.addConnectorDefinition(definition);
+            }
+            if (isFilter) {
+                report.addFilterDefinition(definition);
+            }
+            if (!isConnector && !isFilter) {
+                // the implementation may be in another artifact, which is checked once all artifacts are analyzed
+                report.addIssue(definitionMatcher.addUnresolvedDefinition(definition, artifact.getId()));
+                CacheableAnalysis.dependsOnOtherArtifacts();
+            }
+        }
         connectorImplementations.forEach(report::addConnectorImplementation);
         filterImplementations.forEach(report::addFilterImplementation);
         issueCollector.getIssues().forEach(report::addIssue);
         return report;
     }
 
-    boolean hasMatchingImplementation(Definition def,
-            List<? extends Implementation> connectorImplementations) {
-        return connectorImplementations.stream()
-                .anyMatch(implementation -> Objects.equals(def.getDefinitionId(), implementation.getDefinitionId())
-                        && Objects.equals(def.getDefinitionVersion(), implementation.getDefinitionVersion()));
+    @Override
+    public void complete(DependencyReport report) {
+        definitionMatcher.matchUnresolvedDefinitions(report);
     }
 
     boolean hasConnectorDescriptor(Artifact artifact) {
-        return getContentReader()
-                .hasEntryWithPath(artifact,
-                        path -> path.getFileName().toString().endsWith("." + CONNECTOR_DESCRIPTOR_EXTENSION));
+        return getContentReader().hasEntryWithPath(artifact, DESCRIPTOR);
     }
 }
@@ -21,13 +21,15 @@ import static java.lang.String.format;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
-import java.util.function.Predicate;
 
 import org.apache.maven.artifact.Artifact;
 import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
 import org.bonitasoft.plugin.analyze.report.AnalysisResultReportException;
 import org.bonitasoft.plugin.analyze.report.model.CustomPage;
 import org.bonitasoft.plugin.analyze.report.model.CustomPage.CustomPageType;
@@ -42,6 +44,9 @@ class CustomPageAnalyzer extends AbstractArtifactAnalyzerHandler {
 
     private static final String CUSTOMPAGE_DESCRIPTOR_PROPERTIES = "page.properties";
 
+    private static final EntryInterest CUSTOMPAGE_DESCRIPTOR = EntryInterest
+            .fileName(CUSTOMPAGE_DESCRIPTOR_PROPERTIES);
+
     CustomPageAnalyzer(LocalRepositoryManager localRepositoryManager, ArtifactContentReader contentReader) {
         super(localRepositoryManager, contentReader);
     }
@@ -51,6 +56,16 @@ class CustomPageAnalyzer extends AbstractArtifactAnalyzerHandler {
         return super.appliesTo(artifact) && hasCustomPageDescriptor(artifact);
     }
 
+    @Override
+    public List<EntryInterest> getEntryInterests() {
+        return List.of(CUSTOMPAGE_DESCRIPTOR);
+    }
+
+    @Override
+    public boolean appliesTo(Artifact artifact, List<Entry> entries) {
+        return !entries.isEmpty();
+    }
+
     @Override
     public DependencyReport analyze(Artifact artifact, DependencyReport report) throws IOException {
         var properties = readPageProperties(artifact);
@@ -58,23 +73,35 @@ class CustomPageAnalyzer extends AbstractArtifactAnalyzerHandler {
         return report;
     }
 
+    @Override
+    public DependencyReport analyze(Artifact artifact, List<Entry> entries, DependencyReport report) {
+        var properties = entries.stream().findFirst().map(entry -> loadPageProperties(artifact, entry))
+                .filter(Objects::nonNull);
+        analyzeCustomPageArtifact(artifact, properties.orElseThrow(
+                () -> new IllegalArgumentException(format("No page.properties found in %s", artifact.getFile()))),
+                report);
+        return report;
+    }
+
     Properties readPageProperties(Artifact artifact) throws IOException {
-        Predicate<Path> isPageProperties = path -> path.getFileName().toString()
-                .equals(CUSTOMPAGE_DESCRIPTOR_PROPERTIES);
-        var result = getContentReader().readFirstEntry(artifact, isPageProperties, entry -> {
-            try (var reader = new InputStreamReader(entry.supplier().get(), StandardCharsets.UTF_8)) {
-                Properties prop = new Properties();
-                prop.load(reader);
-                return prop;
-            } catch (IOException e) {
-                getContentReader().logIOException(e, artifact.getFile(), entry.path());
-                return null;
-            }
-        });
+        var result = getContentReader().readFirstEntry(artifact, CUSTOMPAGE_DESCRIPTOR,
+                entry -> loadPageProperties(artifact, entry));
         return result.filter(Objects::nonNull).orElseThrow(
                 () -> new IllegalArgumentException(format("No page.properties found in %s", artifact.getFile())));
     }
 
+    private Properties loadPageProperties(Artifact artifact, Entry entry) {
+        try (var reader = new InputStreamReader(entry.supplier().get(), StandardCharsets.UTF_8)) {
+            Properties prop = new Properties();
+            prop.load(reader);
+            AnalysisMetrics.descriptorParsed();
+            return prop;
+        } catch (IOException e) {
+            getContentReader().logIOException(e, artifact.getFile(), entry.path());
+            return null;
+        }
+    }
+
     void analyzeCustomPageArtifact(Artifact artifact, Properties pageDescriptor, DependencyReport result) {
         String contentType = pageDescriptor.getProperty("contentType");
         CustomPageType customPageType = CustomPageType.valueOf(contentType.toUpperCase());
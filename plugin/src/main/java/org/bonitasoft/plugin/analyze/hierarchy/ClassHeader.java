@@ -0,0 +1,44 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The direct super types of a java class, as declared in its class file.
+ * <p>Names are binary class names (e.g. <code>org.acme.Outer$Inner</code>).</p>
+ * 
+ * @param name the class name
+ * @param superName the super class name, null for <code>java.lang.Object</code> and modules
+ * @param interfaces the directly implemented interfaces names
+ */
+public record ClassHeader(String name, String superName, List<String> interfaces) {
+
+    /**
+     * @return the super class (when any) followed by the interfaces
+     */
+    public List<String> superTypes() {
+        List<String> superTypes = new ArrayList<>(interfaces.size() + 1);
+        if (superName != null) {
+            superTypes.add(superName);
+        }
+        superTypes.addAll(interfaces);
+        return superTypes;
+    }
+
+}
@@ -0,0 +1,126 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the header of a class file: the constant pool, the class name, its super class and its interfaces.
+ * <p>Fields, methods and attributes are not read, and the class is never loaded.</p>
+ * 
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se17/html/jvms-4.html">The class file format</a>
+ */
+public final class ClassHeaderParser {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private ClassHeaderParser() {
+        // utility class
+    }
+
+    /**
+     * Parse the header of a class file.
+     * <p>The input stream is not closed.</p>
+     * 
+     * @param classFile the class file content
+     * @return the class header
+     * @throws IOException when the content can not be read or is not a valid class file
+     */
+    public static ClassHeader parse(InputStream classFile) throws IOException {
+        var input = new DataInputStream(new BufferedInputStream(classFile));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        // minor and major versions
+        input.skipNBytes(4);
+        int poolSize = input.readUnsignedShort();
+        var utf8s = new String[poolSize];
+        var classNameIndexes = new int[poolSize];
+        for (int i = 1; i < poolSize; i++) {
+            int tag = input.readUnsignedByte();
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8s[i] = input.readUTF();
+                    break;
+                case CONSTANT_CLASS:
+                    classNameIndexes[i] = input.readUnsignedShort();
+                    break;
+                case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE:
+                    input.skipNBytes(2);
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    input.skipNBytes(3);
+                    break;
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF,
+                        CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                        CONSTANT_INVOKE_DYNAMIC:
+                    input.skipNBytes(4);
+                    break;
+                case CONSTANT_LONG, CONSTANT_DOUBLE:
+                    input.skipNBytes(8);
+                    // 8-byte constants take two entries in the pool
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+        // access flags
+        input.skipNBytes(2);
+        var name = className(input.readUnsignedShort(), utf8s, classNameIndexes);
+        int superIndex = input.readUnsignedShort();
+        var superName = superIndex == 0 ? null : className(superIndex, utf8s, classNameIndexes);
+        int interfacesCount = input.readUnsignedShort();
+        List<String> interfaces = new ArrayList<>(interfacesCount);
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaces.add(className(input.readUnsignedShort(), utf8s, classNameIndexes));
+        }
+        return new ClassHeader(name, superName, List.copyOf(interfaces));
+    }
+
+    private static String className(int classIndex, String[] utf8s, int[] classNameIndexes) throws IOException {
+        if (classIndex <= 0 || classIndex >= classNameIndexes.length || classNameIndexes[classIndex] == 0
+                || utf8s[classNameIndexes[classIndex]] == null) {
+            throw new IOException("Invalid class reference " + classIndex + " in constant pool");
+        }
+        return utf8s[classNameIndexes[classIndex]].replace('/', '.');
+    }
+
+}
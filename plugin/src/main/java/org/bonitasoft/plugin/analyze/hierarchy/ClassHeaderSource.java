@@ -0,0 +1,47 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Finds the class headers of the classes available in some location (archive, folder...).
+ */
+@FunctionalInterface
+public interface ClassHeaderSource {
+
+    /**
+     * Find the header of a class.
+     * 
+     * @param className the binary name of the class
+     * @return the class header, empty when the class is not available in this source
+     * @throws IOException when the class file can not be read or parsed
+     */
+    Optional<ClassHeader> find(String className) throws IOException;
+
+    /**
+     * Get the relative path of a class file.
+     * 
+     * @param className the binary name of the class
+     * @return the class file path, with '/' separators
+     */
+    static String toClassFilePath(String className) {
+        return className.replace('.', '/') + ".class";
+    }
+
+}
@@ -0,0 +1,216 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipFile;
+
+import org.bonitasoft.plugin.analyze.content.ArtifactIndex;
+import org.bonitasoft.plugin.analyze.content.ArtifactIndex.IndexedEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds class headers across several jars and class directories (e.g. all the jars of an analysis or the classpath of
+ * a module).
+ * <p>It resolves the super types which are not packaged with the analyzed implementation, but in another dependency.
+ * The jars are only listed on the first lookup, from their central directory, and only their package names are kept
+ * with the indexes of the last read jars. Class directories are never listed, class files are looked up directly.
+ * Each class header is read at most once.</p>
+ */
+public class TypeHierarchyIndex implements ClassHeaderSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TypeHierarchyIndex.class);
+
+    /** Super types are packaged in a few jars only, so only the indexes of the last read jars are kept. */
+    private static final int MAX_CACHED_INDEXES = 64;
+
+    private final Set<File> directories = new LinkedHashSet<>();
+
+    private final Set<File> archives = new LinkedHashSet<>();
+
+    /** Jars containing each package, with '/' separators. Guarded by this, null until the first lookup. */
+    private Map<String, List<File>> archivesByPackage;
+
+    private final Map<String, Optional<ClassHeader>> headers = new ConcurrentHashMap<>();
+
+    /** Indexes of the last read jars. Guarded by itself. */
+    private final Map<File, ArtifactIndex> indexes = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, ArtifactIndex> eldest) {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    };
+
+    /**
+     * Register the jar files and class directories providing classes. Other files are ignored.
+     * 
+     * @param files the jar files and class directories
+     */
+    public synchronized void register(Collection<File> files) {
+        var changed = false;
+        for (var file : files) {
+            if (file == null) {
+                continue;
+            }
+            if (file.isFile() && file.getName().endsWith(".jar")) {
+                changed |= archives.add(file.getAbsoluteFile());
+            } else if (file.isDirectory()) {
+                changed |= directories.add(file.getAbsoluteFile());
+            }
+        }
+        if (changed) {
+            archivesByPackage = null;
+            headers.clear();
+        }
+    }
+
+    @Override
+    public Optional<ClassHeader> find(String className) {
+        if (isPlatformType(className)) {
+            return Optional.empty();
+        }
+        var header = headers.get(className);
+        if (header == null) {
+            header = lookup(className);
+            headers.put(className, header);
+        }
+        return header;
+    }
+
+    /**
+     * Tell whether a class belongs to the Java platform: such classes are never packaged in dependencies.
+     * 
+     * @param className the binary name of the class
+     * @return true for the platform classes
+     */
+    public static boolean isPlatformType(String className) {
+        return className.startsWith("java.");
+    }
+
+    private Optional<ClassHeader> lookup(String className) {
+        var classFilePath = ClassHeaderSource.toClassFilePath(className);
+        for (var directory : classDirectories()) {
+            var classFile = directory.toPath().resolve(classFilePath);
+            if (Files.isRegularFile(classFile)) {
+                try (InputStream is = Files.newInputStream(classFile)) {
+                    return Optional.of(ClassHeaderParser.parse(is));
+                } catch (IOException e) {
+                    LOGGER.debug("Failed to read class {} from {}", className, directory, e);
+                }
+            }
+        }
+        var packagePath = classFilePath.substring(0, classFilePath.lastIndexOf('/') + 1);
+        for (var archive : archivesContaining(packagePath)) {
+            try {
+                var header = readClassHeader(archive, classFilePath);
+                if (header.isPresent()) {
+                    return header;
+                }
+            } catch (IOException e) {
+                LOGGER.debug("Failed to read class {} from {}", className, archive, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<ClassHeader> readClassHeader(File archive, String classFilePath) throws IOException {
+        var index = getIndex(archive);
+        if (index.getEntry(classFilePath).isEmpty()) {
+            return Optional.empty();
+        }
+        var centralDirectory = index.getCentralDirectory();
+        if (centralDirectory.isPresent()) {
+            try (var channel = FileChannel.open(archive.toPath(), StandardOpenOption.READ);
+                    InputStream is = centralDirectory.get().getInputStream(channel, classFilePath)) {
+                return Optional.of(ClassHeaderParser.parse(is));
+            }
+        }
+        // archives which are not supported by the central directory reader (e.g. ZIP64)
+        try (var zipFile = new ZipFile(archive)) {
+            var entry = zipFile.getEntry(classFilePath);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            try (InputStream is = zipFile.getInputStream(entry)) {
+                return Optional.of(ClassHeaderParser.parse(is));
+            }
+        }
+    }
+
+    private ArtifactIndex getIndex(File archive) throws IOException {
+        ArtifactIndex index;
+        synchronized (indexes) {
+            index = indexes.get(archive);
+        }
+        if (index == null || index.isStale()) {
+            index = ArtifactIndex.of(archive);
+            synchronized (indexes) {
+                indexes.put(archive, index);
+            }
+        }
+        return index;
+    }
+
+    private synchronized List<File> classDirectories() {
+        return List.copyOf(directories);
+    }
+
+    private synchronized List<File> archivesContaining(String packagePath) {
+        if (archivesByPackage == null) {
+            archivesByPackage = indexPackages();
+        }
+        return archivesByPackage.getOrDefault(packagePath, List.of());
+    }
+
+    private Map<String, List<File>> indexPackages() {
+        Map<String, List<File>> packages = new HashMap<>();
+        for (var archive : archives) {
+            try {
+                getIndex(archive).getEntries().stream()
+                        .map(IndexedEntry::name)
+                        .filter(name -> name.endsWith(".class"))
+                        .map(name -> name.substring(0, name.lastIndexOf('/') + 1))
+                        .distinct()
+                        .forEach(packagePath -> packages.computeIfAbsent(packagePath, p -> new ArrayList<>())
+                                .add(archive));
+            } catch (IOException e) {
+                LOGGER.debug("Failed to list classes of {}", archive, e);
+            }
+        }
+        return packages;
+    }
+
+}
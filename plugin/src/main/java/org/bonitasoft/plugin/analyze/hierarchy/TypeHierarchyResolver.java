@@ -0,0 +1,86 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the type hierarchy of classes by walking their class headers.
+ * <p>Headers are memoized, so that each class file is parsed at most once by a resolver. Super types which are not
+ * available in the source are part of the hierarchy, but their own super types are not.</p>
+ */
+public class TypeHierarchyResolver {
+
+    private final Map<String, Optional<ClassHeader>> headers = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve all the super types of a class.
+     * 
+     * @param className the binary name of the class
+     * @param source the source of the class headers
+     * @return the names of all super classes and interfaces of the class
+     * @throws ClassNotFoundException when the class is not available in the source
+     * @throws IOException when a class file can not be read or parsed
+     */
+    public Set<String> resolveHierarchy(String className, ClassHeaderSource source)
+            throws ClassNotFoundException, IOException {
+        return resolveHierarchy(className, source, Set.of());
+    }
+
+    /**
+     * Resolve the super types of a class, without walking through the given stop types.
+     * 
+     * @param className the binary name of the class
+     * @param source the source of the class headers
+     * @param stopTypes super types which are part of the hierarchy, but whose own super types are not needed
+     * @return the names of the super classes and interfaces of the class
+     * @throws ClassNotFoundException when the class is not available in the source
+     * @throws IOException when a class file can not be read or parsed
+     */
+    public Set<String> resolveHierarchy(String className, ClassHeaderSource source, Set<String> stopTypes)
+            throws ClassNotFoundException, IOException {
+        var header = findHeader(className, source).orElseThrow(() -> new ClassNotFoundException(className));
+        Set<String> hierarchy = new LinkedHashSet<>();
+        Deque<ClassHeader> toVisit = new ArrayDeque<>();
+        toVisit.add(header);
+        while (!toVisit.isEmpty()) {
+            for (String superType : toVisit.poll().superTypes()) {
+                if (hierarchy.add(superType) && !stopTypes.contains(superType)) {
+                    findHeader(superType, source).ifPresent(toVisit::add);
+                }
+            }
+        }
+        return hierarchy;
+    }
+
+    private Optional<ClassHeader> findHeader(String className, ClassHeaderSource source) throws IOException {
+        var header = headers.get(className);
+        if (header == null) {
+            header = source.find(className);
+            headers.put(className, header);
+        }
+        return header;
+    }
+
+}
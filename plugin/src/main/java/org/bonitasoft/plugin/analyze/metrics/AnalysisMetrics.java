@@ -0,0 +1,142 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
+import org.bonitasoft.plugin.analyze.report.model.ArtifactMetrics;
+
+/**
+ * Records the measures of the artifact analyzed by the current thread.
+ * <p>An artifact is analyzed by a single thread, so the content readers and the handlers record their measures
+ * without knowing which artifact is analyzed. Nothing is recorded outside of {@link #start()} and
+ * {@link #stop(ArtifactMetrics)}, which is the case when metrics are not requested.</p>
+ */
+public final class AnalysisMetrics {
+
+    private static final ThreadLocal<Counters> COUNTERS = new ThreadLocal<>();
+
+    private static final class Counters {
+
+        private long entriesScanned;
+        private long bytesInflated;
+        private long descriptorsParsed;
+    }
+
+    private AnalysisMetrics() {
+        // utility class
+    }
+
+    /**
+     * Start recording the measures of an artifact analyzed by the current thread.
+     */
+    public static void start() {
+        COUNTERS.set(new Counters());
+    }
+
+    /**
+     * Stop recording the measures of the current thread.
+     * 
+     * @param metrics the artifact metrics to complete with the recorded measures
+     */
+    public static void stop(ArtifactMetrics metrics) {
+        var counters = COUNTERS.get();
+        COUNTERS.remove();
+        if (counters != null) {
+            metrics.setEntriesScanned(counters.entriesScanned);
+            metrics.setBytesInflated(counters.bytesInflated);
+            metrics.setDescriptorsParsed(counters.descriptorsParsed);
+        }
+    }
+
+    /**
+     * Count the entries tested by a predicate on the artifact content.
+     * 
+     * @param predicateOnPath the predicate testing on entry path
+     * @return the counting predicate, or the predicate itself when nothing is recorded
+     */
+    public static Predicate<Path> countScannedEntries(Predicate<Path> predicateOnPath) {
+        var counters = COUNTERS.get();
+        if (counters == null) {
+            return predicateOnPath;
+        }
+        if (predicateOnPath instanceof EntryInterest interest) {
+            // keep the interest, so that archive entries are still tested on their raw name
+            return interest.peek(() -> counters.entriesScanned++);
+        }
+        return path -> {
+            counters.entriesScanned++;
+            return predicateOnPath.test(path);
+        };
+    }
+
+    /**
+     * Count the bytes read from an artifact entry.
+     * 
+     * @param entryContent the entry content, may be null
+     * @return the counting input stream, or the input stream itself when nothing is recorded
+     */
+    public static InputStream countInflatedBytes(InputStream entryContent) {
+        var counters = COUNTERS.get();
+        if (counters == null || entryContent == null) {
+            return entryContent;
+        }
+        return new FilterInputStream(entryContent) {
+
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    counters.bytesInflated++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int count = super.read(b, off, len);
+                if (count > 0) {
+                    counters.bytesInflated += count;
+                }
+                return count;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long count = super.skip(n);
+                counters.bytesInflated += count;
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Count a parsed descriptor.
+     */
+    public static void descriptorParsed() {
+        var counters = COUNTERS.get();
+        if (counters != null) {
+            counters.descriptorsParsed++;
+        }
+    }
+
+}
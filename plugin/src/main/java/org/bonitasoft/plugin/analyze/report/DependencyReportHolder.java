@@ -0,0 +1,65 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.report;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Named;
+
+import org.apache.maven.SessionScoped;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+
+/**
+ * Holds the dependency reports produced during the current maven session, by report file.
+ * <p>Mojos executed after the analysis in the same session get the report from memory, so that the report file is
+ * only read when it was produced by an earlier build.</p>
+ */
+@SessionScoped
+@Named
+public class DependencyReportHolder {
+
+    private final Map<Path, DependencyReport> reports = new ConcurrentHashMap<>();
+
+    /**
+     * Hold the report produced in this session.
+     * 
+     * @param reportFile the file the report is written to
+     * @param report the dependency report
+     */
+    public void put(File reportFile, DependencyReport report) {
+        reports.put(toKey(reportFile), report);
+    }
+
+    /**
+     * Get the report produced in this session.
+     * 
+     * @param reportFile the file the report is written to
+     * @return the dependency report, empty when it was not produced in this session
+     */
+    public Optional<DependencyReport> get(File reportFile) {
+        return Optional.ofNullable(reports.get(toKey(reportFile)));
+    }
+
+    private static Path toKey(File reportFile) {
+        return reportFile.toPath().toAbsolutePath().normalize();
+    }
+
+}
@@ -18,6 +18,8 @@ package org.bonitasoft.plugin.analyze.report;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 
@@ -36,7 +38,12 @@ public class JsonDependencyReporter implements DependencyReporter {
             if (!parentFile.exists()) {
                 parentFile.mkdirs();
             }
-            DependencyReporter.OBJECT_MAPPER.writeValue(outputFile, dependencyReport);
+            var content = DependencyReporter.OBJECT_MAPPER.writeValueAsBytes(dependencyReport);
+            // keep the previous report untouched when identical, so that later goals can see it is up to date
+            if (outputFile.isFile() && Arrays.equals(Files.readAllBytes(outputFile.toPath()), content)) {
+                return;
+            }
+            Files.write(outputFile.toPath(), content);
         } catch (IOException e) {
             throw new AnalysisResultReportException("Failed to generate report", e);
         }
@@ -18,9 +18,12 @@ package org.bonitasoft.plugin.analyze.report;
 
 import static java.lang.String.format;
 
+import java.util.Comparator;
+
 import org.apache.maven.plugin.logging.Log;
 import org.bonitasoft.plugin.analyze.report.model.ApplicationDescriptor;
 import org.bonitasoft.plugin.analyze.report.model.Artifact;
+import org.bonitasoft.plugin.analyze.report.model.ArtifactMetrics;
 import org.bonitasoft.plugin.analyze.report.model.CustomPage;
 import org.bonitasoft.plugin.analyze.report.model.Definition;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
@@ -29,6 +32,8 @@ import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
 
 public class LogDependencyReporter implements DependencyReporter {
 
+    static final int TOP_SLOWEST_ARTIFACTS = 10;
+
     private final Log log;
 
     public LogDependencyReporter(Log log) {
@@ -59,6 +64,12 @@ public class LogDependencyReporter implements DependencyReporter {
                 + asStringLocation(descriptor.getArtifact());
     }
 
+    private static String asString(ArtifactMetrics metrics) {
+        return format("%s: %.1f ms, %s entries scanned, %s bytes inflated, %s descriptors parsed%s",
+                metrics.getArtifact(), metrics.getTotalMicros() / 1000d, metrics.getEntriesScanned(),
+                metrics.getBytesInflated(), metrics.getDescriptorsParsed(), metrics.isCached() ? " (cached)" : "");
+    }
+
     @Override
     public void report(DependencyReport dependencyReport) {
         dependencyReport.getIssues().stream()
@@ -102,5 +113,14 @@ public class LogDependencyReporter implements DependencyReporter {
         log.info(format("=== %s Application Descriptors found ===",
                 dependencyReport.getApplicationDescriptors().size()));
         dependencyReport.getApplicationDescriptors().stream().map(LogDependencyReporter::asString).forEach(log::info);
+
+        if (!dependencyReport.getMetrics().isEmpty()) {
+            log.info(format("=== Top %s slowest artifacts ===", TOP_SLOWEST_ARTIFACTS));
+            dependencyReport.getMetrics().stream()
+                    .sorted(Comparator.comparingLong(ArtifactMetrics::getTotalMicros).reversed())
+                    .limit(TOP_SLOWEST_ARTIFACTS)
+                    .map(LogDependencyReporter::asString)
+                    .forEach(log::info);
+        }
     }
 }
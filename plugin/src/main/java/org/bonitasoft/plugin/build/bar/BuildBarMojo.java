@@ -51,6 +51,7 @@ import org.bonitasoft.bonita2bar.form.FormBuilder;
 import org.bonitasoft.bpm.model.process.util.migration.MigrationPolicy;
 import org.bonitasoft.plugin.AbstractBuildMojo;
 import org.bonitasoft.plugin.MavenSessionExecutor;
+import org.bonitasoft.plugin.analyze.report.DependencyReportHolder;
 import org.bonitasoft.plugin.analyze.report.DependencyReporter;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.bonitasoft.plugin.analyze.report.model.Implementation;
@@ -126,6 +127,11 @@ public class BuildBarMojo extends AbstractBuildMojo {
      */
     private MavenProjectHelper projectHelper;
 
+    /**
+     * Reports produced by the analysis in the current session.
+     */
+    private DependencyReportHolder reportHolder;
+
     /**
      * Maven session.
      */
@@ -133,8 +139,9 @@ public class BuildBarMojo extends AbstractBuildMojo {
     private MavenSession session;
 
     @Inject
-    public BuildBarMojo(MavenProjectHelper projectHelper) {
+    public BuildBarMojo(MavenProjectHelper projectHelper, DependencyReportHolder reportHolder) {
         this.projectHelper = projectHelper;
+        this.reportHolder = reportHolder;
     }
 
     @Override
@@ -145,9 +152,7 @@ public class BuildBarMojo extends AbstractBuildMojo {
                 : MigrationPolicy.NEVER_MIGRATE_POLICY;
         var processRegistry = ProcessRegistry.of(selectedProcFiles(), migrationPolicy);
         var reportFile = outputDirectory.toPath().resolve("bonita-dependencies.json").toFile();
-        if (!reportFile.exists()) {
-            throw new MojoExecutionException("Dependency report is missing");
-        }
+        var dependencyReport = getDependencyReport(reportFile);
         if (allowEmptyFormMapping) {
             getLog().warn(
                     "Empty form mapping is enabled. Processes without a form mapping will be unresolved after deployment.");
@@ -161,7 +166,7 @@ public class BuildBarMojo extends AbstractBuildMojo {
         try {
             barBuilder = BarBuilderFactory.create(BuildConfig.builder()
                     .processRegistry(processRegistry)
-                    .connectorImplementationRegistry(getConnectorImplementationRegistry(reportFile))
+                    .connectorImplementationRegistry(getConnectorImplementationRegistry(dependencyReport))
                     .allowEmptyFormMapping(allowEmptyFormMapping)
                     .includeParameters(includeParameters)
                     .mavenProject(project)
@@ -208,13 +213,30 @@ public class BuildBarMojo extends AbstractBuildMojo {
         return configurationFileName;
     }
 
-    ConnectorImplementationRegistry getConnectorImplementationRegistry(File reportFile) throws MojoExecutionException {
-        DependencyReport dependencyReport = new DependencyReport();
+    /**
+     * Get the dependency report of the analysis executed in this session, or read it from the report file when it was
+     * produced by an earlier build.
+     * 
+     * @param reportFile the dependency report file
+     * @return the dependency report
+     * @throws MojoExecutionException when the report is missing
+     */
+    DependencyReport getDependencyReport(File reportFile) throws MojoExecutionException {
+        var heldReport = reportHolder.get(reportFile);
+        if (heldReport.isPresent()) {
+            return heldReport.get();
+        }
+        if (!reportFile.exists()) {
+            throw new MojoExecutionException("Dependency report is missing");
+        }
         try {
-            dependencyReport = DependencyReporter.OBJECT_MAPPER.readValue(reportFile, DependencyReport.class);
+            return DependencyReporter.OBJECT_MAPPER.readValue(reportFile, DependencyReport.class);
         } catch (IOException e) {
             throw new MojoExecutionException("Dependency report is missing");
         }
+    }
+
+    ConnectorImplementationRegistry getConnectorImplementationRegistry(DependencyReport dependencyReport) {
         var implementations = new ArrayList<ConnectorImplementationJar>();
         dependencyReport.getConnectorImplementations().stream()
                 .map(BuildBarMojo::toConnectorImplementationJar)
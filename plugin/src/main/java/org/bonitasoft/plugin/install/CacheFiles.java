@@ -0,0 +1,78 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Reads and writes the properties files of the install cache.
+ * <p>Files are replaced atomically, so that builds sharing the cache directory never read a partial file.</p>
+ */
+final class CacheFiles {
+
+    private CacheFiles() {
+        // utility class
+    }
+
+    /**
+     * Load a cache file.
+     * 
+     * @param file the cache file
+     * @return the loaded properties, empty when the file is missing or unreadable
+     */
+    static Optional<Properties> load(Path file) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        var properties = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            properties.load(is);
+            return Optional.of(properties);
+        } catch (IOException | IllegalArgumentException e) {
+            // an unreadable cache file is ignored, and replaced on save
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replace a cache file.
+     * 
+     * @param file the cache file
+     * @param properties the properties to write
+     * @throws IOException exception writing the cache file
+     */
+    static void store(Path file, Properties properties) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tempFile)) {
+                properties.store(os, null);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+}
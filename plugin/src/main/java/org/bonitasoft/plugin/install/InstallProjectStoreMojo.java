@@ -24,19 +24,25 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.jar.JarFile;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 
 import javax.inject.Inject;
 
 import org.apache.maven.Maven;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.DefaultMavenExecutionRequest;
 import org.apache.maven.execution.MavenExecutionRequest;
@@ -69,13 +75,21 @@ import org.apache.maven.project.ProjectBuildingException;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.project.ProjectBuildingResult;
 import org.apache.maven.project.artifact.InvalidDependencyVersionException;
-import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
-import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
+import org.bonitasoft.plugin.Digests;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.installation.InstallRequest;
+import org.eclipse.aether.installation.InstallationException;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 
 /**
  * This mojo looks for unknown dependencies in the current project
  * and look for them in a project local dependency store (.store folder by default).
  * Install missing dependencies found in the local store in the local repository.
+ * A dependency is missing when the local repository has no file for it, or a file with a different checksum: no remote
+ * repository is queried.
+ * They are installed directly with the repository system, the install plugin is only executed for each dependency
+ * when the direct installation fails.
  */
 @Mojo(name = "install", defaultPhase = LifecyclePhase.NONE)
 public class InstallProjectStoreMojo extends AbstractMojo {
@@ -96,7 +110,7 @@ public class InstallProjectStoreMojo extends AbstractMojo {
      * Project store where dependencies are stored
      */
     @Parameter(defaultValue = ".store", required = true)
-    private File projectStore;
+    File projectStore;
 
     @Component
     private Maven maven;
@@ -108,16 +122,16 @@ public class InstallProjectStoreMojo extends AbstractMojo {
     MavenExecutionRequestPopulator execRequestPopulator;
 
     @Component
-    private ArtifactResolver artifactResolver;
+    PluginVersionResolver pluginVersionResolver;
 
     @Component
-    PluginVersionResolver pluginVersionResolver;
+    RepositorySystem repositorySystem;
 
     @Component
-    private ProjectBuilder projectBuilder;
+    ProjectBuilder projectBuilder;
 
     @Parameter(defaultValue = "${project.build.directory}", required = true, readonly = true)
-    private File buildDirectory;
+    File buildDirectory;
 
     /**
      * Remote repositories which will be searched for artifacts.
@@ -131,6 +145,25 @@ public class InstallProjectStoreMojo extends AbstractMojo {
     @Parameter(defaultValue = "${localRepository}", readonly = true, required = true)
     protected ArtifactRepository localRepository;
 
+    /**
+     * Index the project store files, and remember by checksum whether the POM embedded in a store artifact can be
+     * installed, instead of opening and building it again on each build. The goal is skipped while the project store,
+     * the project dependencies and the installed files did not change since the last installation.
+     */
+    @Parameter(defaultValue = "true", property = "bonita.install.useCache")
+    boolean useCache = true;
+
+    /**
+     * Directory of the install cache. It can be shared between builds.
+     */
+    @Parameter(defaultValue = "${settings.localRepository}/.cache/bonita-project-maven-plugin/install",
+            property = "bonita.install.cacheDirectory")
+    File cacheDirectory;
+
+    PomDecisionCache pomDecisionCache;
+
+    StoreIndex storeIndex = new StoreIndex(null);
+
     private ModelReader modelReader;
     private ModelWriter modelWriter;
     private ProjectArtifactFactory artifactFactory;
@@ -148,38 +181,211 @@ public class InstallProjectStoreMojo extends AbstractMojo {
         if (!projectStore.exists()) {
             return;
         }
-        String installPluginVersion = computeMavenInstallPluginVersion();
+        Path cachePath = useCache && cacheDirectory != null ? cacheDirectory.toPath() : null;
+        StoreInstallState installState = null;
+        String installDigest = null;
+        if (cachePath != null) {
+            installState = new StoreInstallState(StoreInstallState.stateFile(cachePath, projectStore.toPath()));
+            installDigest = computeInstallDigest();
+            if (installDigest != null && installState.isUpToDate(installDigest)) {
+                getLog().debug("The project store did not change since its last installation.");
+                return;
+            }
+        }
+        storeIndex = new StoreIndex(cachePath != null ? StoreIndex.indexFile(cachePath, projectStore.toPath()) : null);
+        pomDecisionCache = new PomDecisionCache(cachePath, Path.of(localRepository.getBasedir()));
+        try {
+            List<StoreArtifact> storeArtifacts = findStoreArtifacts();
+            List<StoreArtifact> artifactsToInstall = new ArrayList<>();
+            for (StoreArtifact storeArtifact : storeArtifacts) {
+                if (isMissingFromLocalRepository(storeArtifact.artifact(), storeArtifact.file())) {
+                    artifactsToInstall.add(storeArtifact);
+                }
+            }
+            if (!artifactsToInstall.isEmpty()) {
+                install(artifactsToInstall);
+            }
+            if (installDigest != null) {
+                saveInstallState(installState, installDigest, storeArtifacts);
+            }
+        } finally {
+            saveCaches();
+        }
+    }
+
+    private String computeInstallDigest() {
+        try {
+            return StoreInstallState.digest(projectStore.toPath(), project.getDependencies(),
+                    localRepository.getBasedir());
+        } catch (IOException e) {
+            getLog().debug("Failed to compute the digest of the project store.", e);
+            return null;
+        }
+    }
+
+    private void saveInstallState(StoreInstallState installState, String installDigest,
+            List<StoreArtifact> storeArtifacts) {
+        try {
+            installState.save(installDigest, storeArtifacts.stream()
+                    .map(storeArtifact -> getInstalledFile(storeArtifact.artifact()))
+                    .collect(Collectors.toList()));
+        } catch (IOException e) {
+            getLog().warn("Failed to save the install cache in " + cacheDirectory, e);
+        }
+    }
+
+    private List<StoreArtifact> findStoreArtifacts() throws MojoExecutionException {
         Set<Artifact> projectArtifacts = getProjectArtifacts();
+        List<StoreArtifact> storeArtifacts = new ArrayList<>();
         for (Artifact artifact : projectArtifacts) {
             File artifactFile = findFileInProjectStore(artifact);
             if (artifactFile.exists()) {
-                installFileToLocalRepository(artifact, artifactFile, installPluginVersion);
+                storeArtifacts.add(new StoreArtifact(artifact, artifactFile));
             }
         }
+        return storeArtifacts;
     }
 
-    private void installFileToLocalRepository(Artifact artifact, File artifactFile, String installPluginVersion)
-            throws MojoExecutionException {
-        if (artifact.isSnapshot()) { // Always update SNAPSHOT dependencies
-            try {
-                installArtifact(artifact, artifactFile, installPluginVersion);
-            } catch (InstallFileExecutionException e) {
-                throw new MojoExecutionException(e.getMessage(), e);
-            }
-        } else {
-            ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
-            try {
-                artifactResolver.resolveArtifact(buildingRequest, artifact);
-            } catch (IllegalArgumentException e) {
-                throw new MojoExecutionException(String.format("Failed to resolve artifact %s", artifact), e);
-            } catch (ArtifactResolverException e) {
+    private void install(List<StoreArtifact> storeArtifacts) throws MojoExecutionException {
+        try {
+            installToLocalRepository(storeArtifacts);
+        } catch (InstallFileExecutionException e) {
+            getLog().warn("Failed to install the project store artifacts directly, "
+                    + "falling back to the install plugin for each artifact.", e);
+            String installPluginVersion = computeMavenInstallPluginVersion();
+            for (StoreArtifact storeArtifact : storeArtifacts) {
                 try {
-                    installArtifact(artifact, artifactFile, installPluginVersion);
+                    installArtifact(storeArtifact.artifact(), storeArtifact.file(), installPluginVersion);
                 } catch (InstallFileExecutionException ex) {
                     throw new MojoExecutionException(ex.getMessage(), ex);
                 }
             }
         }
+        for (StoreArtifact storeArtifact : storeArtifacts) {
+            storeIndex.markInstalled(storeArtifact.file(), getInstalledFile(storeArtifact.artifact()));
+        }
+    }
+
+    private void saveCaches() {
+        try {
+            storeIndex.save();
+            if (pomDecisionCache != null) {
+                pomDecisionCache.save();
+            }
+        } catch (IOException e) {
+            getLog().warn("Failed to save the install cache in " + cacheDirectory, e);
+        }
+    }
+
+    /**
+     * An artifact of the project store to install in the local repository.
+     */
+    static record StoreArtifact(Artifact artifact, File file) {
+    }
+
+    /**
+     * Test whether the store artifact must be installed, without reaching any remote repository.
+     * <p>It must be installed when it is missing from the local repository or when the installed file differs from the
+     * store file (compared by size, then by SHA-1). The store index remembers the installed files known to be
+     * identical, so they are not compared again while unchanged.</p>
+     * 
+     * @param artifact the artifact to test
+     * @param artifactFile the artifact file in the project store
+     * @return true when the artifact is missing from the local repository or different
+     * @throws MojoExecutionException when the files cannot be compared
+     */
+    boolean isMissingFromLocalRepository(Artifact artifact, File artifactFile) throws MojoExecutionException {
+        File installedFile = getInstalledFile(artifact);
+        if (!installedFile.isFile() || installedFile.length() != artifactFile.length()) {
+            return true;
+        }
+        try {
+            var indexEntry = storeIndex.index(artifact, artifactFile, this::findPomEntry);
+            if (storeIndex.isInstalled(indexEntry, installedFile)) {
+                return false;
+            }
+            if (!indexEntry.sha1().equals(Digests.sha1(installedFile.toPath()))) {
+                return true;
+            }
+            storeIndex.markInstalled(artifactFile, installedFile);
+            return false;
+        } catch (IOException e) {
+            throw new MojoExecutionException(String.format("Failed to compare artifact %s with %s", artifact,
+                    installedFile), e);
+        }
+    }
+
+    private File getInstalledFile(Artifact artifact) {
+        return new File(localRepository.getBasedir(), localRepository.pathOf(artifact));
+    }
+
+    private File getInstalledPomFile(Artifact artifact) {
+        return getInstalledFile(new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(),
+                artifact.getVersion(), null, "pom", null, new DefaultArtifactHandler("pom")));
+    }
+
+    /**
+     * Install the store artifacts with the repository system, in two batched requests instead of one install plugin
+     * execution per artifact.
+     * <p>The files are installed first, so that the POM embedded in an artifact can be used when its dependencies are
+     * other store artifacts. The POMs are installed next.</p>
+     * 
+     * @param storeArtifacts the store artifacts to install
+     * @throws InstallFileExecutionException when an installation fails
+     */
+    void installToLocalRepository(List<StoreArtifact> storeArtifacts) throws InstallFileExecutionException {
+        var repositorySession = session.getRepositorySession();
+        var fileRequest = new InstallRequest();
+        for (StoreArtifact storeArtifact : storeArtifacts) {
+            var artifact = storeArtifact.artifact();
+            fileRequest.addArtifact(new org.eclipse.aether.artifact.DefaultArtifact(artifact.getGroupId(),
+                    artifact.getArtifactId(), artifact.getClassifier(), artifact.getType(), artifact.getVersion())
+                    .setFile(storeArtifact.file()));
+        }
+        List<File> pomFiles = new ArrayList<>();
+        try {
+            repositorySystem.install(repositorySession, fileRequest);
+            Map<String, StoreArtifact> pomArtifacts = new LinkedHashMap<>();
+            for (StoreArtifact storeArtifact : storeArtifacts) {
+                var artifact = storeArtifact.artifact();
+                var key = String.join(":", artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion());
+                // the POM of a classified artifact is only used when the main artifact is not in the store
+                if (artifact.getClassifier() == null) {
+                    pomArtifacts.put(key, storeArtifact);
+                } else {
+                    pomArtifacts.putIfAbsent(key, storeArtifact);
+                }
+            }
+            var pomRequest = new InstallRequest();
+            for (StoreArtifact storeArtifact : pomArtifacts.values()) {
+                var artifact = storeArtifact.artifact();
+                // nor when the main artifact POM is already installed, which must not be replaced by a dummy POM
+                if (artifact.getClassifier() != null && getInstalledPomFile(artifact).isFile()) {
+                    continue;
+                }
+                File pomFile = createPomFile(artifact, storeArtifact.file());
+                pomFiles.add(pomFile);
+                pomRequest.addArtifact(new org.eclipse.aether.artifact.DefaultArtifact(artifact.getGroupId(),
+                        artifact.getArtifactId(), "pom", artifact.getVersion()).setFile(pomFile));
+            }
+            if (!pomRequest.getArtifacts().isEmpty()) {
+                repositorySystem.install(repositorySession, pomRequest);
+            }
+        } catch (IOException | InstallationException e) {
+            throw new InstallFileExecutionException("Failed to install the project store artifacts.", e);
+        } finally {
+            deletePomFiles(pomFiles);
+        }
+    }
+
+    private void deletePomFiles(List<File> pomFiles) {
+        for (File pomFile : pomFiles) {
+            try {
+                Files.deleteIfExists(pomFile.toPath());
+            } catch (IOException e) {
+                getLog().error(e);
+            }
+        }
     }
 
     String computeMavenInstallPluginVersion() throws MojoExecutionException {
@@ -207,7 +413,7 @@ public class InstallProjectStoreMojo extends AbstractMojo {
             throws InstallFileExecutionException {
         File pomFile = null;
         try {
-            if (shouldCreateDummyPomFile(artifactFile)) {
+            if (shouldCreateDummyPomFile(artifact, artifactFile)) {
                 pomFile = createDummyPomFile(artifact);
             }
             MavenExecutionResult executionResult = maven
@@ -229,30 +435,92 @@ public class InstallProjectStoreMojo extends AbstractMojo {
 
     }
 
-    private boolean shouldCreateDummyPomFile(File artifactFile) throws IOException {
-        Optional<Model> existingPom = findPomFile(artifactFile);
-        if (existingPom.isPresent()) {
-            var pomFile = Files.createTempFile("pom", ".xml").toFile();
-            try (var fos = new FileOutputStream(pomFile)) {
-                Model model = existingPom.orElseThrow();
-                modelWriter.write(fos, null, model);
-                ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
-                buildingRequest.setProcessPlugins(false);
-                buildingRequest.setResolveDependencies(true);
-                buildingRequest.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
-                ProjectBuildingResult buildingResult = projectBuilder
-                        .build(pomFile, buildingRequest);
-                DependencyResolutionResult dependencyResolutionResult = buildingResult.getDependencyResolutionResult();
-                return !dependencyResolutionResult.getUnresolvedDependencies().isEmpty();
-            } catch (ProjectBuildingException e) {
-                return true;
-            } finally {
-                Files.deleteIfExists(pomFile.toPath());
-            }
+    private boolean shouldCreateDummyPomFile(Artifact artifact, File artifactFile) throws IOException {
+        var indexEntry = storeIndex.index(artifact, artifactFile, this::findPomEntry);
+        Optional<Model> existingPom = readPomEntry(artifactFile, indexEntry.pomEntry());
+        return existingPom.isPresent() && hasUnresolvedDependencies(indexEntry.sha1(), existingPom.get());
+    }
+
+    /**
+     * Create the POM file to install with an artifact: the POM embedded in the artifact when its dependencies can be
+     * resolved, a minimal POM otherwise.
+     * 
+     * @param artifact the artifact to install
+     * @param artifactFile the artifact file in the project store
+     * @return the created POM file, to delete once installed
+     * @throws IOException exception writing the POM file
+     */
+    private File createPomFile(Artifact artifact, File artifactFile) throws IOException {
+        var indexEntry = storeIndex.index(artifact, artifactFile, this::findPomEntry);
+        Optional<Model> existingPom = readPomEntry(artifactFile, indexEntry.pomEntry());
+        if (existingPom.isPresent() && !hasUnresolvedDependencies(indexEntry.sha1(), existingPom.get())) {
+            return writePomFile(existingPom.get());
+        }
+        return createDummyPomFile(artifact);
+    }
+
+    /**
+     * Test whether the dependencies of the POM embedded in an artifact cannot be resolved.
+     * <p>The decision is cached by artifact checksum, along with the paths of the dependencies in the local
+     * repository, so that the POM is only built again once they change.</p>
+     * 
+     * @param checksum the SHA-1 checksum of the artifact file
+     * @param model the POM embedded in the artifact
+     * @return true when some dependencies cannot be resolved
+     * @throws IOException exception writing the POM file
+     */
+    private boolean hasUnresolvedDependencies(String checksum, Model model) throws IOException {
+        var repositorySession = session.getRepositorySession();
+        if (pomDecisionCache == null) {
+            pomDecisionCache = new PomDecisionCache(null,
+                    repositorySession.getLocalRepositoryManager().getRepository().getBasedir().toPath());
+        }
+        Optional<Boolean> decision = pomDecisionCache.hasUnresolvedDependencies(checksum);
+        if (decision.isPresent()) {
+            return decision.get();
+        }
+        var result = resolveDependencies(model);
+        if (result.isEmpty()) {
+            // the POM cannot be built
+            return true;
+        }
+        var localRepositoryManager = repositorySession.getLocalRepositoryManager();
+        List<String> missingPaths = toLocalPaths(result.get().getUnresolvedDependencies(), localRepositoryManager);
+        if (!missingPaths.isEmpty()) {
+            pomDecisionCache.putUnresolved(checksum, missingPaths);
+            return true;
         }
+        pomDecisionCache.putResolved(checksum,
+                toLocalPaths(result.get().getResolvedDependencies(), localRepositoryManager));
         return false;
     }
 
+    private static List<String> toLocalPaths(List<Dependency> dependencies,
+            LocalRepositoryManager localRepositoryManager) {
+        return dependencies.stream()
+                .filter(dependency -> !Artifact.SCOPE_SYSTEM.equals(dependency.getScope()))
+                .map(dependency -> localRepositoryManager.getPathForLocalArtifact(dependency.getArtifact()))
+                .collect(Collectors.toList());
+    }
+
+    private Optional<DependencyResolutionResult> resolveDependencies(Model model) throws IOException {
+        var pomFile = Files.createTempFile("pom", ".xml").toFile();
+        try (var fos = new FileOutputStream(pomFile)) {
+            modelWriter.write(fos, null, model);
+            ProjectBuildingRequest buildingRequest = newResolveArtifactProjectBuildingRequest();
+            buildingRequest.setProcessPlugins(false);
+            buildingRequest.setResolveDependencies(true);
+            buildingRequest.setValidationLevel(ModelBuildingRequest.VALIDATION_LEVEL_MINIMAL);
+            ProjectBuildingResult buildingResult = projectBuilder
+                    .build(pomFile, buildingRequest);
+            return Optional.of(buildingResult.getDependencyResolutionResult());
+        } catch (ProjectBuildingException e) {
+            return Optional.empty();
+        } finally {
+            Files.deleteIfExists(pomFile.toPath());
+        }
+    }
+
     static String getExtension(String fileName) {
         int index = fileName.lastIndexOf(".");
         if (index != -1 && fileName.length() > index + 1) {
@@ -261,7 +529,13 @@ public class InstallProjectStoreMojo extends AbstractMojo {
         return null;
     }
 
-    private Optional<Model> findPomFile(File artifactFile) {
+    /**
+     * Find the location of the POM embedded in a jar file, using the Maven properties of the matching artifact.
+     * 
+     * @param artifactFile the artifact file
+     * @return the POM entry name, empty when there is no embedded POM
+     */
+    String findPomEntry(File artifactFile) {
         String extension = getExtension(artifactFile.getName());
         if ("jar".equalsIgnoreCase(extension)) {
             String fileName = artifactFile.getName();
@@ -288,36 +562,52 @@ public class InstallProjectStoreMojo extends AbstractMojo {
                                     || fileNameWithoutExtension.equals(artifactId);
                         })
                         .findFirst()
-                        .map(pomProperties -> {
-                            ZipEntry pomEntry = jarFile.getEntry(String.format("META-INF/maven/%s/%s/pom.xml",
-                                    pomProperties.getProperty(GROUP_ID),
-                                    pomProperties.getProperty(ARTIFACT_ID)));
-                            try (InputStream is = jarFile.getInputStream(pomEntry)) {
-                                return modelReader.read(is, null);
-                            } catch (IOException e) {
-                                getLog().error(e);
-                                return null;
-                            }
-                        });
+                        .map(pomProperties -> String.format("META-INF/maven/%s/%s/pom.xml",
+                                pomProperties.getProperty(GROUP_ID),
+                                pomProperties.getProperty(ARTIFACT_ID)))
+                        .filter(pomEntry -> jarFile.getEntry(pomEntry) != null)
+                        .orElse("");
             } catch (IOException e) {
                 getLog().error("Failed to read jar " + artifactFile.getName(), e);
             }
         }
+        return "";
+    }
+
+    private Optional<Model> readPomEntry(File artifactFile, String pomEntry) {
+        if (pomEntry.isEmpty()) {
+            return Optional.empty();
+        }
+        try (JarFile jarFile = new JarFile(artifactFile)) {
+            ZipEntry entry = jarFile.getEntry(pomEntry);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            try (InputStream is = jarFile.getInputStream(entry)) {
+                return Optional.of(modelReader.read(is, null));
+            }
+        } catch (IOException e) {
+            getLog().error("Failed to read jar " + artifactFile.getName(), e);
+        }
         return Optional.empty();
     }
 
     private File createDummyPomFile(Artifact artifact) throws IOException {
-        File workdir = buildDirectory.toPath().resolve("install-plugin-workdir").toFile();
-        if (!workdir.exists()) {
-            workdir.mkdirs();
-        }
-        Path pomFile = Files.createTempFile(workdir.toPath(), "pom", ".xml");
         Model model = new Model();
         model.setModelVersion("4.0.0");
         model.setGroupId(artifact.getGroupId());
         model.setArtifactId(artifact.getArtifactId());
         model.setVersion(artifact.getVersion());
         model.setPackaging(artifact.getType());
+        return writePomFile(model);
+    }
+
+    private File writePomFile(Model model) throws IOException {
+        File workdir = buildDirectory.toPath().resolve("install-plugin-workdir").toFile();
+        if (!workdir.exists()) {
+            workdir.mkdirs();
+        }
+        Path pomFile = Files.createTempFile(workdir.toPath(), "pom", ".xml");
         try (OutputStream os = Files.newOutputStream(pomFile)) {
             modelWriter.write(os, null, model);
         }
@@ -0,0 +1,148 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Predicate;
+
+import org.bonitasoft.plugin.Digests;
+
+/**
+ * Persistent cache of the POM decisions for the project store artifacts: whether the POM embedded in an artifact can
+ * be installed, or whether a minimal POM must be installed because some of its dependencies cannot be resolved.
+ * <p>Decisions are keyed by the local repository and the artifact SHA-1 checksum, so that a cache directory can be
+ * shared by builds using different local repositories. Each decision records the paths of the dependencies in the
+ * local repository it was based on, and is only reused while they are still in the same state: the resolved
+ * dependencies are still installed, the unresolved ones are still missing.</p>
+ */
+class PomDecisionCache {
+
+    static final String FILE_NAME = "pom-decisions-2.properties";
+
+    private static final String PATH_SEPARATOR = "|";
+
+    private static final String RESOLVED = "resolved";
+
+    private static final String UNRESOLVED = "unresolved";
+
+    private final Path file;
+    private final Path localRepository;
+    private final String localRepositoryId;
+    private final Map<String, String> decisions = new HashMap<>();
+    private final Map<String, String> newDecisions = new HashMap<>();
+
+    /**
+     * Create a cache persisted in the given directory.
+     * 
+     * @param directory the cache directory, or null for a cache kept in memory
+     * @param localRepository the local repository directory, the dependency paths are relative to
+     */
+    PomDecisionCache(Path directory, Path localRepository) {
+        this.file = directory != null ? directory.resolve(FILE_NAME) : null;
+        this.localRepository = localRepository;
+        this.localRepositoryId = Digests.sha256(localRepository.toAbsolutePath().normalize().toString())
+                .substring(0, 16);
+        decisions.putAll(load());
+    }
+
+    /**
+     * Get the cached decision for an artifact.
+     * 
+     * @param checksum the SHA-1 checksum of the artifact file
+     * @return true when some dependencies are still missing, false when the dependencies are still installed and the
+     *         embedded POM can be installed, empty when no valid decision is cached
+     */
+    Optional<Boolean> hasUnresolvedDependencies(String checksum) {
+        String decision = decisions.get(key(checksum));
+        if (decision == null) {
+            return Optional.empty();
+        }
+        String[] values = decision.split("\\" + PATH_SEPARATOR);
+        boolean unresolved = UNRESOLVED.equals(values[0]);
+        if (!unresolved && !RESOLVED.equals(values[0])) {
+            return Optional.empty();
+        }
+        Predicate<Path> isUnchanged = unresolved ? path -> !Files.exists(path) : Files::isRegularFile;
+        boolean unchanged = Arrays.stream(values, 1, values.length)
+                .map(localRepository::resolve)
+                .allMatch(isUnchanged);
+        return unchanged ? Optional.of(unresolved) : Optional.empty();
+    }
+
+    /**
+     * Cache the decision to install the POM embedded in an artifact.
+     * 
+     * @param checksum the SHA-1 checksum of the artifact file
+     * @param resolvedPaths the paths of the resolved dependencies in the local repository
+     */
+    void putResolved(String checksum, List<String> resolvedPaths) {
+        put(checksum, RESOLVED, resolvedPaths);
+    }
+
+    /**
+     * Cache the decision to install a minimal POM with an artifact.
+     * 
+     * @param checksum the SHA-1 checksum of the artifact file
+     * @param missingPaths the paths of the unresolved dependencies in the local repository
+     */
+    void putUnresolved(String checksum, List<String> missingPaths) {
+        put(checksum, UNRESOLVED, missingPaths);
+    }
+
+    private void put(String checksum, String kind, List<String> paths) {
+        var decision = new StringBuilder(kind);
+        paths.forEach(path -> decision.append(PATH_SEPARATOR).append(path));
+        decisions.put(key(checksum), decision.toString());
+        newDecisions.put(key(checksum), decision.toString());
+    }
+
+    private String key(String checksum) {
+        return localRepositoryId + "." + checksum;
+    }
+
+    /**
+     * Save the new decisions, merged with the decisions saved meanwhile by other builds.
+     * 
+     * @throws IOException exception writing the cache file
+     */
+    void save() throws IOException {
+        if (file == null || newDecisions.isEmpty()) {
+            return;
+        }
+        var properties = new Properties();
+        properties.putAll(load());
+        properties.putAll(newDecisions);
+        CacheFiles.store(file, properties);
+        newDecisions.clear();
+    }
+
+    private Map<String, String> load() {
+        Map<String, String> result = new HashMap<>();
+        CacheFiles.load(file).ifPresent(properties -> properties.stringPropertyNames()
+                .forEach(key -> result.put(key, properties.getProperty(key))));
+        return result;
+    }
+
+}
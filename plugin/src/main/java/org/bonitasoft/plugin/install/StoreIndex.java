@@ -0,0 +1,193 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.function.Function;
+
+import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.Digests;
+
+/**
+ * Persistent index of the project store files, updated on demand.
+ * <p>For each store file, it records the artifact coordinates, the checksum, the location of the embedded POM and the
+ * state of the file installed in the local repository. An entry is valid while the store file keeps the same size and
+ * last modified time, so unchanged archives are not opened again.</p>
+ */
+class StoreIndex {
+
+    static final String FILE_PREFIX = "store-index-1-";
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * An indexed store file.
+     * 
+     * @param coordinates the artifact coordinates
+     * @param size the store file size
+     * @param lastModified the store file last modified time
+     * @param sha1 the store file SHA-1 checksum
+     * @param pomEntry the location of the embedded POM in the store file, empty when there is none
+     * @param installedState the state of the installed file in the local repository, empty when unknown
+     */
+    static record Entry(String coordinates, long size, long lastModified, String sha1, String pomEntry,
+            String installedState) {
+
+        private boolean isValidFor(File storeFile) {
+            return size == storeFile.length() && lastModified == storeFile.lastModified();
+        }
+
+        private String serialize() {
+            return String.join(SEPARATOR, coordinates, Long.toString(size), Long.toString(lastModified), sha1,
+                    pomEntry, installedState);
+        }
+
+        private static Optional<Entry> deserialize(String value) {
+            String[] fields = value.split("\\" + SEPARATOR, -1);
+            if (fields.length != 6) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        fields[3], fields[4], fields[5]));
+            } catch (NumberFormatException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    private final Path file;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Entry> newEntries = new HashMap<>();
+
+    /**
+     * Create an index persisted in the given file.
+     * 
+     * @param file the index file, or null for an index kept in memory
+     */
+    StoreIndex(Path file) {
+        this.file = file;
+        entries.putAll(load());
+    }
+
+    /**
+     * Get the index file of a project store.
+     * 
+     * @param cacheDirectory the cache directory
+     * @param projectStore the project store directory
+     * @return the index file
+     */
+    static Path indexFile(Path cacheDirectory, Path projectStore) {
+        return cacheDirectory.resolve(
+                FILE_PREFIX + Digests.sha256(projectStore.toAbsolutePath().normalize().toString()) + ".properties");
+    }
+
+    /**
+     * Get the index entry of a store file, indexing the file when it is unknown or changed.
+     * 
+     * @param artifact the artifact of the store file
+     * @param storeFile the store file
+     * @param pomLocator finds the location of the embedded POM in the store file, or an empty string
+     * @return the valid index entry
+     * @throws IOException exception reading the store file
+     */
+    Entry index(Artifact artifact, File storeFile, Function<File, String> pomLocator) throws IOException {
+        String key = key(storeFile);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isValidFor(storeFile)) {
+            return entry;
+        }
+        long size = storeFile.length();
+        long lastModified = storeFile.lastModified();
+        entry = new Entry(artifact.getId(), size, lastModified, Digests.sha1(storeFile.toPath()),
+                pomLocator.apply(storeFile), "");
+        put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Test whether a store file is known to be installed in the local repository.
+     * 
+     * @param entry the valid index entry of the store file
+     * @param installedFile the file in the local repository
+     * @return true when the installed file did not change since it was recorded as identical to the store file
+     */
+    boolean isInstalled(Entry entry, File installedFile) {
+        return !entry.installedState().isEmpty() && entry.installedState().equals(installedState(installedFile));
+    }
+
+    /**
+     * Record that a store file is installed in the local repository.
+     * 
+     * @param storeFile the indexed store file
+     * @param installedFile the file in the local repository, identical to the store file
+     */
+    void markInstalled(File storeFile, File installedFile) {
+        String key = key(storeFile);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.isValidFor(storeFile) && installedFile.isFile()) {
+            put(key, new Entry(entry.coordinates(), entry.size(), entry.lastModified(), entry.sha1(),
+                    entry.pomEntry(), installedState(installedFile)));
+        }
+    }
+
+    /**
+     * Save the new entries, merged with the entries saved meanwhile by other builds.
+     * 
+     * @throws IOException exception writing the index file
+     */
+    void save() throws IOException {
+        if (file == null || newEntries.isEmpty()) {
+            return;
+        }
+        var properties = new Properties();
+        load().forEach((key, entry) -> properties.setProperty(key, entry.serialize()));
+        newEntries.forEach((key, entry) -> properties.setProperty(key, entry.serialize()));
+        CacheFiles.store(file, properties);
+        newEntries.clear();
+    }
+
+    private void put(String key, Entry entry) {
+        entries.put(key, entry);
+        newEntries.put(key, entry);
+    }
+
+    private static String key(File storeFile) {
+        return storeFile.getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    private static String installedState(File installedFile) {
+        return installedFile.length() + ":" + installedFile.lastModified();
+    }
+
+    private Map<String, Entry> load() {
+        Map<String, Entry> result = new HashMap<>();
+        CacheFiles.load(file).ifPresent(properties -> {
+            for (String key : properties.stringPropertyNames()) {
+                Entry.deserialize(properties.getProperty(key)).ifPresent(entry -> result.put(key, entry));
+            }
+        });
+        return result;
+    }
+
+}
@@ -0,0 +1,136 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.model.Dependency;
+import org.bonitasoft.plugin.Digests;
+
+/**
+ * State of a project store after its last successful installation.
+ * <p>It records a digest of the installation inputs (the store files, the project dependencies and the local
+ * repository), and the state of the installed files in the local repository. While both still match, the install goal
+ * has nothing to do.</p>
+ */
+class StoreInstallState {
+
+    static final String FILE_PREFIX = "store-state-1-";
+
+    private static final String DIGEST_KEY = "digest";
+    private static final String INSTALLED_KEY_PREFIX = "installed:";
+
+    private final Path file;
+
+    /**
+     * Create the state persisted in the given file.
+     * 
+     * @param file the state file
+     */
+    StoreInstallState(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Get the state file of a project store.
+     * 
+     * @param cacheDirectory the cache directory
+     * @param projectStore the project store directory
+     * @return the state file
+     */
+    static Path stateFile(Path cacheDirectory, Path projectStore) {
+        return cacheDirectory.resolve(
+                FILE_PREFIX + Digests.sha256(projectStore.toAbsolutePath().normalize().toString()) + ".properties");
+    }
+
+    /**
+     * Compute the digest of the installation inputs. Store files are identified by their path, size and last modified
+     * time, so they are not read.
+     * 
+     * @param projectStore the project store directory
+     * @param dependencies the project dependencies
+     * @param localRepository the local repository directory
+     * @return the digest
+     * @throws IOException exception listing the store files
+     */
+    static String digest(Path projectStore, List<Dependency> dependencies, String localRepository)
+            throws IOException {
+        var content = new StringBuilder(localRepository).append('\n');
+        for (Dependency dependency : dependencies) {
+            content.append(String.format("%s:%s:%s%n", dependency.getManagementKey(), dependency.getVersion(),
+                    dependency.getScope()));
+        }
+        List<Path> storeFiles;
+        try (Stream<Path> files = Files.walk(projectStore)) {
+            storeFiles = files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        for (Path storeFile : storeFiles) {
+            var attributes = Files.readAttributes(storeFile, BasicFileAttributes.class);
+            content.append(String.format("%s|%s|%s%n", projectStore.relativize(storeFile), attributes.size(),
+                    attributes.lastModifiedTime().toMillis()));
+        }
+        return Digests.sha256(content.toString());
+    }
+
+    /**
+     * Test whether the store is still installed as recorded.
+     * 
+     * @param digest the digest of the current installation inputs
+     * @return true when the digest matches the recorded one and the installed files did not change
+     */
+    boolean isUpToDate(String digest) {
+        var properties = CacheFiles.load(file);
+        if (properties.isEmpty() || !digest.equals(properties.get().getProperty(DIGEST_KEY))) {
+            return false;
+        }
+        return properties.get().stringPropertyNames().stream()
+                .filter(key -> key.startsWith(INSTALLED_KEY_PREFIX))
+                .allMatch(key -> properties.get().getProperty(key)
+                        .equals(installedState(new File(key.substring(INSTALLED_KEY_PREFIX.length())))));
+    }
+
+    /**
+     * Record a successful installation.
+     * 
+     * @param digest the digest of the installation inputs
+     * @param installedFiles the store files installed in the local repository
+     * @throws IOException exception writing the state file
+     */
+    void save(String digest, Collection<File> installedFiles) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(DIGEST_KEY, digest);
+        for (File installedFile : installedFiles) {
+            properties.setProperty(INSTALLED_KEY_PREFIX + installedFile.getAbsolutePath(),
+                    installedState(installedFile));
+        }
+        CacheFiles.store(file, properties);
+    }
+
+    private static String installedState(File installedFile) {
+        return installedFile.isFile() ? installedFile.length() + ":" + installedFile.lastModified() : "";
+    }
+
+}
@@ -18,15 +18,25 @@ package org.bonitasoft.plugin.analyze;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -43,13 +53,23 @@ import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.ProjectBuildingRequest;
 import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolver;
+import org.apache.maven.shared.transfer.artifact.resolve.ArtifactResolverException;
+import org.bonitasoft.plugin.MavenSessionExecutor;
+import org.bonitasoft.plugin.MavenSessionExecutor.BuildException;
+import org.bonitasoft.plugin.analyze.report.DependencyReportHolder;
 import org.bonitasoft.plugin.analyze.report.DependencyReporter;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.repository.LocalRepositoryManager;
+import org.eclipse.aether.resolution.ArtifactRequest;
+import org.eclipse.aether.resolution.ArtifactResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -98,12 +118,15 @@ class AnalyzeBonitaDependencyMojoTest {
     @Mock
     LocalRepositoryManager localRepositoryManager;
 
+    @Mock
+    RepositorySystem repositorySystem;
+
     @BeforeEach
     void setUp() throws MojoExecutionException {
         mojo = spy(new AnalyzeBonitaDependencyMojo(artifactResolver, artifactAnalyzerFactory, dependencyValidator,
-                artifactFactory));
-        when(artifactAnalyzerFactory.create(any(), any())).thenReturn(artifactAnalyzer);
-        when(session.getRepositorySession().getLocalRepositoryManager()).thenReturn(localRepositoryManager);
+                artifactFactory, repositorySystem, dependencyGraphBuilder, new DependencyReportHolder()));
+        lenient().when(artifactAnalyzerFactory.create(any(), any(), any())).thenReturn(artifactAnalyzer);
+        lenient().when(session.getRepositorySession().getLocalRepositoryManager()).thenReturn(localRepositoryManager);
         Build build = new Build();
         build.setDirectory(new File("").getAbsolutePath());
         project.setBuild(build);
@@ -214,7 +237,10 @@ class AnalyzeBonitaDependencyMojoTest {
         mojo.validateDeps = true;
 
         when(mojo.getReporters()).thenReturn(singletonList(reporter));
-        when(dependencyValidator.validate(project, buildingRequest)).thenReturn(List.of());
+        var dependencyGraph = mock(DependencyNode.class);
+        when(dependencyGraphBuilder.buildDependencyGraph(Mockito.eq(buildingRequest), any()))
+                .thenReturn(dependencyGraph);
+        when(dependencyValidator.validate(project, dependencyGraph)).thenReturn(List.of());
 
         List<Artifact> resolvedArtifacts = new ArrayList<>();
 
@@ -233,7 +259,132 @@ class AnalyzeBonitaDependencyMojoTest {
 
         // Then
         verify(artifactAnalyzer).analyze(resolvedArtifacts);
-        verify(dependencyValidator).validate(project, buildingRequest);
+        verify(dependencyValidator).validate(project, dependencyGraph);
         verify(reporter).report(any());
     }
+
+    @Test
+    void should_fail_when_the_dependency_graph_cannot_be_collected() throws Exception {
+        // Given
+        when(dependencyGraphBuilder.buildDependencyGraph(any(), any()))
+                .thenThrow(DependencyGraphBuilderException.class);
+
+        // When / Then
+        assertThrows(MojoExecutionException.class, () -> mojo.collectDependencyGraph(buildingRequest));
+    }
+
+    @Test
+    void should_resolve_artifacts_in_batch() throws Exception {
+        // Given
+        var artifact = new DefaultArtifact("g", "a", "v", "runtime", "jar", null, new DefaultArtifactHandler("jar"));
+        var artifactFile = getResourceAsFile("/bonita-actorfilter-single-user-1.0.0.jar");
+        when(repositorySystem.resolveArtifacts(any(), any())).thenAnswer(invocation -> {
+            List<ArtifactRequest> requests = invocation.getArgument(1);
+            var result = new ArtifactResult(requests.get(0));
+            result.setArtifact(requests.get(0).getArtifact().setFile(artifactFile));
+            return List.of(result);
+        });
+
+        // When
+        var resolved = mojo.resolveArtifacts(Set.of(artifact), buildingRequest);
+
+        // Then
+        assertThat(resolved).containsExactly(artifact);
+        assertThat(artifact.getFile()).isEqualTo(artifactFile);
+        verify(mojo, never()).resolve(any(), any());
+    }
+
+    @Test
+    void should_compile_extension_modules_in_a_single_build(@TempDir Path tempDir) throws Exception {
+        // Given
+        var executor = mock(MavenSessionExecutor.class);
+        doReturn(executor).when(mojo).sessionExecutor();
+        var first = reactorModule(tempDir, "first");
+        var second = reactorModule(tempDir, "second");
+        registerExtensionModules(first, second);
+
+        // When
+        mojo.compileExtensionModules();
+
+        // Then
+        verify(executor).execute(any(), any(), any(), any(),
+                argThat(args -> args.contains("test:first,test:second") && args.contains("--fail-at-end")), any(),
+                any());
+        verifyNoMoreInteractions(executor);
+        assertThat(mojo.getCompilationErrors()).isEmpty();
+    }
+
+    @Test
+    void should_compile_every_extension_module_again_when_the_single_build_fails(@TempDir Path tempDir)
+            throws Exception {
+        // Given a failing module with the output of a previous build
+        var executor = mock(MavenSessionExecutor.class);
+        doReturn(executor).when(mojo).sessionExecutor();
+        var compiled = reactorModule(tempDir, "compiled");
+        Files.createDirectories(Path.of(compiled.getBuild().getOutputDirectory()).resolve("org"));
+        var failing = reactorModule(tempDir, "failing");
+        Files.createDirectories(Path.of(failing.getBuild().getOutputDirectory()).resolve("org"));
+        var skipped = reactorModule(tempDir, "skipped");
+        registerExtensionModules(compiled, failing, skipped);
+        doThrow(new BuildException("Error while compiling extension modules", null)).when(executor)
+                .execute(any(), any(), any(), any(), argThat(args -> args.contains("-pl")), any(), any());
+        doThrow(new BuildException("Error while compiling extension module failing", null)).when(executor)
+                .execute(eq(failing.getModel().getPomFile()), any(), any(), any(), any(), any());
+
+        // When
+        mojo.compileExtensionModules();
+
+        // Then
+        verify(executor).execute(eq(compiled.getModel().getPomFile()), any(), any(), any(), any(), any());
+        verify(executor).execute(eq(failing.getModel().getPomFile()), any(), any(), any(), any(), any());
+        verify(executor).execute(eq(skipped.getModel().getPomFile()), any(), any(), any(), any(), any());
+        assertThat(mojo.getCompilationErrors()).singleElement()
+                .satisfies(e -> assertThat(e.getMessage()).isEqualTo("Error while compiling extension module failing"));
+    }
+
+    @Test
+    void should_compile_a_single_extension_module_on_its_own(@TempDir Path tempDir) throws Exception {
+        // Given
+        var executor = mock(MavenSessionExecutor.class);
+        doReturn(executor).when(mojo).sessionExecutor();
+        var module = reactorModule(tempDir, "module");
+        registerExtensionModules(module);
+
+        // When
+        mojo.compileExtensionModules();
+
+        // Then
+        verify(executor).execute(eq(module.getModel().getPomFile()), any(), any(), any(), any(), any());
+        verifyNoMoreInteractions(executor);
+        assertThat(mojo.getCompilationErrors()).isEmpty();
+    }
+
+    private static MavenProject reactorModule(Path parentDirectory, String artifactId) throws IOException {
+        var moduleDirectory = Files.createDirectories(parentDirectory.resolve(artifactId));
+        var module = new MavenProject();
+        module.setGroupId("test");
+        module.setArtifactId(artifactId);
+        module.setVersion("1.0.0");
+        module.setArtifact(new DefaultArtifact("test", artifactId, "1.0.0", "compile", "jar", null,
+                new DefaultArtifactHandler("jar")));
+        module.setFile(moduleDirectory.resolve("pom.xml").toFile());
+        module.getModel().setPomFile(module.getFile());
+        module.getBuild().setOutputDirectory(moduleDirectory.resolve("target/classes").toString());
+        return module;
+    }
+
+    /**
+     * Register the modules to compile as the analysis does, when they are not installed yet.
+     */
+    private void registerExtensionModules(MavenProject... modules) throws Exception {
+        var reactor = new ArrayList<>(List.of(modules));
+        reactor.add(0, project);
+        mojo.reactorProjects = reactor;
+        when(artifactResolver.resolveArtifact(any(ProjectBuildingRequest.class), any(Artifact.class)))
+                .thenThrow(new ArtifactResolverException("Not installed", new IOException()));
+        for (var module : modules) {
+            mojo.resolve(buildingRequest, new DefaultArtifact("test", module.getArtifactId(), "1.0.0", "runtime",
+                    "jar", null, new DefaultArtifactHandler("jar")));
+        }
+    }
 }
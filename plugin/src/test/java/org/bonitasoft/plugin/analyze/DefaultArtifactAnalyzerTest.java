@@ -17,8 +17,11 @@
 package org.bonitasoft.plugin.analyze;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.notNull;
 import static org.mockito.Mockito.mock;
@@ -28,12 +31,37 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.bonitasoft.plugin.analyze.cache.AnalysisCache;
+import org.bonitasoft.plugin.analyze.cache.CacheableAnalysis;
+import org.bonitasoft.plugin.analyze.connector.ConnectorResolverImpl;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
 import org.bonitasoft.plugin.analyze.handler.ArtifactAnalyzerHandler;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
+import org.bonitasoft.plugin.analyze.metrics.AnalysisMetrics;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.HandlerMetrics;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
+import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
+import org.bonitasoft.plugin.analyze.report.model.Page;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class DefaultArtifactAnalyzerTest {
 
@@ -43,7 +71,7 @@ class DefaultArtifactAnalyzerTest {
         var handler = mock(ArtifactAnalyzerHandler.class);
         when(handler.appliesTo(any())).thenReturn(true);
         var handlers = List.of(handler);
-        var analyzer = new DefaultArtifactAnalyzer(handlers);
+        var analyzer = new DefaultArtifactAnalyzer(handlers, new TypeHierarchyIndex(), AnalysisOptions.DEFAULT);
         var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
                 null, new DefaultArtifactHandler("jar"));
         artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
@@ -62,7 +90,7 @@ class DefaultArtifactAnalyzerTest {
         var handler = mock(ArtifactAnalyzerHandler.class);
         when(handler.appliesTo(any())).thenReturn(false);
         var handlers = List.of(handler);
-        var analyzer = new DefaultArtifactAnalyzer(handlers);
+        var analyzer = new DefaultArtifactAnalyzer(handlers, new TypeHierarchyIndex(), AnalysisOptions.DEFAULT);
         var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
                 null, new DefaultArtifactHandler("jar"));
         artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
@@ -75,4 +103,270 @@ class DefaultArtifactAnalyzerTest {
         assertThat(dependencyReport).isNotNull();
     }
 
+    @Test
+    void should_not_apply_handler_on_cached_artifact() throws IOException, URISyntaxException {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        var cache = mock(AnalysisCache.class);
+        var cachedReport = new DependencyReport();
+        cachedReport.addPage(Page.create("cached-page", null, null, null));
+        when(cache.get(any())).thenReturn(Optional.of(cachedReport));
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, false));
+        var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
+
+        // When
+        var dependencyReport = analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(handler, never()).appliesTo(any());
+        verify(cache, never()).put(any(), any());
+        assertThat(dependencyReport.getPages()).extracting(Page::getName).containsExactly("cached-page");
+    }
+
+    @Test
+    void should_store_analysis_of_missing_artifact_in_cache() throws IOException, URISyntaxException {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.appliesTo(any())).thenReturn(true);
+        var cache = mock(AnalysisCache.class);
+        when(cache.get(any())).thenReturn(Optional.empty());
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, false));
+        var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
+
+        // When
+        analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(handler).appliesTo(artifact);
+        verify(cache).put(eq(artifact), notNull());
+        verify(cache, never()).putWithoutContent(any());
+    }
+
+    @Test
+    void should_store_artifact_without_content_in_cache() throws IOException, URISyntaxException {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.appliesTo(any())).thenReturn(false);
+        var cache = mock(AnalysisCache.class);
+        when(cache.get(any())).thenReturn(Optional.empty());
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, false));
+        var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
+
+        // When
+        analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(cache).putWithoutContent(artifact);
+        verify(cache, never()).put(any(), any());
+    }
+
+    @Test
+    void should_not_store_analysis_depending_on_other_artifacts_in_cache() throws Exception {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.appliesTo(any())).thenReturn(true);
+        when(handler.analyze(any(), any())).thenAnswer(invocation -> {
+            // e.g. a super type of an implementation found in another dependency
+            CacheableAnalysis.dependsOnOtherArtifacts();
+            return invocation.getArgument(1);
+        });
+        var cache = mock(AnalysisCache.class);
+        when(cache.get(any())).thenReturn(Optional.empty());
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, false));
+        var artifact = new DefaultArtifact("org.bonita.connector", "bonita-connector-email", "1.3.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
+
+        // When
+        analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(handler).analyze(eq(artifact), notNull());
+        verify(cache, never()).put(any(), any());
+    }
+
+    @Test
+    void should_merge_parallel_analysis_in_input_order() throws Exception {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.appliesTo(any())).thenReturn(true);
+        when(handler.analyze(any(), any())).thenAnswer(invocation -> {
+            Artifact artifact = invocation.getArgument(0);
+            DependencyReport report = invocation.getArgument(1);
+            // make the first artifacts the slowest ones
+            Thread.sleep(20L - Long.parseLong(artifact.getVersion()));
+            report.addPage(Page.create(artifact.getArtifactId(), null, null, null));
+            return report;
+        });
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(4, AnalysisCache.NONE, false));
+        List<Artifact> artifacts = IntStream.range(0, 10).mapToObj(i -> {
+            var artifact = new DefaultArtifact("org.bonita", "page-" + i, String.valueOf(i), "runtime", "zip",
+                    null, new DefaultArtifactHandler("zip"));
+            return (Artifact) artifact;
+        }).toList();
+
+        // When
+        var dependencyReport = analyzer.analyze(artifacts);
+
+        // Then
+        assertThat(dependencyReport.getPages()).extracting(Page::getName)
+                .containsExactly(artifacts.stream().map(Artifact::getArtifactId).toArray(String[]::new));
+    }
+
+    @Test
+    void should_record_metrics_of_each_handler() throws Exception {
+        // Given
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.getName()).thenReturn("PageHandler");
+        when(handler.appliesTo(any())).thenReturn(true);
+        when(handler.analyze(any(), any())).thenAnswer(invocation -> {
+            DependencyReport report = invocation.getArgument(1);
+            AnalysisMetrics.descriptorParsed();
+            report.addPage(Page.create("page", null, null, null));
+            return report;
+        });
+        var cache = mock(AnalysisCache.class);
+        when(cache.get(any())).thenReturn(Optional.empty());
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, true));
+        var artifact = new DefaultArtifact("org.bonita", "page", "1.0.0", "runtime", "zip",
+                null, new DefaultArtifactHandler("zip"));
+
+        // When
+        var dependencyReport = analyzer.analyze(List.of(artifact));
+
+        // Then
+        assertThat(dependencyReport.getPages()).extracting(Page::getName).containsExactly("page");
+        assertThat(dependencyReport.getMetrics()).singleElement().satisfies(metrics -> {
+            assertThat(metrics.getArtifact()).isEqualTo(artifact.getId());
+            assertThat(metrics.isCached()).isFalse();
+            assertThat(metrics.getDescriptorsParsed()).isEqualTo(1);
+            assertThat(metrics.getHandlers()).extracting(HandlerMetrics::getHandler, HandlerMetrics::isApplied)
+                    .containsExactly(tuple("PageHandler", true));
+        });
+        // metrics are not stored in the analysis cache
+        verify(cache).put(eq(artifact), argThat(report -> report.getMetrics().isEmpty()));
+    }
+
+    @Test
+    void should_dispatch_entries_read_in_a_single_traversal() throws Exception {
+        // Given two handlers sharing a content reader
+        var reader = mock(ArtifactContentReader.class);
+        when(reader.appliesTo(any())).thenReturn(true);
+        var descriptor = new Entry(Path.of("email.impl"), () -> null);
+        var properties = new Entry(Path.of("page.properties"), () -> null);
+        when(reader.readInterestingEntries(any(), any())).thenReturn(List.of(descriptor, properties));
+        var connectorHandler = mockEntryHandler(reader, EntryInterest.suffix(".impl"));
+        var pageHandler = mockEntryHandler(reader, EntryInterest.fileName("page.properties"));
+        var analyzer = new DefaultArtifactAnalyzer(List.of(connectorHandler, pageHandler), new TypeHierarchyIndex(),
+                AnalysisOptions.DEFAULT);
+        var artifact = new DefaultArtifact("org.bonita", "page", "1.0.0", "runtime", "zip",
+                null, new DefaultArtifactHandler("zip"));
+
+        // When
+        analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(reader).readInterestingEntries(eq(artifact), argThat(interests -> interests.size() == 2));
+        verify(connectorHandler).analyze(eq(artifact), eq(List.of(descriptor)), any());
+        verify(pageHandler).analyze(eq(artifact), eq(List.of(properties)), any());
+        verify(connectorHandler, never()).appliesTo(artifact);
+        verify(pageHandler, never()).analyze(eq(artifact), any(DependencyReport.class));
+    }
+
+    @Test
+    void should_not_store_artifact_with_interesting_entries_as_without_content() throws Exception {
+        // Given an implementation descriptor, which does not make the handler apply
+        var reader = mock(ArtifactContentReader.class);
+        when(reader.appliesTo(any())).thenReturn(true);
+        when(reader.readInterestingEntries(any(), any()))
+                .thenReturn(List.of(new Entry(Path.of("email.impl"), () -> null)));
+        var handler = mockEntryHandler(reader, EntryInterest.suffix(".impl"));
+        when(handler.appliesTo(any(), anyList())).thenReturn(false);
+        var cache = mock(AnalysisCache.class);
+        when(cache.get(any())).thenReturn(Optional.empty());
+        var analyzer = new DefaultArtifactAnalyzer(List.of(handler), new TypeHierarchyIndex(),
+                new AnalysisOptions(1, cache, false));
+        var artifact = new DefaultArtifact("org.bonita", "connector", "1.0.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+
+        // When
+        analyzer.analyze(List.of(artifact));
+
+        // Then
+        verify(cache).put(eq(artifact), notNull());
+        verify(cache, never()).putWithoutContent(any());
+    }
+
+    @Test
+    void should_link_definition_with_implementation_of_another_artifact(@TempDir Path tempDir) throws Exception {
+        // Given the email connector definition and implementation shipped in two artifacts
+        var emailJar = getResourceAsFile("/bonita-connector-email-1.3.0.jar").toPath();
+        var definitionArtifact = connectorArtifact("email-definition",
+                copyJar(emailJar, tempDir.resolve("email-definition.jar"), name -> name.endsWith(".def")));
+        var implementationArtifact = connectorArtifact("email-implementation",
+                copyJar(emailJar, tempDir.resolve("email-implementation.jar"), name -> !name.endsWith(".def")));
+        var localRepositoryManager = mock(LocalRepositoryManager.class);
+        when(localRepositoryManager.getPathForLocalArtifact(any())).thenReturn("artifact.jar");
+        when(localRepositoryManager.getRepository()).thenReturn(new LocalRepository(tempDir.toFile()));
+        var typeHierarchyIndex = new TypeHierarchyIndex();
+        var handlers = ArtifactAnalyzerHandler.create(new ConnectorResolverImpl(), localRepositoryManager, null,
+                List.of(), typeHierarchyIndex);
+        var analyzer = new DefaultArtifactAnalyzer(handlers, typeHierarchyIndex, AnalysisOptions.DEFAULT);
+
+        // When
+        var dependencyReport = analyzer.analyze(List.of(definitionArtifact, implementationArtifact));
+
+        // Then
+        assertThat(dependencyReport.getConnectorImplementations())
+                .extracting(implementation -> implementation.getArtifact().getArtifactId())
+                .containsExactly("email-implementation");
+        assertThat(dependencyReport.getConnectorDefinitions())
+                .extracting(definition -> definition.getArtifact().getArtifactId())
+                .containsExactly("email-definition");
+        assertThat(dependencyReport.getIssues()).extracting(Issue::getType)
+                .doesNotContain(Type.UNKNOWN_DEFINITION_TYPE);
+    }
+
+    private static Artifact connectorArtifact(String artifactId, Path file) {
+        var artifact = new DefaultArtifact("org.bonita.connector", artifactId, "1.3.0", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(file.toFile());
+        return artifact;
+    }
+
+    private static Path copyJar(Path source, Path target, Predicate<String> entryFilter) throws IOException {
+        try (var in = new ZipInputStream(Files.newInputStream(source));
+                var out = new ZipOutputStream(Files.newOutputStream(target))) {
+            for (var entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                if (entryFilter.test(entry.getName())) {
+                    out.putNextEntry(new ZipEntry(entry.getName()));
+                    in.transferTo(out);
+                    out.closeEntry();
+                }
+            }
+        }
+        return target;
+    }
+
+    private static ArtifactAnalyzerHandler mockEntryHandler(ArtifactContentReader reader, EntryInterest interest)
+            throws IOException {
+        var handler = mock(ArtifactAnalyzerHandler.class);
+        when(handler.getContentReader()).thenReturn(reader);
+        when(handler.getEntryInterests()).thenReturn(List.of(interest));
+        when(handler.appliesTo(any(), anyList())).thenReturn(true);
+        return handler;
+    }
+
 }
@@ -0,0 +1,141 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.bonitasoft.plugin.analyze.report.model.ConnectorImplementation;
+import org.bonitasoft.plugin.analyze.report.model.Definition;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.DescriptorIdentifier;
+import org.bonitasoft.plugin.analyze.report.model.Implementation;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
+import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
+import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
+import org.junit.jupiter.api.Test;
+
+class DefinitionMatcherTest {
+
+    @Test
+    void should_match_definition_with_implementation_of_another_artifact() {
+        // Given
+        var matcher = new DefinitionMatcher();
+        var definitionReport = new DependencyReport();
+        var definition = Definition.create(new DescriptorIdentifier("email", "1.0.0"), null, "email.def");
+        var unknown = Definition.create(new DescriptorIdentifier("unknown", "1.0.0"), null, "unknown.def");
+        for (var def : new Definition[] { definition, unknown }) {
+            definitionReport.addIssue(matcher.addUnresolvedDefinition(def, "definitions"));
+        }
+        var implementationReport = new DependencyReport();
+        implementationReport.addConnectorImplementation(ConnectorImplementation.create("org.test.EmailConnector",
+                new DescriptorIdentifier("email", "1.0.0"), new DescriptorIdentifier("email-impl", "1.0.0"), null,
+                "email.impl"));
+        var report = new DependencyReport();
+        report.merge(definitionReport);
+        report.merge(implementationReport);
+
+        // When
+        matcher.matchUnresolvedDefinitions(report);
+
+        // Then
+        assertThat(report.getConnectorDefinitions()).containsExactly(definition);
+        assertThat(report.getFilterDefinitions()).isEmpty();
+        assertThat(report.getIssues()).extracting(Issue::getMessage)
+                .containsExactly(DefinitionMatcher.unknownDefinitionMessage(unknown));
+    }
+
+    @Test
+    void should_only_withdraw_the_warnings_of_unresolved_definitions() {
+        // Given the same warning reported by another analysis, whose definition is not kept by the matcher
+        var matcher = new DefinitionMatcher();
+        var definition = Definition.create(new DescriptorIdentifier("email", "1.0.0"), null, "email.def");
+        var otherWarning = Issue.create(Type.UNKNOWN_DEFINITION_TYPE,
+                DefinitionMatcher.unknownDefinitionMessage(definition), Severity.WARNING, "definitions");
+        var report = new DependencyReport();
+        report.addIssue(otherWarning);
+        report.addIssue(matcher.addUnresolvedDefinition(definition, "definitions"));
+        report.addConnectorImplementation(ConnectorImplementation.create("org.test.EmailConnector",
+                new DescriptorIdentifier("email", "1.0.0"), new DescriptorIdentifier("email-impl", "1.0.0"), null,
+                "email.impl"));
+
+        // When
+        matcher.matchUnresolvedDefinitions(report);
+
+        // Then
+        assertThat(report.getConnectorDefinitions()).containsExactly(definition);
+        assertThat(report.getIssues()).singleElement().isSameAs(otherWarning);
+    }
+
+    @Test
+    void impl_should_match() {
+        // Given
+        var def = Definition.create(new DescriptorIdentifier("id-a", "1.0.0"), null, "a.def");
+        var impl = implementation("id-a", "1.0.0");
+
+        // When
+        final boolean match = DefinitionMatcher.index(singletonList(impl)).contains(DefinitionMatcher.key(def));
+
+        // Then
+        assertThat(match).isTrue();
+    }
+
+    @Test
+    void impl_should_not_match() {
+        // Given
+        var def = Definition.create(new DescriptorIdentifier("id-a", "1.0.0"), null, "a.def");
+        var impl = implementation("anotherId", "anotherVersion");
+
+        // When
+        final boolean match = DefinitionMatcher.index(singletonList(impl)).contains(DefinitionMatcher.key(def));
+
+        // Then
+        assertThat(match).isFalse();
+    }
+
+    @Test
+    void impl_should_not_match_on_id() {
+        // Given
+        var def = Definition.create(new DescriptorIdentifier("id-a", "1.0.0"), null, "a.def");
+        var impl = implementation("anotherId", "1.0.0");
+
+        // When
+        final boolean match = DefinitionMatcher.index(singletonList(impl)).contains(DefinitionMatcher.key(def));
+
+        // Then
+        assertThat(match).isFalse();
+    }
+
+    @Test
+    void impl_should_not_match_on_version() {
+        // Given
+        var def = Definition.create(new DescriptorIdentifier("id-a", "1.0.0"), null, "a.def");
+        var impl = implementation("id-a", "anotherVersion");
+
+        // When
+        final boolean match = DefinitionMatcher.index(singletonList(impl)).contains(DefinitionMatcher.key(def));
+
+        // Then
+        assertThat(match).isFalse();
+    }
+
+    private static Implementation implementation(String definitionId, String definitionVersion) {
+        return ConnectorImplementation.create("org.test.Connector", new DescriptorIdentifier(definitionId,
+                definitionVersion), new DescriptorIdentifier("impl", "1.0.0"), null, "connector.impl");
+    }
+
+}
@@ -16,35 +16,53 @@
  */
 package org.bonitasoft.plugin.analyze;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.spy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.traversal.DependencyNodeVisitor;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class IncompatibleDependencyValidatorTest {
 
-    @Mock
-    private DependencyGraphBuilder graphBuilder;
     @Mock
     private MavenProject project;
 
     @Test
-    void shouldThrowMojoExcutionException() throws Exception {
-        when(graphBuilder.buildDependencyGraph(Mockito.any(), Mockito.any()))
-                .thenThrow(DependencyGraphBuilderException.class);
-        var validator = spy(new IncompatibleDependencyValidator(graphBuilder));
+    void should_report_conflicting_dependencies_of_collected_graph() {
+        // Given
+        var projectArtifact = new DefaultArtifact("org.bonita", "app", "1.0.0", "compile", "pom", null,
+                new DefaultArtifactHandler("pom"));
+        var groovyArtifact = new DefaultArtifact("org.codehaus.groovy", "groovy-all", "2.4.21", "runtime", "jar",
+                null, new DefaultArtifactHandler("jar"));
+        var rootNode = mock(DependencyNode.class);
+        var groovyNode = mock(DependencyNode.class);
+        when(rootNode.getArtifact()).thenReturn(projectArtifact);
+        when(groovyNode.getArtifact()).thenReturn(groovyArtifact);
+        when(groovyNode.getParent()).thenReturn(rootNode);
+        when(rootNode.accept(any())).thenAnswer(invocation -> {
+            DependencyNodeVisitor visitor = invocation.getArgument(0);
+            return visitor.visit(rootNode) && visitor.visit(groovyNode);
+        });
+        when(project.getArtifact()).thenReturn(projectArtifact);
+        var validator = new IncompatibleDependencyValidator();
+
+        // When
+        var issues = validator.validate(project, rootNode);
 
-        assertThrows(MojoExecutionException.class, () -> validator.validate(Mockito.eq(project), Mockito.any()));
+        // Then
+        assertThat(issues).extracting(Issue::getMessage).containsExactly(
+                "org.codehaus.groovy:groovy-all:jar:2.4.21 is conflicting with Bonita provided dependencies.");
     }
 
 }
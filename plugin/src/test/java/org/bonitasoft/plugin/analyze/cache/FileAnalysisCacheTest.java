@@ -0,0 +1,161 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileAnalysisCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    FileAnalysisCache cache;
+    Artifact artifact;
+    Path artifactFile;
+    DependencyReport report;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cache = new FileAnalysisCache(tempDir.resolve("cache"), "1.0.0");
+        artifactFile = tempDir.resolve("my-rest-api-0.0.1-SNAPSHOT.zip");
+        Files.copy(getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip").toPath(), artifactFile);
+        artifact = newArtifact(artifactFile);
+        report = new DependencyReport();
+        report.addPage(Page.create("custompage_myRestApi", "My REST API", null,
+                org.bonitasoft.plugin.analyze.report.model.Artifact.create("org.bonita", "my-rest-api",
+                        "0.0.1-SNAPSHOT", null, artifactFile.toAbsolutePath().toString())));
+    }
+
+    private static Artifact newArtifact(Path file) {
+        var artifact = new DefaultArtifact("org.bonita", "my-rest-api", "0.0.1-SNAPSHOT", "runtime", "zip", null,
+                new DefaultArtifactHandler("zip"));
+        artifact.setFile(file.toFile());
+        return artifact;
+    }
+
+    @Test
+    void should_miss_artifact_never_analyzed() {
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_get_stored_analysis() {
+        // Given
+        cache.put(artifact, report);
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).contains(report);
+    }
+
+    @Test
+    void should_get_stored_analysis_of_touched_artifact_with_same_content() throws Exception {
+        // Given
+        cache.put(artifact, report);
+        Files.setLastModifiedTime(artifactFile,
+                FileTime.fromMillis(Files.getLastModifiedTime(artifactFile).toMillis() - 10_000));
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).contains(report);
+    }
+
+    @Test
+    void should_miss_modified_artifact() throws Exception {
+        // Given
+        cache.put(artifact, report);
+        var lastModified = Files.getLastModifiedTime(artifactFile);
+        var content = Files.readAllBytes(artifactFile);
+        content[content.length - 1]++;
+        Files.write(artifactFile, content);
+        Files.setLastModifiedTime(artifactFile, FileTime.fromMillis(lastModified.toMillis() - 10_000));
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_get_analysis_stored_from_another_local_repository() throws Exception {
+        // Given
+        cache.put(artifact, report);
+        var otherArtifactFile = Files.createDirectories(tempDir.resolve("other-repository"))
+                .resolve(artifactFile.getFileName());
+        Files.copy(artifactFile, otherArtifactFile);
+        Files.setLastModifiedTime(otherArtifactFile,
+                FileTime.fromMillis(Files.getLastModifiedTime(artifactFile).toMillis() - 10_000));
+
+        // When
+        var cachedReport = cache.get(newArtifact(otherArtifactFile));
+
+        // Then the report points at the artifact file of the other repository
+        assertThat(cachedReport).hasValueSatisfying(cached -> assertThat(cached.getPages())
+                .singleElement()
+                .satisfies(page -> assertThat(page.getArtifact().getFile())
+                        .isEqualTo(otherArtifactFile.toAbsolutePath().toString())));
+    }
+
+    @Test
+    void should_miss_analysis_stored_by_another_version() {
+        // Given
+        new FileAnalysisCache(tempDir.resolve("cache"), "0.9.0").put(artifact, report);
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_not_cache_project_folder() {
+        // Given
+        var projectArtifact = newArtifact(tempDir);
+
+        // When
+        cache.put(projectArtifact, report);
+
+        // Then
+        assertThat(cache.get(projectArtifact)).isEmpty();
+        assertThat(tempDir.resolve("cache")).doesNotExist();
+    }
+
+}
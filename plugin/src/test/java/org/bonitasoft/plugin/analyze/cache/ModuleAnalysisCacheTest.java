@@ -0,0 +1,167 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.project.MavenProject;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModuleAnalysisCacheTest {
+
+    @TempDir
+    Path moduleDir;
+
+    MavenProject project;
+    Properties sessionProperties;
+    AnalysisCache delegate;
+    ModuleAnalysisCache cache;
+    Artifact artifact;
+    Path descriptor;
+    DependencyReport report;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        descriptor = moduleDir.resolve("src").resolve("main").resolve("resources").resolve("page.properties");
+        Files.createDirectories(descriptor.getParent());
+        Files.writeString(descriptor, "name=custompage_myPage");
+        project = new MavenProject();
+        project.setFile(moduleDir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(moduleDir.resolve("target").toString());
+        project.getBuild().setOutputDirectory(moduleDir.resolve("target").resolve("classes").toString());
+        delegate = mock(AnalysisCache.class);
+        sessionProperties = new Properties();
+        sessionProperties.setProperty("bonita.version", "10.2.0");
+        cache = new ModuleAnalysisCache("1.0.0", List.of(project), sessionProperties, delegate);
+        artifact = new DefaultArtifact("org.bonita", "my-page", "1.0.0", "runtime", "zip", null,
+                new DefaultArtifactHandler("zip"));
+        artifact.setFile(moduleDir.toFile());
+        report = new DependencyReport();
+        report.addPage(Page.create("custompage_myPage", "My page", null, null));
+    }
+
+    @Test
+    void should_get_stored_analysis_of_unchanged_module() {
+        // Given
+        assertThat(cache.get(artifact)).isEmpty();
+        cache.put(artifact, report);
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).contains(report);
+        assertThat(moduleDir.resolve("target").resolve(ModuleAnalysisCache.ENTRY_FILE_NAME)).isRegularFile();
+    }
+
+    @Test
+    void should_miss_modified_module() throws Exception {
+        // Given
+        cache.put(artifact, report);
+        Files.writeString(descriptor, "name=custompage_myOtherPage");
+        Files.setLastModifiedTime(descriptor,
+                FileTime.fromMillis(Files.getLastModifiedTime(descriptor).toMillis() + 10_000));
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_miss_module_whose_compile_classpath_changed(@TempDir Path repository) throws Exception {
+        // Given
+        var library = Files.writeString(repository.resolve("library-1.0.jar"), "library");
+        var handler = new DefaultArtifactHandler("jar");
+        handler.setAddedToClasspath(true);
+        var libraryArtifact = new DefaultArtifact("org.library", "library", "1.0", "compile", "jar", null, handler);
+        libraryArtifact.setFile(library.toFile());
+        project.setArtifacts(Set.of(libraryArtifact));
+        cache.put(artifact, report);
+
+        // When
+        Files.writeString(library, "library with another super type");
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_miss_module_built_with_other_session_properties() throws Exception {
+        // Given
+        cache.put(artifact, report);
+
+        // When
+        sessionProperties.setProperty("bonita.version", "10.3.0");
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    @Test
+    void should_ignore_changes_in_build_directory() throws Exception {
+        // Given
+        cache.put(artifact, report);
+        Files.createDirectories(moduleDir.resolve("target"));
+        Files.writeString(moduleDir.resolve("target").resolve("my-page-1.0.0.zip"), "zip");
+
+        // When
+        var cachedReport = cache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).contains(report);
+    }
+
+    @Test
+    void should_delegate_artifact_files() throws Exception {
+        // Given
+        var zipArtifact = new DefaultArtifact("org.bonita", "my-page", "1.0.0", "runtime", "zip", null,
+                new DefaultArtifactHandler("zip"));
+        zipArtifact.setFile(descriptor.toFile());
+        when(delegate.get(zipArtifact)).thenReturn(Optional.of(report));
+
+        // When
+        var cachedReport = cache.get(zipArtifact);
+        cache.put(zipArtifact, report);
+
+        // Then
+        assertThat(cachedReport).contains(report);
+        verify(delegate).put(zipArtifact, report);
+    }
+
+}
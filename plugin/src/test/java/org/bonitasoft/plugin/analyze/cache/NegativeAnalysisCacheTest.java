@@ -0,0 +1,216 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.bonitasoft.plugin.Digests;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Page;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class NegativeAnalysisCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    AnalysisCache delegate;
+    NegativeAnalysisCache cache;
+    Artifact artifact;
+    Path artifactFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        delegate = mock(AnalysisCache.class);
+        cache = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate);
+        artifactFile = tempDir.resolve("library-1.0.jar");
+        Files.copy(getResourceAsFile("/bonita-connector-email-1.3.0.jar").toPath(), artifactFile);
+        artifact = newArtifact(artifactFile);
+    }
+
+    private static Artifact newArtifact(Path file) {
+        var artifact = new DefaultArtifact("org.library", "library", "1.0", "runtime", "jar", null,
+                new DefaultArtifactHandler("jar"));
+        artifact.setFile(file.toFile());
+        return artifact;
+    }
+
+    @Test
+    void should_skip_artifact_without_content_in_next_build() {
+        // Given
+        cache.get(artifact);
+        cache.putWithoutContent(artifact);
+        cache.flush();
+
+        // When
+        var nextBuildCache = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate);
+        var cachedReport = nextBuildCache.get(artifact);
+
+        // Then
+        assertThat(cachedReport).hasValueSatisfying(report -> assertThat(report.isEmpty()).isTrue());
+        verify(delegate, never()).put(any(), any());
+        verify(delegate).get(artifact);
+    }
+
+    @Test
+    void should_delegate_artifact_with_content() {
+        // Given
+        var report = new DependencyReport();
+        report.addPage(Page.create("page", null, null, null));
+        cache.put(artifact, report);
+        cache.flush();
+
+        // When
+        new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate).get(artifact);
+
+        // Then
+        verify(delegate).put(artifact, report);
+        verify(delegate).get(artifact);
+    }
+
+    @Test
+    void should_delegate_artifact_whose_content_was_analyzed_without_result() {
+        // Given an artifact with a descriptor, but whose analysis found nothing
+        cache.get(artifact);
+        var report = new DependencyReport();
+        cache.put(artifact, report);
+        cache.flush();
+
+        // When
+        new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate).get(artifact);
+
+        // Then
+        verify(delegate).put(artifact, report);
+        verify(delegate, times(2)).get(artifact);
+        assertThat(tempDir.resolve("cache")).isDirectoryNotContaining("glob:**.bin");
+    }
+
+    @Test
+    void should_identify_artifact_by_content() throws Exception {
+        // Given an artifact without content stored at another location
+        cache.putWithoutContent(artifact);
+        cache.flush();
+        var copy = Files.copy(artifactFile, tempDir.resolve("copy.jar"));
+
+        // When
+        var cachedReport = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate)
+                .get(newArtifact(copy));
+
+        // Then
+        assertThat(cachedReport).isPresent();
+    }
+
+    @Test
+    void should_not_hash_again_artifact_with_same_fingerprint() throws Exception {
+        // Given an artifact without content, identified in a previous build
+        cache.putWithoutContent(artifact);
+        cache.flush();
+        var lastModified = Files.getLastModifiedTime(artifactFile);
+
+        // When its content changes without changing its size nor its last modification time
+        var content = Files.readAllBytes(artifactFile);
+        content[0]++;
+        Files.write(artifactFile, content);
+        Files.setLastModifiedTime(artifactFile, lastModified);
+
+        // Then the stored digest is used
+        assertThat(new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate).get(artifact))
+                .isPresent();
+    }
+
+    @Test
+    void should_hash_again_artifact_whose_fingerprint_changed() throws Exception {
+        // Given an artifact without content, identified in a previous build
+        cache.putWithoutContent(artifact);
+        cache.flush();
+        var lastModified = Files.getLastModifiedTime(artifactFile);
+
+        // When its content changes
+        var content = Files.readAllBytes(artifactFile);
+        content[0]++;
+        Files.write(artifactFile, content);
+        Files.setLastModifiedTime(artifactFile, FileTime.fromMillis(lastModified.toMillis() + 10_000));
+        var nextBuildCache = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate);
+        var cachedReport = nextBuildCache.get(artifact);
+        nextBuildCache.flush();
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+        assertThat(NegativeAnalysisCache.readFingerprints(fingerprintsFile())).containsOnly(
+                entry(NegativeAnalysisCache.Fingerprint.of(artifactFile), Digests.sha1(artifactFile)));
+    }
+
+    @Test
+    void should_merge_digests_stored_by_concurrent_builds() throws Exception {
+        // Given
+        var otherFile = Files.writeString(tempDir.resolve("other.jar"), "other");
+        var otherBuildCache = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate);
+        cache.get(artifact);
+        otherBuildCache.putWithoutContent(newArtifact(otherFile));
+        otherBuildCache.flush();
+
+        // When
+        cache.putWithoutContent(artifact);
+        cache.flush();
+
+        // Then
+        var nextBuildCache = new NegativeAnalysisCache(tempDir.resolve("cache"), "1.0.0", delegate);
+        assertThat(nextBuildCache.get(artifact)).isPresent();
+        assertThat(nextBuildCache.get(newArtifact(otherFile))).isPresent();
+        assertThat(Files.size(storedFile())).isEqualTo(2L * NegativeAnalysisCache.DIGEST_LENGTH);
+    }
+
+    @Test
+    void should_ignore_digests_of_another_analyzer_version() {
+        // Given
+        cache.putWithoutContent(artifact);
+        cache.flush();
+
+        // When
+        var cachedReport = new NegativeAnalysisCache(tempDir.resolve("cache"), "2.0.0", delegate).get(artifact);
+
+        // Then
+        assertThat(cachedReport).isEmpty();
+    }
+
+    private Path fingerprintsFile() {
+        return tempDir.resolve("cache").resolve("fingerprints-" + NegativeAnalysisCache.FORMAT_VERSION + ".txt");
+    }
+
+    private Path storedFile() throws Exception {
+        try (var files = Files.list(tempDir.resolve("cache"))) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".bin")).findFirst().orElseThrow();
+        }
+    }
+
+}
@@ -20,7 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -29,6 +32,8 @@ import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.bonitasoft.plugin.analyze.ConnectorResolver;
+import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
+import org.bonitasoft.plugin.analyze.content.EntryInterest;
 import org.bonitasoft.plugin.analyze.content.JarArtifactContentReader;
 import org.bonitasoft.plugin.analyze.report.model.ActorFilterImplementation;
 import org.bonitasoft.plugin.analyze.report.model.ConnectorImplementation;
@@ -56,6 +61,10 @@ class ConnectorResolverImplTest {
 
     private static final String CLASSIFIER = null;
 
+    private static final String DEFINITION_NS = "http://www.bonitasoft.org/ns/connector/definition/6.1";
+
+    private static final String IMPLEMENTATION_NS = "http://www.bonitasoft.org/ns/connector/implementation/6.0";
+
     private Artifact artifact;
 
     @BeforeEach
@@ -117,6 +126,28 @@ class ConnectorResolverImplTest {
         assertEquals(4, definitions.size());
     }
 
+    @Test
+    void testFindRestConnectorsInReadEntries() throws Exception {
+        // given
+        ConnectorResolver connectorTypeResolver = new ConnectorResolverImpl();
+        JarArtifactContentReader reader = new JarArtifactContentReader();
+        artifact.setFile(
+                new File(ConnectorResolverImplTest.class.getResource("/bonita-connector-rest-1.0.10.jar").getFile()));
+        var entries = reader.readInterestingEntries(artifact,
+                List.of(EntryInterest.suffix(".impl"), EntryInterest.suffix(".def")));
+
+        // when
+        List<Definition> definitions = connectorTypeResolver.findAllDefinitions(artifact, entries, Issue.collector());
+        List<Implementation> implementations = connectorTypeResolver.findAllImplementations(artifact, entries, reader,
+                Issue.collector());
+
+        // then same result as when the resolver reads the artifact
+        assertThat(definitions).hasSize(4)
+                .isEqualTo(connectorTypeResolver.findAllDefinitions(artifact, reader, Issue.collector()));
+        assertThat(implementations).isNotEmpty()
+                .isEqualTo(connectorTypeResolver.findAllImplementations(artifact, reader, Issue.collector()));
+    }
+
     @Test
     void testFindAllRestConnectorImplementation() throws Exception {
         // given
@@ -236,6 +267,99 @@ class ConnectorResolverImplTest {
                         .startsWith("email-with-typo.def is not a valid XML file:"));
     }
 
+    @Test
+    void testDefinitionMissingAnElementFillsIssue() throws Exception {
+        // given
+        ConnectorResolver connectorTypeResolver = new ConnectorResolverImpl();
+        var entries = List.of(entry("missing-version.def",
+                "<definition:ConnectorDefinition xmlns:definition=\"" + DEFINITION_NS + "\">"
+                        + "<id>email</id></definition:ConnectorDefinition>"));
+
+        // when
+        var issueCollector = Issue.collector();
+        List<Definition> definitions = connectorTypeResolver.findAllDefinitions(artifact, entries, issueCollector);
+
+        // then
+        assertThat(definitions).isEmpty();
+        assertThat(issueCollector.getIssues()).singleElement()
+                .satisfies(issue -> assertThat(issue.getType()).isEqualTo(Type.INVALID_DESCRIPTOR_FILE.name()))
+                .satisfies(issue -> assertThat(issue.getMessage()).isEqualTo(String.format(
+                        "missing-version.def is not compliant with '%s' XML schema definition", DEFINITION_NS)));
+    }
+
+    @Test
+    void testImplementationWithWrongNamespaceFillsIssue() throws Exception {
+        // given
+        ConnectorResolver connectorTypeResolver = new ConnectorResolverImpl();
+        var entries = List.of(entry("wrong-namespace.impl",
+                "<implementation:connectorImplementation xmlns:implementation=\"" + DEFINITION_NS + "\">"
+                        + "<implementationClassname>org.test.Connector</implementationClassname>"
+                        + "<implementationId>email-impl</implementationId>"
+                        + "<implementationVersion>1.0.0</implementationVersion>"
+                        + "<definitionId>email</definitionId>"
+                        + "<definitionVersion>1.0.0</definitionVersion>"
+                        + "</implementation:connectorImplementation>"));
+
+        // when
+        var issueCollector = Issue.collector();
+        List<Implementation> implementations = connectorTypeResolver.findAllImplementations(artifact, entries,
+                new JarArtifactContentReader(), issueCollector);
+
+        // then
+        assertThat(implementations).isEmpty();
+        assertThat(issueCollector.getIssues()).singleElement()
+                .satisfies(issue -> assertThat(issue.getType()).isEqualTo(Type.INVALID_DESCRIPTOR_FILE.name()))
+                .satisfies(issue -> assertThat(issue.getMessage()).isEqualTo(String.format(
+                        "wrong-namespace.impl is not compliant with '%s' XML schema definition", IMPLEMENTATION_NS)));
+    }
+
+    @Test
+    void testMalformedDefinitionFillsIssue() throws Exception {
+        // given
+        ConnectorResolver connectorTypeResolver = new ConnectorResolverImpl();
+        var entries = List.of(entry("malformed.def",
+                "<definition:ConnectorDefinition xmlns:definition=\"" + DEFINITION_NS + "\">"
+                        + "<id>email</id><version>1.0.0</version>"));
+
+        // when
+        var issueCollector = Issue.collector();
+        List<Definition> definitions = connectorTypeResolver.findAllDefinitions(artifact, entries, issueCollector);
+
+        // then
+        assertThat(definitions).isEmpty();
+        assertThat(issueCollector.getIssues()).singleElement()
+                .satisfies(issue -> assertThat(issue.getType()).isEqualTo(Type.INVALID_DESCRIPTOR_FILE.name()))
+                .satisfies(issue -> assertThat(issue.getMessage())
+                        .startsWith("malformed.def is not a valid XML file:"));
+    }
+
+    @Test
+    void testDefinitionWithExternalEntityIsRejected() throws Exception {
+        // given
+        ConnectorResolver connectorTypeResolver = new ConnectorResolverImpl();
+        var entries = List.of(entry("external-entity.def",
+                "<!DOCTYPE definition:ConnectorDefinition "
+                        + "[<!ENTITY version SYSTEM \"file:///etc/hostname\">]>"
+                        + "<definition:ConnectorDefinition xmlns:definition=\"" + DEFINITION_NS + "\">"
+                        + "<id>email</id><version>&version;</version></definition:ConnectorDefinition>"));
+
+        // when
+        var issueCollector = Issue.collector();
+        List<Definition> definitions = connectorTypeResolver.findAllDefinitions(artifact, entries, issueCollector);
+
+        // then the entity is never resolved
+        assertThat(definitions).isEmpty();
+        assertThat(issueCollector.getIssues()).singleElement()
+                .satisfies(issue -> assertThat(issue.getType()).isEqualTo(Type.INVALID_DESCRIPTOR_FILE.name()))
+                .satisfies(issue -> assertThat(issue.getMessage())
+                        .startsWith("external-entity.def is not a valid XML file:"));
+    }
+
+    private static Entry entry(String path, String content) {
+        return new Entry(Path.of(path),
+                () -> new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "/connector-with-invalid-implemetation-class.jar",
             "/connector-with-missing-implementation-class.jar" })
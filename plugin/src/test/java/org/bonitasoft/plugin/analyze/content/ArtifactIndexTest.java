@@ -0,0 +1,63 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArtifactIndexTest {
+
+    @Test
+    void should_list_archive_entries() throws Exception {
+        // Given
+        var file = getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip");
+
+        // When
+        var index = ArtifactIndex.of(file);
+
+        // Then
+        assertThat(index.getEntries()).isNotEmpty();
+        assertThat(index.findFirst(Path.of("page.properties")::equals))
+                .hasValueSatisfying(entry -> assertThat(entry.name()).isEqualTo("page.properties"));
+        assertThat(index.findFirst(Path.of("not_a_file")::equals)).isEmpty();
+        assertThat(index.isStale()).isFalse();
+    }
+
+    @Test
+    void should_be_stale_when_archive_changes(@TempDir Path tempDir) throws Exception {
+        // Given
+        var file = tempDir.resolve("page.zip");
+        Files.copy(getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip").toPath(), file,
+                StandardCopyOption.REPLACE_EXISTING);
+        var index = ArtifactIndex.of(file.toFile());
+
+        // When
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 10_000));
+
+        // Then
+        assertThat(index.isStale()).isTrue();
+    }
+
+}
@@ -0,0 +1,91 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EntryInterestTest {
+
+    @Test
+    void should_match_file_name_suffix_in_any_folder() {
+        // Given
+        var interest = EntryInterest.suffix(".impl");
+
+        // Then
+        assertThat(interest).accepts(Path.of("email.impl"), Path.of("connectors", "email.impl"))
+                .rejects(Path.of("email.def"), Path.of("email.impl", "readme.txt"));
+    }
+
+    @Test
+    void should_match_file_name_in_any_folder() {
+        // Given
+        var interest = EntryInterest.fileName("page.properties");
+
+        // Then
+        assertThat(interest).accepts(Path.of("page.properties"), Path.of("resources", "page.properties"))
+                .rejects(Path.of("mypage.properties"), Path.of("page.properties.bak"));
+    }
+
+    @Test
+    void should_match_glob_on_relative_path() {
+        // Given
+        var interest = EntryInterest.glob("applications/*.xml");
+
+        // Then
+        assertThat(interest).accepts(Path.of("applications", "app.xml"))
+                .rejects(Path.of("app.xml"), Path.of("applications", "app.json"),
+                        Path.of("applications", "sub", "app.xml"), Path.of("other", "applications", "app.xml"));
+    }
+
+    @Test
+    void should_match_any_interest() {
+        // Given
+        var predicate = EntryInterest.anyOf(List.of(EntryInterest.suffix(".impl"), EntryInterest.suffix(".def")));
+
+        // Then
+        assertThat(predicate).accepts(Path.of("email.impl"), Path.of("email.def"))
+                .rejects(Path.of("email.properties"));
+        assertThat(EntryInterest.anyOf(List.of())).rejects(Path.of("email.impl"));
+    }
+
+    @Test
+    void should_match_raw_names_of_matching_paths() {
+        // Given
+        var interest = EntryInterest.anyOf(List.of(EntryInterest.suffix(".impl"),
+                EntryInterest.fileName("page.properties"), EntryInterest.glob("applications/*.xml")));
+
+        // Then
+        assertThat(List.of("email.impl", "connectors/email.impl", "dir.impl/", "page.properties",
+                "resources/page.properties", "applications/app.xml"))
+                .allMatch(name -> matchesName(interest, name) && interest.test(Path.of(name)));
+        assertThat(List.of("email.def", "mypage.properties", "page.properties.bak", "app.xml", "other/app.xml"))
+                .noneMatch(name -> matchesName(interest, name));
+    }
+
+    private static boolean matchesName(EntryInterest interest, String name) {
+        var nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        return interest.matchesName(ByteBuffer.wrap(nameBytes), 0, nameBytes.length);
+    }
+
+}
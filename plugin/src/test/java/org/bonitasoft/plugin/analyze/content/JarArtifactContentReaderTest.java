@@ -24,14 +24,22 @@ import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
 import java.util.stream.Collectors;
 
 import org.apache.maven.artifact.Artifact;
+import org.bonitasoft.plugin.analyze.cache.CacheableAnalysis;
+import org.bonitasoft.plugin.analyze.hierarchy.TypeHierarchyIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 class JarArtifactContentReaderTest {
 
@@ -128,4 +136,109 @@ class JarArtifactContentReaderTest {
 
     }
 
+    @Test
+    void should_detect_hierarchy_from_class_headers() throws Exception {
+        // given
+        var restArtifact = mock(Artifact.class);
+        when(restArtifact.getFile()).thenReturn(getResourceAsFile("/bonita-connector-rest-1.0.10.jar"));
+
+        // when
+        var hierarchy = jarArtifactContentReader.detectImplementationHierarchy(
+                "org.bonitasoft.connectors.rest.GetConnectorImpl", restArtifact, e -> {
+                    throw new RuntimeException(e);
+                });
+
+        // then
+        assertThat(hierarchy).contains("org.bonitasoft.connectors.rest.RESTConnector",
+                "org.bonitasoft.connectors.rest.AbstractRESTConnectorImpl",
+                "org.bonitasoft.engine.connector.AbstractConnector");
+    }
+
+    @Test
+    void should_handle_unknown_class_when_detecting_hierarchy() throws Exception {
+        // given
+        List<ClassNotFoundException> errors = new ArrayList<>();
+
+        // when
+        var hierarchy = jarArtifactContentReader.detectImplementationHierarchy("org.acme.Unknown", artifact,
+                errors::add);
+
+        // then
+        assertThat(hierarchy).isEmpty();
+        assertThat(errors).hasSize(1);
+    }
+
+    @Test
+    void should_detect_hierarchy_across_jars(@TempDir Path tempDir) throws Exception {
+        // given a jar containing only the implementation, its super classes being in another dependency
+        var restJar = getResourceAsFile("/bonita-connector-rest-1.0.10.jar");
+        var implementationJar = tempDir.resolve("get-connector.jar");
+        var classEntry = "org/bonitasoft/connectors/rest/GetConnectorImpl.class";
+        try (var source = new JarFile(restJar);
+                var target = new JarOutputStream(Files.newOutputStream(implementationJar))) {
+            target.putNextEntry(new JarEntry(classEntry));
+            try (var is = source.getInputStream(source.getEntry(classEntry))) {
+                is.transferTo(target);
+            }
+            target.closeEntry();
+        }
+        var typeHierarchyIndex = new TypeHierarchyIndex();
+        typeHierarchyIndex.register(List.of(restJar, implementationJar.toFile()));
+        var reader = new JarArtifactContentReader(typeHierarchyIndex);
+        var implementationArtifact = mock(Artifact.class);
+        when(implementationArtifact.getFile()).thenReturn(implementationJar.toFile());
+
+        // when
+        CacheableAnalysis.start();
+        var hierarchy = reader.detectImplementationHierarchy("org.bonitasoft.connectors.rest.GetConnectorImpl",
+                implementationArtifact, e -> {
+                    throw new RuntimeException(e);
+                });
+        var cacheable = CacheableAnalysis.stop();
+
+        // then
+        assertThat(hierarchy).contains("org.bonitasoft.engine.connector.AbstractConnector");
+        // the classification depends on the other jar
+        assertThat(cacheable).isFalse();
+    }
+
+    @Test
+    void should_keep_hierarchy_packaged_in_the_jar_cacheable() throws Exception {
+        // given
+        var restArtifact = mock(Artifact.class);
+        when(restArtifact.getFile()).thenReturn(getResourceAsFile("/bonita-connector-rest-1.0.10.jar"));
+
+        // when
+        CacheableAnalysis.start();
+        var hierarchy = jarArtifactContentReader.detectImplementationHierarchy(
+                "org.bonitasoft.connectors.rest.GetConnectorImpl", restArtifact,
+                Set.of("org.bonitasoft.engine.connector.AbstractConnector"), e -> {
+                    throw new RuntimeException(e);
+                });
+        var cacheable = CacheableAnalysis.stop();
+
+        // then
+        assertThat(hierarchy).contains("org.bonitasoft.engine.connector.AbstractConnector");
+        assertThat(cacheable).isTrue();
+    }
+
+    @Test
+    void should_not_keep_hierarchy_with_unresolved_super_types_cacheable() throws Exception {
+        // given
+        var restArtifact = mock(Artifact.class);
+        when(restArtifact.getFile()).thenReturn(getResourceAsFile("/bonita-connector-rest-1.0.10.jar"));
+
+        // when the super types of AbstractConnector are looked up, but are not available
+        CacheableAnalysis.start();
+        var hierarchy = jarArtifactContentReader.detectImplementationHierarchy(
+                "org.bonitasoft.connectors.rest.GetConnectorImpl", restArtifact, e -> {
+                    throw new RuntimeException(e);
+                });
+        var cacheable = CacheableAnalysis.stop();
+
+        // then
+        assertThat(hierarchy).contains("org.bonitasoft.engine.connector.AbstractConnector");
+        assertThat(cacheable).isFalse();
+    }
+
 }
@@ -25,29 +25,34 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
-import java.util.stream.Collector;
+import java.util.Map;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Build;
 import org.apache.maven.project.MavenProject;
-import org.bonitasoft.plugin.analyze.content.ArtifactContentReader.Entry;
-import org.bonitasoft.plugin.analyze.content.ProjectArtifactContentReader.EntryAndCleaner;
+import org.apache.maven.shared.filtering.FilterWrapper;
+import org.apache.maven.shared.filtering.MavenFileFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -97,11 +102,9 @@ class ProjectArtifactContentReaderTest {
         // given setUp and
         var readerSpy = spy(projArtifactContentReader);
         doAnswer(invoc -> {
-            // make a copy not to delete the original
+            // read the descriptor without filtering
             var path = (Path) invoc.getArguments()[1];
-            var copyPath = Files.createTempFile("tmp", path.getFileName().toString());
-            Files.copy(path, copyPath, StandardCopyOption.REPLACE_EXISTING);
-            return copyPath;
+            return Files.newInputStream(path);
         }).when(readerSpy).filterDescriptor(any(), any());
         doReturn(mockMavenProject()).when(readerSpy).findMavenProject(any());
 
@@ -167,6 +170,32 @@ class ProjectArtifactContentReaderTest {
         assertThat(result).isZero();
     }
 
+    @Test
+    void should_walk_module_files_once_without_build_directory(@TempDir Path moduleDir) throws Exception {
+        // given
+        Files.createDirectories(moduleDir.resolve("applications"));
+        Files.writeString(moduleDir.resolve("applications").resolve("app.xml"), "<application/>");
+        Files.createDirectories(moduleDir.resolve("target").resolve("classes"));
+        Files.writeString(moduleDir.resolve("target").resolve("classes").resolve("app.xml"), "<application/>");
+        var project = mock(MavenProject.class);
+        var mavenBuild = mock(Build.class);
+        when(mavenBuild.getDirectory()).thenReturn(moduleDir.resolve("target").toString());
+        when(project.getBuild()).thenReturn(mavenBuild);
+        when(project.getBasedir()).thenReturn(moduleDir.toFile());
+        var reader = new ProjectArtifactContentReader(mock(), List.of(project));
+        when(artifact.getFile()).thenReturn(moduleDir.toFile());
+
+        // when
+        var files = reader.getModuleFiles(moduleDir.toFile());
+        var entries = reader.readEntries(artifact, path -> path.endsWith("app.xml"), Collectors.counting());
+
+        // then
+        assertThat(files).containsExactly(Path.of("applications", "app.xml"));
+        assertThat(entries).isEqualTo(1L);
+        assertThat(reader.getModuleFiles(moduleDir.toFile())).isSameAs(files);
+        assertThat(reader.hasEntryWithPath(artifact, Path.of("target", "classes", "app.xml"))).isFalse();
+    }
+
     @Test
     void should_throw_exception_when_read_absent_entry() {
         // given setUp,
@@ -178,71 +207,74 @@ class ProjectArtifactContentReaderTest {
                 }));
     }
 
-    // #detectImplementationHierarchy can not be tested easily without a real maven project. Tested in IT only.
-
     @Test
-    void should_read_clean_filteredDescriptor() throws Exception {
+    void should_detect_hierarchy_from_module_class_files(@TempDir Path outputDir) throws Exception {
+        // given a compiled implementation whose super classes are in a dependency
+        var restJar = getResourceAsFile("/bonita-connector-rest-1.0.10.jar");
+        var classEntry = "org/bonitasoft/connectors/rest/GetConnectorImpl.class";
+        var classFile = outputDir.resolve(classEntry);
+        Files.createDirectories(classFile.getParent());
+        try (var jarFile = new JarFile(restJar);
+                var is = jarFile.getInputStream(jarFile.getEntry(classEntry))) {
+            Files.copy(is, classFile);
+        }
+        var project = mock(MavenProject.class);
+        var mavenBuild = mock(Build.class);
+        when(mavenBuild.getOutputDirectory()).thenReturn(outputDir.toString());
+        when(project.getBuild()).thenReturn(mavenBuild);
+        when(project.getBasedir()).thenReturn(artifact.getFile());
+        when(project.getCompileClasspathElements()).thenReturn(List.of(restJar.getAbsolutePath()));
         var readerSpy = spy(projArtifactContentReader);
-        AtomicInteger countClean = new AtomicInteger(0);
-        // given setUp and
-        doAnswer(invoc -> {
-            var baseDir = (File) invoc.getArguments()[0];
-            var sourcePath = (Path) invoc.getArguments()[1];
-            Path relPath = baseDir.toPath().relativize(sourcePath);
-            Entry entry = new Entry(relPath, () -> {
+        doReturn(project).when(readerSpy).findMavenProject(any());
+
+        // when
+        var hierarchy = readerSpy.detectImplementationHierarchy("org.bonitasoft.connectors.rest.GetConnectorImpl",
+                artifact, e -> fail(e));
+
+        // then
+        assertThat(hierarchy).contains("org.bonitasoft.connectors.rest.RESTConnector",
+                "org.bonitasoft.engine.connector.AbstractConnector");
+    }
+
+    @Test
+    void should_filter_descriptors_in_memory() throws Exception {
+        // given a filter wrapper upper casing 'bonita'
+        var project = mockMavenProject();
+        when(project.getBasedir()).thenReturn(artifact.getFile());
+        var mavenFileFilter = mock(MavenFileFilter.class);
+        FilterWrapper filterWrapper = new FilterWrapper() {
+
+            @Override
+            public Reader getReader(Reader reader) {
                 try {
-                    return Files.newInputStream(sourcePath);
+                    return new StringReader(IOUtils.toString(reader).replace("bonita", "BONITA"));
                 } catch (IOException e) {
-                    fail(e);
-                    return null;
+                    throw new UncheckedIOException(e);
                 }
-            });
-            return new EntryAndCleaner(entry, countClean::incrementAndGet);
-        }).when(readerSpy).makeEntry(any(), any());
-        doReturn(mockMavenProject()).when(readerSpy).findMavenProject(any());
+            }
+        };
+        when(mavenFileFilter.getDefaultFilterWrappers(any())).thenReturn(List.of(filterWrapper));
+        var reader = new ProjectArtifactContentReader(mavenFileFilter, List.of(project));
+        Map<Path, byte[]> contents = new HashMap<>();
 
         // when
-        countClean.set(0);
-        Optional<Integer> result2 = readerSpy.readFirstEntry(artifact,
-                Path.of("applications", "bonita-user-application.xml")::equals,
+        reader.readEntries(artifact, path -> path.getFileName().toString().contains("bonita-user-application"),
                 entry -> {
-                    // return result after opening input stream
                     try (var is = entry.supplier().get()) {
-                        return 2;
+                        contents.put(entry.path(), is.readAllBytes());
                     } catch (IOException e) {
                         fail(e);
-                        return 0;
                     }
                 });
 
-        // then clean was necessarily called
-        assertThat(result2).contains(2);
-        assertThat(countClean.get()).isEqualTo(1);
-
-        // given filter for 2 files: xml and png
-        Predicate<Path> filterTwoFiles = path -> path.getFileName().toString().contains("bonita-user-application");
-        // when
-        countClean.set(0);
-        Collector<Entry, List<Integer>, List<Integer>> collector = Collector.of(
-                ArrayList<Integer>::new,
-                (l, entry) -> {
-                    // add 4 to list after opening input stream
-                    try (var is = entry.supplier().get()) {
-                        l.add(4);
-                    } catch (IOException e) {
-                        fail(e);
-                    }
-                }, (l1, l2) -> {
-                    l1.addAll(l2);
-                    return l1;
-                });
-        List<Integer> result4 = readerSpy.readEntries(artifact,
-                // filter 2 files: xml and png
-                filterTwoFiles,
-                collector);
-
-        // then clean was necessarily called as many times as needed
-        assertThat(result4).containsExactly(4, 4);
-        assertThat(countClean.get()).isEqualTo(2);
+        // then descriptor is filtered, binary file is not, and filters are prepared once
+        var applicationDir = artifact.getFile().toPath().resolve("applications");
+        assertThat(new String(contents.get(Path.of("bonita-user-application.xml")), StandardCharsets.UTF_8))
+                .isEqualTo(Files.readString(applicationDir.resolve("bonita-user-application.xml"))
+                        .replace("bonita", "BONITA"));
+        assertThat(contents.get(Path.of("bonita-user-application.png")))
+                .isEqualTo(Files.readAllBytes(applicationDir.resolve("bonita-user-application.png")));
+        verify(mavenFileFilter).getDefaultFilterWrappers(any());
     }
+
 }
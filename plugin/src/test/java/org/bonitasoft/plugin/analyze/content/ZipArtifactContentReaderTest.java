@@ -112,4 +112,15 @@ class ZipArtifactContentReaderTest {
 
     }
 
+    @Test
+    void should_share_index_between_calls() throws IOException {
+        // given setUp,
+        // when
+        var index = zipArtifactContentReader.getIndex(artifact);
+        zipArtifactContentReader.findEntryWithName(artifact, "page.properties");
+
+        // then
+        assertThat(zipArtifactContentReader.getIndex(artifact)).isSameAs(index);
+    }
+
 }
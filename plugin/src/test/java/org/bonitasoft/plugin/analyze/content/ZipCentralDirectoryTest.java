@@ -0,0 +1,115 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.content;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ZipCentralDirectoryTest {
+
+    @Test
+    void should_read_entries_as_zip_file() throws Exception {
+        // Given
+        var file = getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip");
+
+        // When
+        var centralDirectory = ZipCentralDirectory.read(file);
+
+        // Then
+        try (var zipFile = new ZipFile(file);
+                var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            assertThat(centralDirectory.getEntries()).extracting(ZipCentralDirectory.CentralEntry::name)
+                    .containsExactlyElementsOf(zipFile.stream().map(ZipEntry::getName).toList());
+            for (var zipEntry : Collections.list(zipFile.entries())) {
+                try (var expected = zipFile.getInputStream(zipEntry);
+                        var actual = centralDirectory.getInputStream(channel, zipEntry.getName())) {
+                    assertThat(actual).hasBinaryContent(expected.readAllBytes());
+                }
+            }
+        }
+    }
+
+    @Test
+    void should_read_stored_entry(@TempDir Path tempDir) throws Exception {
+        // Given
+        var file = tempDir.resolve("page.zip");
+        var content = "name=custompage_stored".getBytes(StandardCharsets.UTF_8);
+        try (var zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            var entry = new ZipEntry("page.properties");
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            var crc = new CRC32();
+            crc.update(content);
+            entry.setCrc(crc.getValue());
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+        }
+
+        // When
+        var centralDirectory = ZipCentralDirectory.read(file.toFile());
+
+        // Then
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+                var is = centralDirectory.getInputStream(channel, "page.properties")) {
+            assertThat(is).hasBinaryContent(content);
+        }
+    }
+
+    @Test
+    void should_filter_entries_on_raw_name() throws Exception {
+        // Given
+        var file = getResourceAsFile("/bonita-connector-email-1.3.0.jar");
+
+        // When
+        var centralDirectory = ZipCentralDirectory.read(file);
+
+        // Then
+        assertThat(centralDirectory.filter(EntryInterest.suffix(".impl")))
+                .extracting(ZipCentralDirectory.CentralEntry::name).containsExactly("email.impl");
+        assertThat(centralDirectory.getEntry("email.def")).hasValueSatisfying(
+                entry -> assertThat(entry.name()).isEqualTo("email.def"));
+        assertThat(centralDirectory.getEntry("email.xml")).isEmpty();
+    }
+
+    @Test
+    void should_reject_file_which_is_not_a_zip(@TempDir Path tempDir) throws Exception {
+        // Given
+        var file = tempDir.resolve("page.zip");
+        Files.writeString(file, "not a zip file");
+
+        // When, Then
+        assertThrows(ZipException.class, () -> ZipCentralDirectory.read(file.toFile()));
+    }
+
+}
@@ -16,14 +16,12 @@
  */
 package org.bonitasoft.plugin.analyze.handler;
 
-import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.mock;
 
 import java.io.File;
 import java.io.IOException;
@@ -37,7 +35,6 @@ import org.bonitasoft.plugin.analyze.content.JarArtifactContentReader;
 import org.bonitasoft.plugin.analyze.report.model.Definition;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.bonitasoft.plugin.analyze.report.model.DescriptorIdentifier;
-import org.bonitasoft.plugin.analyze.report.model.Implementation;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
 import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
 import org.bonitasoft.plugin.analyze.report.model.Issue.Type;
@@ -102,89 +99,6 @@ class ConnectorAnalyzerTest {
                         Severity.WARNING, artifact.getId()));
     }
 
-    @Test
-    void impl_should_match() {
-        // Given
-        final String defId = "id-a";
-        final String defVersion = "1.0.0";
-
-        Definition def = mock(Definition.class);
-        lenient().when(def.getDefinitionId()).thenReturn(defId);
-        lenient().when(def.getDefinitionVersion()).thenReturn(defVersion);
-
-        final Implementation impl = mock(Implementation.class);
-        lenient().when(impl.getDefinitionId()).thenReturn(defId);
-        lenient().when(impl.getDefinitionVersion()).thenReturn(defVersion);
-
-        // When
-        final boolean match = analyzer.hasMatchingImplementation(def, singletonList(impl));
-
-        // Then
-        assertThat(match).isTrue();
-    }
-
-    @Test
-    void impl_should_not_match() {
-        // Given
-        final String defId = "id-a";
-        final String defVersion = "1.0.0";
-        Definition def = mock(Definition.class);
-        lenient().when(def.getDefinitionId()).thenReturn(defId);
-        lenient().when(def.getDefinitionVersion()).thenReturn(defVersion);
-
-        final Implementation impl = mock(Implementation.class);
-        lenient().when(impl.getDefinitionId()).thenReturn("anotherId");
-        lenient().when(impl.getDefinitionVersion()).thenReturn("anotherVersion");
-
-        // When
-        final boolean match = analyzer.hasMatchingImplementation(def, singletonList(impl));
-
-        // Then
-        assertThat(match).isFalse();
-    }
-
-    @Test
-    void impl_should_not_match_on_id() {
-        // Given
-        final String defId = "id-a";
-        final String defVersion = "1.0.0";
-
-        Definition def = mock(Definition.class);
-        lenient().when(def.getDefinitionId()).thenReturn(defId);
-        lenient().when(def.getDefinitionVersion()).thenReturn(defVersion);
-
-        final Implementation impl = mock(Implementation.class);
-        lenient().when(impl.getDefinitionId()).thenReturn("anotherId");
-        lenient().when(impl.getDefinitionVersion()).thenReturn(defVersion);
-
-        // When
-        final boolean match = analyzer.hasMatchingImplementation(def, singletonList(impl));
-
-        // Then
-        assertThat(match).isFalse();
-    }
-
-    @Test
-    void impl_should_not_match_on_version() {
-        // Given
-        final String defId = "id-a";
-        final String defVersion = "1.0.0";
-
-        Definition def = mock(Definition.class);
-        lenient().when(def.getDefinitionId()).thenReturn(defId);
-        lenient().when(def.getDefinitionVersion()).thenReturn(defVersion);
-
-        final Implementation impl = mock(Implementation.class);
-        lenient().when(impl.getDefinitionId()).thenReturn(defId);
-        lenient().when(impl.getDefinitionVersion()).thenReturn("anotherVersion");
-
-        // When
-        final boolean match = analyzer.hasMatchingImplementation(def, singletonList(impl));
-
-        // Then
-        assertThat(match).isFalse();
-    }
-
     @Test
     void appliesToJarFile() throws Exception {
         // Given
@@ -0,0 +1,85 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.Test;
+
+class ClassHeaderParserTest {
+
+    @Test
+    void should_parse_super_class() throws Exception {
+        // Given
+        try (var jarFile = new JarFile(getResourceAsFile("/bonita-connector-email-1.3.0.jar"));
+                var is = jarFile.getInputStream(
+                        jarFile.getEntry("org/bonitasoft/connectors/email/EmailConnector.class"))) {
+            // When
+            var header = ClassHeaderParser.parse(is);
+
+            // Then
+            assertThat(header.name()).isEqualTo("org.bonitasoft.connectors.email.EmailConnector");
+            assertThat(header.superName()).isEqualTo("org.bonitasoft.engine.connector.AbstractConnector");
+            assertThat(header.interfaces()).isEmpty();
+        }
+    }
+
+    @Test
+    void should_parse_interfaces() throws Exception {
+        // Given
+        try (var is = String.class.getResourceAsStream("String.class")) {
+            // When
+            var header = ClassHeaderParser.parse(is);
+
+            // Then
+            assertThat(header.name()).isEqualTo("java.lang.String");
+            assertThat(header.superName()).isEqualTo("java.lang.Object");
+            assertThat(header.interfaces()).contains("java.io.Serializable", "java.lang.Comparable",
+                    "java.lang.CharSequence");
+            assertThat(header.superTypes()).startsWith("java.lang.Object");
+        }
+    }
+
+    @Test
+    void should_parse_object_without_super_class() throws Exception {
+        // Given
+        try (var is = Object.class.getResourceAsStream("Object.class")) {
+            // When
+            var header = ClassHeaderParser.parse(is);
+
+            // Then
+            assertThat(header.superName()).isNull();
+            assertThat(header.superTypes()).isEmpty();
+        }
+    }
+
+    @Test
+    void should_reject_invalid_class_file() {
+        // Given
+        var is = new ByteArrayInputStream("not a class file".getBytes());
+
+        // Then
+        assertThrows(IOException.class, () -> ClassHeaderParser.parse(is));
+    }
+
+}
@@ -0,0 +1,69 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TypeHierarchyIndexTest {
+
+    @Test
+    void should_find_class_in_registered_jars() throws Exception {
+        // Given
+        var index = new TypeHierarchyIndex();
+        index.register(List.of(getResourceAsFile("/bonita-connector-email-1.3.0.jar"),
+                getResourceAsFile("/bonita-connector-rest-1.0.10.jar")));
+
+        // When
+        var header = index.find("org.bonitasoft.connectors.rest.RESTConnector");
+
+        // Then
+        assertThat(header).hasValueSatisfying(h -> assertThat(h.superName())
+                .isEqualTo("org.bonitasoft.connectors.rest.AbstractRESTConnectorImpl"));
+    }
+
+    @Test
+    void should_not_find_class_of_unregistered_jars() throws Exception {
+        // Given
+        var index = new TypeHierarchyIndex();
+        index.register(List.of(getResourceAsFile("/bonita-connector-email-1.3.0.jar"),
+                getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip")));
+
+        // Then
+        assertThat(index.find("org.bonitasoft.connectors.rest.RESTConnector")).isEmpty();
+        assertThat(index.find("java.lang.Object")).isEmpty();
+    }
+
+    @Test
+    void should_find_class_of_jar_registered_after_lookup() throws Exception {
+        // Given
+        var index = new TypeHierarchyIndex();
+        index.register(List.of(getResourceAsFile("/bonita-connector-email-1.3.0.jar")));
+        assertThat(index.find("org.bonitasoft.connectors.rest.RESTConnector")).isEmpty();
+
+        // When
+        index.register(List.of(getResourceAsFile("/bonita-connector-rest-1.0.10.jar")));
+
+        // Then
+        assertThat(index.find("org.bonitasoft.connectors.rest.RESTConnector")).isPresent();
+    }
+
+}
@@ -0,0 +1,81 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.hierarchy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class TypeHierarchyResolverTest {
+
+    private static final Map<String, ClassHeader> HEADERS = Map.of(
+            "org.acme.MyConnector", new ClassHeader("org.acme.MyConnector", "org.acme.BaseConnector",
+                    List.of("org.acme.Configurable")),
+            "org.acme.BaseConnector", new ClassHeader("org.acme.BaseConnector",
+                    "org.bonitasoft.engine.connector.AbstractConnector", List.of()),
+            "org.acme.Configurable", new ClassHeader("org.acme.Configurable", "java.lang.Object", List.of()));
+
+    List<String> readClasses = new ArrayList<>();
+
+    ClassHeaderSource source = className -> {
+        readClasses.add(className);
+        return Optional.ofNullable(HEADERS.get(className));
+    };
+
+    @Test
+    void should_resolve_all_super_types() throws Exception {
+        // Given
+        var resolver = new TypeHierarchyResolver();
+
+        // When
+        var hierarchy = resolver.resolveHierarchy("org.acme.MyConnector", source);
+
+        // Then
+        assertThat(hierarchy).containsExactlyInAnyOrder("org.acme.BaseConnector", "org.acme.Configurable",
+                "org.bonitasoft.engine.connector.AbstractConnector", "java.lang.Object");
+    }
+
+    @Test
+    void should_read_each_class_once() throws Exception {
+        // Given
+        var resolver = new TypeHierarchyResolver();
+        resolver.resolveHierarchy("org.acme.MyConnector", source);
+        var readCount = readClasses.size();
+
+        // When
+        resolver.resolveHierarchy("org.acme.BaseConnector", source);
+
+        // Then
+        assertThat(readClasses).hasSize(readCount).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void should_throw_when_class_is_not_found() {
+        // Given
+        var resolver = new TypeHierarchyResolver();
+
+        // Then
+        assertThrows(ClassNotFoundException.class, () -> resolver.resolveHierarchy("org.acme.Unknown", source));
+    }
+
+}
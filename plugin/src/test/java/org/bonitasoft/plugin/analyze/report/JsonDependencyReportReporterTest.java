@@ -21,8 +21,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Page;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 class JsonDependencyReportReporterTest extends AbstractDependencyReportReporterTest {
@@ -44,6 +49,29 @@ class JsonDependencyReportReporterTest extends AbstractDependencyReportReporterT
         return reporter;
     }
 
+    @Test
+    void should_not_rewrite_identical_report() throws Exception {
+        // Given
+        var dependencyReport = new DependencyReport();
+        dependencyReport.addPage(Page.create("page_name", "page_displayName", "page_description", null));
+        reporter.report(dependencyReport);
+        var lastModified = FileTime.fromMillis(Files.getLastModifiedTime(outputFile.toPath()).toMillis() - 10_000);
+        Files.setLastModifiedTime(outputFile.toPath(), lastModified);
+
+        // When
+        reporter.report(dependencyReport);
+
+        // Then
+        assertThat(Files.getLastModifiedTime(outputFile.toPath())).isEqualTo(lastModified);
+
+        // When
+        dependencyReport.addPage(Page.create("other_page_name", "other_page_displayName", null, null));
+        reporter.report(dependencyReport);
+
+        // Then
+        assertThat(Files.getLastModifiedTime(outputFile.toPath())).isNotEqualTo(lastModified);
+    }
+
     @Override
     protected void assertReportIsValid() throws Exception {
         final File expectedContent = getResourceAsFile("/expected-report.json");
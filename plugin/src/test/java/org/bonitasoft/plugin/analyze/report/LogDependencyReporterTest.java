@@ -16,9 +16,13 @@
  */
 package org.bonitasoft.plugin.analyze.report;
 
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import org.apache.maven.plugin.logging.Log;
+import org.bonitasoft.plugin.analyze.report.model.ArtifactMetrics;
 import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
 import org.bonitasoft.plugin.analyze.report.model.Issue;
 import org.bonitasoft.plugin.analyze.report.model.Issue.Severity;
@@ -67,4 +71,33 @@ class LogDependencyReporterTest {
         verify(log).error("hello");
     }
 
+    @Test
+    void shouldLogSlowestArtifacts() throws Exception {
+        var reporter = new LogDependencyReporter(log);
+        var report = new DependencyReport();
+        var fast = ArtifactMetrics.create("g:fast:1.0");
+        fast.setTotalMicros(1_000);
+        var slow = ArtifactMetrics.create("g:slow:1.0");
+        slow.setTotalMicros(25_000);
+        slow.setEntriesScanned(12);
+        report.addMetrics(fast);
+        report.addMetrics(slow);
+
+        reporter.report(report);
+
+        var inOrder = inOrder(log);
+        inOrder.verify(log).info("=== Top 10 slowest artifacts ===");
+        inOrder.verify(log).info(startsWith("g:slow:1.0: 25.0 ms, 12 entries scanned"));
+        inOrder.verify(log).info(startsWith("g:fast:1.0: 1.0 ms"));
+    }
+
+    @Test
+    void shouldNotLogSlowestArtifactsWithoutMetrics() throws Exception {
+        var reporter = new LogDependencyReporter(log);
+
+        reporter.report(new DependencyReport());
+
+        verify(log, never()).info("=== Top 10 slowest artifacts ===");
+    }
+
 }
@@ -17,12 +17,21 @@
 package org.bonitasoft.plugin.build.bar;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.nio.file.Path;
+
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.MavenProjectHelper;
+import org.bonitasoft.plugin.analyze.report.DependencyReportHolder;
+import org.bonitasoft.plugin.analyze.report.DependencyReporter;
+import org.bonitasoft.plugin.analyze.report.model.DependencyReport;
+import org.bonitasoft.plugin.analyze.report.model.Issue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,11 +41,13 @@ class BuildBarMojoTest {
     @Mock
     private MavenProjectHelper projectHelper;
 
+    private DependencyReportHolder reportHolder = new DependencyReportHolder();
+
     private BuildBarMojo mojo;
 
     @BeforeEach
     void createMojo() throws Exception {
-        mojo = new BuildBarMojo(projectHelper);
+        mojo = new BuildBarMojo(projectHelper, reportHolder);
     }
 
     @Test
@@ -60,4 +71,42 @@ class BuildBarMojoTest {
         assertThat(mojo.getConfigurationFileName(project)).isEqualTo("hello-1.0.0.bconf");
     }
 
+    @Test
+    void should_get_dependency_report_of_current_session(@TempDir Path outputDir) throws Exception {
+        // Given
+        var reportFile = outputDir.resolve("bonita-dependencies.json").toFile();
+        var report = new DependencyReport();
+        reportHolder.put(reportFile, report);
+
+        // When
+        var dependencyReport = mojo.getDependencyReport(reportFile);
+
+        // Then
+        assertThat(dependencyReport).isSameAs(report);
+    }
+
+    @Test
+    void should_read_dependency_report_of_earlier_build(@TempDir Path outputDir) throws Exception {
+        // Given
+        var reportFile = outputDir.resolve("bonita-dependencies.json").toFile();
+        var report = new DependencyReport();
+        report.addIssue(Issue.create(Issue.Type.UNKNOWN_DEFINITION_TYPE, "message", Issue.Severity.WARNING));
+        DependencyReporter.OBJECT_MAPPER.writeValue(reportFile, report);
+
+        // When
+        var dependencyReport = mojo.getDependencyReport(reportFile);
+
+        // Then
+        assertThat(dependencyReport.getIssues()).extracting(Issue::getMessage).containsExactly("message");
+    }
+
+    @Test
+    void should_fail_when_dependency_report_is_missing(@TempDir Path outputDir) {
+        // Given
+        var reportFile = outputDir.resolve("bonita-dependencies.json").toFile();
+
+        // When, Then
+        assertThrows(MojoExecutionException.class, () -> mojo.getDependencyReport(reportFile));
+    }
+
 }
@@ -17,11 +17,19 @@
 package org.bonitasoft.plugin.install;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.bonitasoft.plugin.test.TestFiles.getResourceAsFile;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.DefaultArtifactHandler;
@@ -37,12 +45,25 @@ import org.apache.maven.plugin.version.PluginVersionRequest;
 import org.apache.maven.plugin.version.PluginVersionResolutionException;
 import org.apache.maven.plugin.version.PluginVersionResolver;
 import org.apache.maven.plugin.version.PluginVersionResult;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.DependencyResolutionResult;
 import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuilder;
+import org.apache.maven.project.ProjectBuildingResult;
 import org.apache.maven.settings.Mirror;
 import org.apache.maven.settings.Settings;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.installation.InstallRequest;
+import org.eclipse.aether.installation.InstallationException;
 import org.eclipse.aether.repository.ArtifactRepository;
+import org.eclipse.aether.repository.LocalRepository;
+import org.eclipse.aether.repository.LocalRepositoryManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -60,6 +81,21 @@ class InstallProjectStoreMojoTest {
     @Mock
     ProjectArtifactFactory projectArtifactFactory;
 
+    @Mock
+    RepositorySystem repositorySystem;
+
+    @Mock
+    RepositorySystemSession repositorySession;
+
+    @Mock
+    org.apache.maven.artifact.repository.ArtifactRepository localRepository;
+
+    @Mock
+    LocalRepositoryManager localRepositoryManager;
+
+    @Mock
+    ProjectBuilder projectBuilder;
+
     @Test
     void should_return_file_extension() throws Exception {
         String extension = InstallProjectStoreMojo.getExtension("lib.jar");
@@ -224,4 +260,208 @@ class InstallProjectStoreMojoTest {
         assertThrows(MojoExecutionException.class, () -> mojo.computeMavenInstallPluginVersion());
     }
 
+    @Test
+    void should_install_store_artifacts_then_their_poms_in_batches(@TempDir Path tempDir) throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.repositorySystem = repositorySystem;
+        mojo.buildDirectory = tempDir.resolve("target").toFile();
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        mojo.session = session;
+        var zipFile = Files.createFile(tempDir.resolve("a-v.zip")).toFile();
+        var jarFile = Files.createFile(tempDir.resolve("b-v.jar")).toFile();
+        var sourcesFile = Files.createFile(tempDir.resolve("b-v-sources.jar")).toFile();
+        var zipArtifact = new DefaultArtifact("g", "a", "v", null, "zip", null, new DefaultArtifactHandler("zip"));
+        var jarArtifact = new DefaultArtifact("g", "b", "v", null, "jar", null, new DefaultArtifactHandler("jar"));
+        var sourcesArtifact = new DefaultArtifact("g", "b", "v", null, "jar", "sources",
+                new DefaultArtifactHandler("jar"));
+
+        mojo.installToLocalRepository(List.of(new InstallProjectStoreMojo.StoreArtifact(zipArtifact, zipFile),
+                new InstallProjectStoreMojo.StoreArtifact(sourcesArtifact, sourcesFile),
+                new InstallProjectStoreMojo.StoreArtifact(jarArtifact, jarFile)));
+
+        var requestCaptor = ArgumentCaptor.forClass(InstallRequest.class);
+        verify(repositorySystem, times(2)).install(any(), requestCaptor.capture());
+        var fileRequest = requestCaptor.getAllValues().get(0);
+        assertThat(fileRequest.getArtifacts()).extracting(a -> a.getArtifactId() + ":" + a.getClassifier() + ":"
+                + a.getExtension() + ":" + a.getFile().getName())
+                .containsExactly("a::zip:a-v.zip", "b:sources:jar:b-v-sources.jar", "b::jar:b-v.jar");
+        var pomRequest = requestCaptor.getAllValues().get(1);
+        assertThat(pomRequest.getArtifacts()).extracting(a -> a.getArtifactId() + ":" + a.getExtension())
+                .containsExactly("a:pom", "b:pom");
+        // temporary pom files are deleted once installed
+        assertThat(pomRequest.getArtifacts()).allSatisfy(a -> assertThat(a.getFile()).doesNotExist());
+    }
+
+    @Test
+    void should_not_replace_installed_pom_with_the_pom_of_a_classified_artifact(@TempDir Path tempDir)
+            throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.repositorySystem = repositorySystem;
+        mojo.localRepository = localRepository;
+        mojo.buildDirectory = tempDir.resolve("target").toFile();
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        mojo.session = session;
+        var repository = tempDir.resolve("repository");
+        when(localRepository.getBasedir()).thenReturn(repository.toString());
+        when(localRepository.pathOf(any())).thenReturn("g/b/v/b-v.pom");
+        var installedPom = repository.resolve("g/b/v/b-v.pom");
+        Files.createDirectories(installedPom.getParent());
+        Files.writeString(installedPom, "<project>installed</project>");
+        var sourcesFile = Files.createFile(tempDir.resolve("b-v-sources.jar")).toFile();
+        var sourcesArtifact = new DefaultArtifact("g", "b", "v", null, "jar", "sources",
+                new DefaultArtifactHandler("jar"));
+
+        mojo.installToLocalRepository(List.of(new InstallProjectStoreMojo.StoreArtifact(sourcesArtifact,
+                sourcesFile)));
+
+        var requestCaptor = ArgumentCaptor.forClass(InstallRequest.class);
+        verify(repositorySystem).install(any(), requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getArtifacts()).extracting(a -> a.getArtifactId() + ":"
+                + a.getClassifier() + ":" + a.getExtension()).containsExactly("b:sources:jar");
+        assertThat(installedPom).hasContent("<project>installed</project>");
+    }
+
+    @Test
+    void should_throw_InstallFileExecutionException_when_repository_installation_fails(@TempDir Path tempDir)
+            throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.repositorySystem = repositorySystem;
+        mojo.buildDirectory = tempDir.resolve("target").toFile();
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        mojo.session = session;
+        doThrow(new InstallationException("read-only local repository")).when(repositorySystem).install(any(),
+                any());
+        var zipFile = Files.createFile(tempDir.resolve("a-v.zip")).toFile();
+        var zipArtifact = new DefaultArtifact("g", "a", "v", null, "zip", null, new DefaultArtifactHandler("zip"));
+        var storeArtifacts = List.of(new InstallProjectStoreMojo.StoreArtifact(zipArtifact, zipFile));
+
+        assertThrows(InstallFileExecutionException.class, () -> mojo.installToLocalRepository(storeArtifacts));
+    }
+
+    @Test
+    void should_install_store_artifacts_missing_from_the_local_repository(@TempDir Path tempDir) throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.localRepository = localRepository;
+        var artifact = new DefaultArtifact("g", "a", "v", null, "jar", null, new DefaultArtifactHandler("jar"));
+        when(localRepository.getBasedir()).thenReturn(tempDir.resolve("repository").toString());
+        when(localRepository.pathOf(artifact)).thenReturn("g/a/v/a-v.jar");
+        var storeFile = Files.writeString(tempDir.resolve("a-v.jar"), "content").toFile();
+
+        assertThat(mojo.isMissingFromLocalRepository(artifact, storeFile)).isTrue();
+    }
+
+    @Test
+    void should_install_store_artifacts_different_from_the_local_repository(@TempDir Path tempDir)
+            throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.localRepository = localRepository;
+        var artifact = new DefaultArtifact("g", "a", "1.0-SNAPSHOT", null, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        var repository = tempDir.resolve("repository");
+        when(localRepository.getBasedir()).thenReturn(repository.toString());
+        when(localRepository.pathOf(artifact)).thenReturn("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.jar");
+        var installedFile = repository.resolve("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.jar");
+        Files.createDirectories(installedFile.getParent());
+        Files.writeString(installedFile, "content");
+        var storeFile = Files.writeString(tempDir.resolve("a-1.0-SNAPSHOT.jar"), "changed").toFile();
+
+        assertThat(mojo.isMissingFromLocalRepository(artifact, storeFile)).isTrue();
+    }
+
+    @Test
+    void should_not_install_store_artifacts_already_in_the_local_repository(@TempDir Path tempDir)
+            throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.localRepository = localRepository;
+        var artifact = new DefaultArtifact("g", "a", "1.0-SNAPSHOT", null, "jar", null,
+                new DefaultArtifactHandler("jar"));
+        var repository = tempDir.resolve("repository");
+        when(localRepository.getBasedir()).thenReturn(repository.toString());
+        when(localRepository.pathOf(artifact)).thenReturn("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.jar");
+        var installedFile = repository.resolve("g/a/1.0-SNAPSHOT/a-1.0-SNAPSHOT.jar");
+        Files.createDirectories(installedFile.getParent());
+        Files.writeString(installedFile, "content");
+        var storeFile = Files.writeString(tempDir.resolve("a-1.0-SNAPSHOT.jar"), "content").toFile();
+
+        assertThat(mojo.isMissingFromLocalRepository(artifact, storeFile)).isFalse();
+    }
+
+    @Test
+    void should_build_the_embedded_pom_again_only_when_its_dependencies_change(@TempDir Path tempDir)
+            throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.repositorySystem = repositorySystem;
+        mojo.projectBuilder = projectBuilder;
+        mojo.buildDirectory = tempDir.resolve("target").toFile();
+        when(session.getRepositorySession()).thenReturn(repositorySession);
+        when(session.getProjectBuildingRequest()).thenReturn(new DefaultProjectBuildingRequest());
+        mojo.session = session;
+        when(repositorySession.getLocalRepositoryManager()).thenReturn(localRepositoryManager);
+        when(localRepositoryManager.getRepository())
+                .thenReturn(new LocalRepository(tempDir.resolve("repository").toFile()));
+        when(localRepositoryManager.getPathForLocalArtifact(any())).thenReturn("g/lib/1.0/lib-1.0.jar");
+        var installedDependency = tempDir.resolve("repository/g/lib/1.0/lib-1.0.jar");
+        Files.createDirectories(installedDependency.getParent());
+        Files.createFile(installedDependency);
+        var resolutionResult = mock(DependencyResolutionResult.class);
+        when(resolutionResult.getResolvedDependencies()).thenReturn(
+                List.of(new Dependency(new org.eclipse.aether.artifact.DefaultArtifact("g:lib:1.0"), "compile")));
+        var buildingResult = mock(ProjectBuildingResult.class);
+        when(buildingResult.getDependencyResolutionResult()).thenReturn(resolutionResult);
+        when(projectBuilder.build(any(File.class), any())).thenReturn(buildingResult);
+        var artifact = new DefaultArtifact("org.bonitasoft.connectors", "bonita-connector-rest", "1.0.10", null,
+                "jar", null, new DefaultArtifactHandler("jar"));
+        var storeArtifacts = List.of(new InstallProjectStoreMojo.StoreArtifact(artifact,
+                getResourceAsFile("/bonita-connector-rest-1.0.10.jar")));
+
+        mojo.installToLocalRepository(storeArtifacts);
+        mojo.installToLocalRepository(storeArtifacts);
+
+        verify(projectBuilder).build(any(File.class), any());
+
+        Files.delete(installedDependency);
+        mojo.installToLocalRepository(storeArtifacts);
+
+        verify(projectBuilder, times(2)).build(any(File.class), any());
+    }
+
+    @Test
+    void should_find_the_pom_entry_of_a_store_jar() throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+
+        assertThat(mojo.findPomEntry(getResourceAsFile("/bonita-connector-rest-1.0.10.jar")))
+                .isEqualTo("META-INF/maven/org.bonitasoft.connectors/bonita-connector-rest/pom.xml");
+        assertThat(mojo.findPomEntry(getResourceAsFile("/my-rest-api-0.0.1-SNAPSHOT.zip"))).isEmpty();
+    }
+
+    @Test
+    void should_skip_install_while_the_project_store_did_not_change(@TempDir Path tempDir) throws Exception {
+        var mojo = new InstallProjectStoreMojo(projectArtifactFactory, new DefaultModelReader(),
+                new DefaultModelWriter());
+        mojo.projectStore = Files.createDirectories(tempDir.resolve(".store")).toFile();
+        Files.writeString(tempDir.resolve(".store").resolve("a-1.0.jar"), "content");
+        mojo.cacheDirectory = tempDir.resolve("cache").toFile();
+        mojo.project = new MavenProject();
+        mojo.localRepository = localRepository;
+        when(localRepository.getBasedir()).thenReturn(tempDir.resolve("repository").toString());
+
+        mojo.execute();
+        mojo.execute();
+
+        verify(projectArtifactFactory).createArtifacts(mojo.project);
+
+        Files.writeString(tempDir.resolve(".store").resolve("b-1.0.jar"), "content");
+        mojo.execute();
+
+        verify(projectArtifactFactory, times(2)).createArtifacts(mojo.project);
+    }
+
 }
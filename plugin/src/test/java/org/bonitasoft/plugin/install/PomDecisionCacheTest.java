@@ -0,0 +1,147 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PomDecisionCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    @TempDir
+    Path localRepository;
+
+    @Test
+    void should_reuse_saved_decisions() throws Exception {
+        // Given
+        install("g/lib/1.0/lib-1.0.jar");
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+        cache.putResolved("aaa", List.of("g/lib/1.0/lib-1.0.jar"));
+        cache.putUnresolved("bbb", List.of("g/x/1.0/x-1.0.jar"));
+        cache.save();
+
+        // When
+        var reloaded = new PomDecisionCache(cacheDir, localRepository);
+
+        // Then
+        assertThat(reloaded.hasUnresolvedDependencies("aaa")).contains(false);
+        assertThat(reloaded.hasUnresolvedDependencies("bbb")).contains(true);
+        assertThat(reloaded.hasUnresolvedDependencies("ccc")).isEmpty();
+    }
+
+    @Test
+    void should_invalidate_decision_when_a_missing_dependency_is_installed() throws Exception {
+        // Given
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+        cache.putUnresolved("bbb", List.of("g/x/1.0/x-1.0.jar", "g/y/1.0/y-1.0.jar"));
+
+        // When
+        install("g/y/1.0/y-1.0.jar");
+
+        // Then
+        assertThat(cache.hasUnresolvedDependencies("bbb")).isEmpty();
+    }
+
+    @Test
+    void should_invalidate_decision_when_a_resolved_dependency_is_removed() throws Exception {
+        // Given
+        install("g/x/1.0/x-1.0.jar");
+        var removed = install("g/y/1.0/y-1.0.jar");
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+        cache.putResolved("aaa", List.of("g/x/1.0/x-1.0.jar", "g/y/1.0/y-1.0.jar"));
+
+        // When
+        Files.delete(removed);
+
+        // Then
+        assertThat(cache.hasUnresolvedDependencies("aaa")).isEmpty();
+    }
+
+    @Test
+    void should_ignore_decisions_taken_with_another_local_repository(@TempDir Path otherRepository)
+            throws Exception {
+        // Given a cache directory shared by builds using different local repositories
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+        cache.putResolved("aaa", List.of());
+        cache.save();
+
+        // When
+        var otherCache = new PomDecisionCache(cacheDir, otherRepository);
+
+        // Then
+        assertThat(otherCache.hasUnresolvedDependencies("aaa")).isEmpty();
+    }
+
+    @Test
+    void should_merge_decisions_saved_by_other_builds() throws Exception {
+        // Given
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+        var otherCache = new PomDecisionCache(cacheDir, localRepository);
+        cache.putResolved("aaa", List.of());
+        otherCache.putResolved("bbb", List.of());
+
+        // When
+        otherCache.save();
+        cache.save();
+
+        // Then
+        var reloaded = new PomDecisionCache(cacheDir, localRepository);
+        assertThat(reloaded.hasUnresolvedDependencies("aaa")).contains(false);
+        assertThat(reloaded.hasUnresolvedDependencies("bbb")).contains(false);
+        assertThat(cacheDir).isDirectoryContaining(path -> path.endsWith(PomDecisionCache.FILE_NAME));
+    }
+
+    @Test
+    void should_ignore_unreadable_cache_file() throws Exception {
+        // Given
+        Files.writeString(cacheDir.resolve(PomDecisionCache.FILE_NAME), "aaa=\\u00");
+
+        // When
+        var cache = new PomDecisionCache(cacheDir, localRepository);
+
+        // Then
+        assertThat(cache.hasUnresolvedDependencies("aaa")).isEmpty();
+    }
+
+    @Test
+    void should_keep_decisions_in_memory_without_directory() throws Exception {
+        // Given
+        var cache = new PomDecisionCache(null, localRepository);
+        cache.putResolved("aaa", List.of());
+
+        // When
+        cache.save();
+
+        // Then
+        assertThat(cache.hasUnresolvedDependencies("aaa")).contains(false);
+    }
+
+    private Path install(String path) throws Exception {
+        var file = localRepository.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.createFile(file);
+    }
+
+}
@@ -0,0 +1,123 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StoreIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    DefaultArtifact artifact = new DefaultArtifact("g", "a", "1.0", null, "jar", null,
+            new DefaultArtifactHandler("jar"));
+
+    AtomicInteger pomLocatorCalls = new AtomicInteger();
+
+    Function<File, String> pomLocator = file -> {
+        pomLocatorCalls.incrementAndGet();
+        return "META-INF/maven/g/a/pom.xml";
+    };
+
+    File storeFile;
+
+    @BeforeEach
+    void createStoreFile() throws Exception {
+        storeFile = Files.writeString(tempDir.resolve("a-1.0.jar"), "content").toFile();
+    }
+
+    @Test
+    void should_index_store_file_once_while_unchanged() throws Exception {
+        // Given
+        var indexFile = StoreIndex.indexFile(tempDir.resolve("cache"), tempDir.resolve(".store"));
+        var index = new StoreIndex(indexFile);
+        var entry = index.index(artifact, storeFile, pomLocator);
+        index.save();
+
+        // When
+        var reloadedEntry = new StoreIndex(indexFile).index(artifact, storeFile, pomLocator);
+
+        // Then
+        assertThat(pomLocatorCalls).hasValue(1);
+        assertThat(reloadedEntry).isEqualTo(entry);
+        assertThat(entry.coordinates()).isEqualTo("g:a:jar:1.0");
+        assertThat(entry.sha1()).isEqualTo("040f06fd774092478d450774f5ba30c5da78acc8");
+        assertThat(entry.pomEntry()).isEqualTo("META-INF/maven/g/a/pom.xml");
+    }
+
+    @Test
+    void should_index_store_file_again_when_changed() throws Exception {
+        // Given
+        var index = new StoreIndex(null);
+        index.index(artifact, storeFile, pomLocator);
+
+        // When
+        Files.writeString(storeFile.toPath(), "changed content");
+        var entry = index.index(artifact, storeFile, pomLocator);
+
+        // Then
+        assertThat(pomLocatorCalls).hasValue(2);
+        assertThat(entry.size()).isEqualTo(storeFile.length());
+    }
+
+    @Test
+    void should_remember_installed_files_until_they_change() throws Exception {
+        // Given
+        var indexFile = StoreIndex.indexFile(tempDir.resolve("cache"), tempDir.resolve(".store"));
+        var index = new StoreIndex(indexFile);
+        var entry = index.index(artifact, storeFile, pomLocator);
+        var installedFile = Files.copy(storeFile.toPath(), tempDir.resolve("installed.jar")).toFile();
+        assertThat(index.isInstalled(entry, installedFile)).isFalse();
+
+        // When
+        index.markInstalled(storeFile, installedFile);
+        index.save();
+
+        // Then
+        var reloaded = new StoreIndex(indexFile);
+        var reloadedEntry = reloaded.index(artifact, storeFile, pomLocator);
+        assertThat(reloaded.isInstalled(reloadedEntry, installedFile)).isTrue();
+        assertThat(installedFile.setLastModified(installedFile.lastModified() - 10_000)).isTrue();
+        assertThat(reloaded.isInstalled(reloadedEntry, installedFile)).isFalse();
+    }
+
+    @Test
+    void should_ignore_invalid_index_entries() throws Exception {
+        // Given
+        var indexFile = tempDir.resolve("index.properties");
+        Files.writeString(indexFile, "key=not|an|entry");
+
+        // When
+        new StoreIndex(indexFile).index(artifact, storeFile, pomLocator);
+
+        // Then
+        assertThat(pomLocatorCalls).hasValue(1);
+    }
+
+}
@@ -0,0 +1,107 @@
+/** 
+ * Copyright (C) 2023 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.install;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.apache.maven.model.Dependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StoreInstallStateTest {
+
+    @TempDir
+    Path tempDir;
+
+    Path store;
+
+    StoreInstallState installState;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = Files.createDirectories(tempDir.resolve(".store"));
+        Files.createDirectories(store.resolve("g/a/1.0"));
+        Files.writeString(store.resolve("g/a/1.0/a-1.0.jar"), "content");
+        installState = new StoreInstallState(StoreInstallState.stateFile(tempDir.resolve("cache"), store));
+    }
+
+    @Test
+    void should_be_up_to_date_while_nothing_changed() throws Exception {
+        // Given
+        var installedFile = Files.writeString(tempDir.resolve("a-1.0.jar"), "content").toFile();
+        var digest = StoreInstallState.digest(store, List.of(dependency("a", "1.0")), "repository");
+
+        // When
+        installState.save(digest, List.of(installedFile));
+
+        // Then
+        assertThat(installState.isUpToDate(
+                StoreInstallState.digest(store, List.of(dependency("a", "1.0")), "repository"))).isTrue();
+    }
+
+    @Test
+    void should_not_be_up_to_date_without_saved_state() throws Exception {
+        // When
+        var digest = StoreInstallState.digest(store, List.of(), "repository");
+
+        // Then
+        assertThat(installState.isUpToDate(digest)).isFalse();
+    }
+
+    @Test
+    void should_change_digest_when_store_or_dependencies_change() throws Exception {
+        // Given
+        var digest = StoreInstallState.digest(store, List.of(dependency("a", "1.0")), "repository");
+
+        // Then
+        assertThat(StoreInstallState.digest(store, List.of(dependency("a", "1.1")), "repository"))
+                .isNotEqualTo(digest);
+        assertThat(StoreInstallState.digest(store, List.of(dependency("a", "1.0")), "other-repository"))
+                .isNotEqualTo(digest);
+        Files.writeString(store.resolve("g/a/1.0/a-1.0.jar"), "changed content");
+        assertThat(StoreInstallState.digest(store, List.of(dependency("a", "1.0")), "repository"))
+                .isNotEqualTo(digest);
+    }
+
+    @Test
+    void should_not_be_up_to_date_when_an_installed_file_changed() throws Exception {
+        // Given
+        var installedFile = Files.writeString(tempDir.resolve("a-1.0.jar"), "content").toFile();
+        var digest = StoreInstallState.digest(store, List.of(), "repository");
+        installState.save(digest, List.of(installedFile));
+
+        // When
+        Files.delete(installedFile.toPath());
+
+        // Then
+        assertThat(installState.isUpToDate(digest)).isFalse();
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        var dependency = new Dependency();
+        dependency.setGroupId("g");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+}
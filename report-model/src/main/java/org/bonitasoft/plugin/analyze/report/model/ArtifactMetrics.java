@@ -0,0 +1,72 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.report.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Measures of the analysis of an artifact.
+ */
+@Data
+public class ArtifactMetrics {
+
+    /**
+     * Analyzed artifact identifier
+     */
+    private String artifact;
+
+    /**
+     * Whether the analysis result has been found in the analysis cache
+     */
+    private boolean cached;
+
+    /**
+     * Total analysis time of the artifact, in microseconds
+     */
+    private long totalMicros;
+
+    /**
+     * Number of artifact content entries tested while looking for descriptors
+     */
+    private long entriesScanned;
+
+    /**
+     * Number of bytes read (and inflated) from the archive entries
+     */
+    private long bytesInflated;
+
+    /**
+     * Number of descriptors parsed
+     */
+    private long descriptorsParsed;
+
+    private List<HandlerMetrics> handlers = new ArrayList<>();
+
+    public static ArtifactMetrics create(String artifact) {
+        final ArtifactMetrics metrics = new ArtifactMetrics();
+        metrics.setArtifact(artifact);
+        return metrics;
+    }
+
+    public void addHandler(HandlerMetrics handlerMetrics) {
+        handlers.add(handlerMetrics);
+    }
+
+}
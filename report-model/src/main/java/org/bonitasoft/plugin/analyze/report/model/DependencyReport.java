@@ -18,6 +18,11 @@ package org.bonitasoft.plugin.analyze.report.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
 import lombok.Data;
 
@@ -44,6 +49,12 @@ public class DependencyReport {
 
     private final List<Issue> issues = new ArrayList<>();
 
+    /**
+     * Measures of the analysis of each artifact, only when requested.
+     */
+    @JsonInclude(Include.NON_EMPTY)
+    private final List<ArtifactMetrics> metrics = new ArrayList<>();
+
     public void addConnectorImplementation(ConnectorImplementation connectorImplementation) {
         connectorImplementations.add(connectorImplementation);
     }
@@ -84,4 +95,40 @@ public class DependencyReport {
         issues.add(issue);
     }
 
+    public void addMetrics(ArtifactMetrics artifactMetrics) {
+        metrics.add(artifactMetrics);
+    }
+
+    /**
+     * Test whether the report has no content, such as the partial report of an ordinary library. Metrics are not
+     * content.
+     * 
+     * @return true when the report has no element nor issue
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return Stream.of(connectorImplementations, filterImplementations, connectorDefinitions, filterDefinitions,
+                restApiExtensions, pages, forms, themes, applicationDescriptors, issues)
+                .allMatch(List::isEmpty);
+    }
+
+    /**
+     * Append the content of another report at the end of this one, preserving the order of each element list.
+     * 
+     * @param report the report to append
+     */
+    public void merge(DependencyReport report) {
+        connectorImplementations.addAll(report.getConnectorImplementations());
+        filterImplementations.addAll(report.getFilterImplementations());
+        connectorDefinitions.addAll(report.getConnectorDefinitions());
+        filterDefinitions.addAll(report.getFilterDefinitions());
+        restApiExtensions.addAll(report.getRestApiExtensions());
+        pages.addAll(report.getPages());
+        forms.addAll(report.getForms());
+        themes.addAll(report.getThemes());
+        applicationDescriptors.addAll(report.getApplicationDescriptors());
+        issues.addAll(report.getIssues());
+        metrics.addAll(report.getMetrics());
+    }
+
 }
@@ -0,0 +1,53 @@
+/** 
+ * Copyright (C) 2025 BonitaSoft S.A.
+ * BonitaSoft, 32 rue Gustave Eiffel - 38000 Grenoble
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 2.0 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.bonitasoft.plugin.analyze.report.model;
+
+import lombok.Data;
+
+/**
+ * Measures of an analysis handler on an artifact.
+ */
+@Data
+public class HandlerMetrics {
+
+    private String handler;
+
+    /**
+     * Whether the handler applies to the artifact, and has analyzed it
+     */
+    private boolean applied;
+
+    /**
+     * Time spent to test whether the handler applies to the artifact, in microseconds
+     */
+    private long appliesToMicros;
+
+    /**
+     * Time spent to analyze the artifact, in microseconds
+     */
+    private long analyzeMicros;
+
+    public static HandlerMetrics create(String handler, boolean applied, long appliesToMicros, long analyzeMicros) {
+        final HandlerMetrics metrics = new HandlerMetrics();
+        metrics.setHandler(handler);
+        metrics.setApplied(applied);
+        metrics.setAppliesToMicros(appliesToMicros);
+        metrics.setAnalyzeMicros(analyzeMicros);
+        return metrics;
+    }
+
+}
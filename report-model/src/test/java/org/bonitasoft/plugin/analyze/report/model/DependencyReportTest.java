@@ -75,4 +75,41 @@ class DependencyReportTest {
                 .isEqualTo(sourceResult)
                 .isEqualTo(expected);
     }
+
+    @Test
+    void should_merge_reports_in_order() {
+        // Given
+        Artifact artifact = Artifact.create("group.id", "artifact.id", "1.0.0", null, "/a/file.jar");
+        final DependencyReport first = new DependencyReport();
+        first.addPage(Page.create("first", "First", "aDesc", artifact));
+        first.addIssue(Issue.create(Issue.Type.INVALID_DESCRIPTOR_FILE, "first issue", Issue.Severity.ERROR));
+        final DependencyReport second = new DependencyReport();
+        second.addPage(Page.create("second", "Second", "aDesc", artifact));
+        second.addTheme(Theme.create("theme", "Theme", "aDesc", artifact));
+        second.addIssue(Issue.create(Issue.Type.INVALID_DESCRIPTOR_FILE, "second issue", Issue.Severity.ERROR));
+
+        // When
+        final DependencyReport result = new DependencyReport();
+        result.merge(first);
+        result.merge(second);
+
+        // Then
+        assertThat(result.getPages()).extracting(Page::getName).containsExactly("first", "second");
+        assertThat(result.getThemes()).extracting(Theme::getName).containsExactly("theme");
+        assertThat(result.getIssues()).extracting(Issue::getMessage).containsExactly("first issue", "second issue");
+    }
+
+    @Test
+    void should_be_empty_without_content() {
+        // Given
+        var report = new DependencyReport();
+        report.addMetrics(ArtifactMetrics.create("g:a:1.0"));
+        var reportWithIssue = new DependencyReport();
+        reportWithIssue.addIssue(Issue.create(Issue.Type.UNKNOWN_DEFINITION_TYPE, "issue", Issue.Severity.WARNING));
+
+        // Then
+        assertThat(report.isEmpty()).isTrue();
+        assertThat(reportWithIssue.isEmpty()).isFalse();
+    }
+
 }